@@ -1,5 +1,6 @@
 package ru.andreyszdlv.taskmanager.configuration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
@@ -8,36 +9,78 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import ru.andreyszdlv.taskmanager.dto.task.CachedTaskPageDto;
+import ru.andreyszdlv.taskmanager.dto.task.TaskDto;
 
 import java.time.Duration;
-import java.util.HashMap;
-import java.util.Map;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
-    @Value("${spring.redis.accessTokenNameCache}")
-    private String accessTokenNameCache;
+    public static final String TASK_CACHE = "taskCache";
 
-    @Value("${spring.redis.refreshTokenNameCache}")
-    private String refreshTokenNameCache;
+    public static final String TASK_LIST_CACHE = "taskListCache";
+
+    public static final String TASK_COUNT_CACHE = "taskCountCache";
+
+    @Value("${spring.redis.taskCache.version}")
+    private int taskCacheVersion;
+
+    @Value("${spring.redis.taskCache.ttlSeconds}")
+    private long taskCacheTtlSeconds;
+
+    @Value("${spring.redis.taskListCache.ttlSeconds}")
+    private long taskListCacheTtlSeconds;
+
+    @Value("${spring.redis.taskCountCache.ttlSeconds}")
+    private long taskCountCacheTtlSeconds;
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
-
-        cacheConfigurations.put(accessTokenNameCache,
-                RedisCacheConfiguration
-                        .defaultCacheConfig()
-                        .entryTtl(Duration.ofMinutes(15)));
-        cacheConfigurations.put(refreshTokenNameCache,
-                RedisCacheConfiguration
-                        .defaultCacheConfig()
-                        .entryTtl(Duration.ofDays(2)));
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, ObjectMapper objectMapper) {
+        RedisCacheConfiguration taskCacheConfiguration = versionedCacheConfiguration(taskCacheTtlSeconds)
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        new Jackson2JsonRedisSerializer<>(objectMapper, TaskDto.class)
+                ));
+
+        // List pages are never evicted one by one: their keys embed generation
+        // counters, and entries left behind by a bump only wait for the TTL.
+        RedisCacheConfiguration taskListCacheConfiguration = versionedCacheConfiguration(taskListCacheTtlSeconds)
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        new Jackson2JsonRedisSerializer<>(objectMapper, CachedTaskPageDto.class)
+                ));
+
+        RedisCacheConfiguration taskCountCacheConfiguration = versionedCacheConfiguration(taskCountCacheTtlSeconds)
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        new GenericToStringSerializer<>(Long.class)
+                ));
 
         return RedisCacheManager.builder(connectionFactory)
-                .withInitialCacheConfigurations(cacheConfigurations)
+                .withCacheConfiguration(TASK_CACHE, taskCacheConfiguration)
+                .withCacheConfiguration(TASK_LIST_CACHE, taskListCacheConfiguration)
+                .withCacheConfiguration(TASK_COUNT_CACHE, taskCountCacheConfiguration)
+                .transactionAware()
+                .enableStatistics()
                 .build();
     }
+
+    // Bumping the version moves readers to new keys, so entries written with
+    // an older TaskDto shape are never deserialized and simply expire.
+    private RedisCacheConfiguration versionedCacheConfiguration(long ttlSeconds) {
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .computePrefixWith(cacheName -> cacheName + ":v" + taskCacheVersion + "::")
+                .entryTtl(Duration.ofSeconds(ttlSeconds))
+                .disableCachingNullValues();
+    }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
 }
@@ -0,0 +1,49 @@
+package ru.andreyszdlv.taskmanager.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import ru.andreyszdlv.taskmanager.security.BulkheadPasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class PasswordEncoderConfig {
+
+    @Value("${passwordEncoder.bulkhead.threads}")
+    private int threads;
+
+    @Value("${passwordEncoder.bulkhead.queueCapacity}")
+    private int queueCapacity;
+
+    @Value("${passwordEncoder.bulkhead.retryAfterSeconds}")
+    private long retryAfterSeconds;
+
+    @Bean
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-encoder-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        return new BulkheadPasswordEncoder(
+                new BCryptPasswordEncoder(),
+                ExecutorServiceMetrics.monitor(meterRegistry, executor, "passwordEncoder", List.of()),
+                meterRegistry,
+                retryAfterSeconds
+        );
+    }
+}
@@ -0,0 +1,31 @@
+package ru.andreyszdlv.taskmanager.configuration;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+// Registered through META-INF/services. The text configuration must match
+// the one used by task_search_vector in the V5 migration.
+public class TaskSearchFunctionContributor implements FunctionContributor {
+
+    public static final String TEXT_MATCH = "task_text_match";
+
+    public static final String TEXT_RANK = "task_text_rank";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry basicTypeRegistry = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+
+        functionContributions.getFunctionRegistry().registerPattern(
+                TEXT_MATCH,
+                "(?1 @@ websearch_to_tsquery('russian', ?2))",
+                basicTypeRegistry.resolve(StandardBasicTypes.BOOLEAN)
+        );
+        functionContributions.getFunctionRegistry().registerPattern(
+                TEXT_RANK,
+                "ts_rank(?1, websearch_to_tsquery('russian', ?2))",
+                basicTypeRegistry.resolve(StandardBasicTypes.FLOAT)
+        );
+    }
+}
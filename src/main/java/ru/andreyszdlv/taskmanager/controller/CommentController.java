@@ -14,6 +14,8 @@ import org.springframework.validation.BindException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import ru.andreyszdlv.taskmanager.dto.comment.CommentDto;
+import ru.andreyszdlv.taskmanager.dto.comment.CommentFilterDto;
+import ru.andreyszdlv.taskmanager.dto.comment.CommentSliceDto;
 import ru.andreyszdlv.taskmanager.dto.comment.CreateCommentRequestDto;
 import ru.andreyszdlv.taskmanager.service.CommentService;
 import ru.andreyszdlv.taskmanager.validation.RequestValidator;
@@ -58,6 +60,40 @@ public class CommentController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdComment);
     }
 
+    @Operation(
+            summary = "Получение комментариев задачи по курсору",
+            description = "Этот эндпоинт позволяет получить комментарии задачи срезами в порядке создания. Для первого среза передается пустой cursor или он не передается вовсе, для следующих - значение next из предыдущего ответа.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Комментарии успешно получены",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = CommentSliceDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Ошибка валидации размера среза или курсора",
+                            content = @Content(mediaType = "application/problem+json", schema = @Schema(implementation = ProblemDetail.class))),
+                    @ApiResponse(responseCode = "404", description = "Задача не найдена",
+                            content = @Content(mediaType = "application/problem+json", schema = @Schema(implementation = ProblemDetail.class))),
+                    @ApiResponse(responseCode = "403", description = "Не достаточно прав для взаимодействия(пользователь с ролью User не назначен исполнителем задачи)",
+                            content = @Content(mediaType = "application/problem+json", schema = @Schema(implementation = ProblemDetail.class)))
+            }
+    )
+    @GetMapping("/{taskId}/comments")
+    public ResponseEntity<CommentSliceDto> getComments(
+            @PathVariable long taskId,
+            @Valid CommentFilterDto commentFilterDto,
+            BindingResult bindingResult
+    ) throws BindException {
+        log.info("Received request get comments for taskId: {}", taskId);
+
+        requestValidator.validateRequest(bindingResult);
+
+        CommentSliceDto comments = commentService.getCommentsSlice(
+                taskId,
+                commentFilterDto.cursor(),
+                commentFilterDto.size()
+        );
+
+        log.info("Returning {} comments for taskId: {}", comments.content().size(), taskId);
+        return ResponseEntity.ok(comments);
+    }
+
     @Operation(
             summary = "Удаление комментария",
             description = "Этот эндпоинт позволяет удалить комментарий по его commentId.",
@@ -1,6 +1,7 @@
 package ru.andreyszdlv.taskmanager.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -8,29 +9,61 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.andreyszdlv.taskmanager.dto.task.*;
+import ru.andreyszdlv.taskmanager.enums.TaskCountMode;
+import ru.andreyszdlv.taskmanager.enums.TaskExportFormat;
+import ru.andreyszdlv.taskmanager.service.TaskBulkService;
+import ru.andreyszdlv.taskmanager.service.TaskChangeService;
+import ru.andreyszdlv.taskmanager.service.TaskEventFeedService;
+import ru.andreyszdlv.taskmanager.service.TaskExportService;
+import ru.andreyszdlv.taskmanager.service.TaskImportService;
 import ru.andreyszdlv.taskmanager.service.TaskService;
+import ru.andreyszdlv.taskmanager.service.TaskSuggestService;
 import ru.andreyszdlv.taskmanager.validation.RequestValidator;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/tasks")
 @RequiredArgsConstructor
 @Slf4j
 public class TaskController {
 
+    private static final String EXPAND_COMMENTS = "comments";
+
     private final TaskService taskService;
 
+    private final TaskExportService taskExportService;
+
+    private final TaskImportService taskImportService;
+
+    private final TaskBulkService taskBulkService;
+
+    private final TaskChangeService taskChangeService;
+
+    private final TaskSuggestService taskSuggestService;
+
+    private final TaskEventFeedService taskEventFeedService;
+
     private final RequestValidator requestValidator;
 
     @Operation(
             summary = "Получение всех задач",
-            description = "Этот эндпоинт позволяет получить все задачи с возможностью фильтрации по статусу, приоритету, автору и исполнителю. Требуется роль ADMIN.",
+            description = "Этот эндпоинт позволяет получить все задачи с возможностью фильтрации по статусу, приоритету, автору и исполнителю. Параметр count задает подсчет общего количества: exact - точный, estimate - приблизительный, none - без подсчета, ответ возвращается срезом. Требуется роль ADMIN.",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -50,7 +83,7 @@ public class TaskController {
             }
     )
     @GetMapping
-    public ResponseEntity<Page<TaskDto>> getAllTasks(
+    public ResponseEntity<Slice<TaskDto>> getAllTasks(
             @Valid TaskFilterDto taskFilterDto,
             BindingResult bindingResult
     ) throws BindException {
@@ -58,13 +91,15 @@ public class TaskController {
 
         requestValidator.validateRequest(bindingResult);
 
-        Page<TaskDto> tasks = taskService.getAllTasks(
+        Slice<TaskDto> tasks = taskService.getAllTasks(
                 taskFilterDto.status(),
                 taskFilterDto.priority(),
                 taskFilterDto.authorId(),
                 taskFilterDto.assigneeId(),
                 taskFilterDto.page(),
-                taskFilterDto.size()
+                taskFilterDto.size(),
+                EXPAND_COMMENTS.equals(taskFilterDto.expand()),
+                TaskCountMode.valueOf(taskFilterDto.count().toUpperCase())
         );
 
         log.info("Returning {} tasks", tasks.getSize());
@@ -72,9 +107,98 @@ public class TaskController {
     }
 
 
+    @Operation(
+            summary = "Получение всех задач по курсору",
+            description = "Этот эндпоинт позволяет получить задачи срезами по курсору без подсчета общего количества. Для первого среза передается пустой cursor, для следующих - значение next из предыдущего ответа. Требуется роль ADMIN.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Задачи успешно получены",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskSliceDto.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Ошибка валидации фильтров или курсора",
+                            content = @Content(mediaType = "application/problem+json", schema = @Schema(implementation = ProblemDetail.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Недостаточно прав, пользователь с ролью USER.",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping(params = {"cursor", "!q"})
+    public ResponseEntity<TaskSliceDto> getAllTasksByCursor(
+            @Valid TaskFilterDto taskFilterDto,
+            BindingResult bindingResult
+    ) throws BindException {
+        log.info("Received request get all tasks by cursor");
+
+        requestValidator.validateRequest(bindingResult);
+
+        TaskSliceDto tasks = taskService.getTasksSlice(
+                taskFilterDto.status(),
+                taskFilterDto.priority(),
+                taskFilterDto.authorId(),
+                taskFilterDto.assigneeId(),
+                taskFilterDto.cursor(),
+                taskFilterDto.size(),
+                EXPAND_COMMENTS.equals(taskFilterDto.expand())
+        );
+
+        log.info("Returning {} tasks", tasks.content().size());
+        return ResponseEntity.ok(tasks);
+    }
+
+    @Operation(
+            summary = "Полнотекстовый поиск задач",
+            description = "Этот эндпоинт позволяет найти задачи по тексту в названии, описании и комментариях. Поддерживается синтаксис веб-поиска: фразы в кавычках, or и исключение через минус. Задачи возвращаются по убыванию релевантности срезами по курсору и могут дополнительно фильтроваться по статусу, приоритету, автору и исполнителю. Требуется роль ADMIN.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Задачи успешно найдены",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskSliceDto.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Ошибка валидации текста поиска, фильтров или курсора",
+                            content = @Content(mediaType = "application/problem+json", schema = @Schema(implementation = ProblemDetail.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Недостаточно прав, пользователь с ролью USER.",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping(params = "q")
+    public ResponseEntity<TaskSliceDto> searchTasks(
+            @Valid TaskFilterDto taskFilterDto,
+            BindingResult bindingResult
+    ) throws BindException {
+        log.info("Received request search tasks");
+
+        requestValidator.validateRequest(bindingResult);
+
+        TaskSliceDto tasks = taskService.searchTasks(
+                taskFilterDto.q(),
+                taskFilterDto.status(),
+                taskFilterDto.priority(),
+                taskFilterDto.authorId(),
+                taskFilterDto.assigneeId(),
+                taskFilterDto.cursor(),
+                taskFilterDto.size(),
+                EXPAND_COMMENTS.equals(taskFilterDto.expand())
+        );
+
+        log.info("Returning {} tasks", tasks.content().size());
+        return ResponseEntity.ok(tasks);
+    }
+
     @Operation(
             summary = "Получение задач, назначенных на меня",
-            description = "Этот эндпоинт позволяет получить все задачи, где текущий пользователь является исполнителем.",
+            description = "Этот эндпоинт позволяет получить все задачи, где текущий пользователь является исполнителем. Параметр count задает подсчет общего количества: exact - точный, estimate - приблизительный, none - без подсчета, ответ возвращается срезом.",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -89,7 +213,7 @@ public class TaskController {
             }
     )
     @GetMapping("/assigned-to-me")
-    public ResponseEntity<Page<TaskDto>> getTasksAssigneeToMe(
+    public ResponseEntity<Slice<TaskDto>> getTasksAssigneeToMe(
             @Valid TaskFilterForAssigneeDto taskFilterForAssigneeDto,
             BindingResult bindingResult
     ) throws BindException {
@@ -97,20 +221,206 @@ public class TaskController {
 
         requestValidator.validateRequest(bindingResult);
 
-        Page<TaskDto> tasks = taskService.getAllTasksWhereUserAssignee(
+        Slice<TaskDto> tasks = taskService.getAllTasksWhereUserAssignee(
                 taskFilterForAssigneeDto.status(),
                 taskFilterForAssigneeDto.priority(),
                 taskFilterForAssigneeDto.page(),
-                taskFilterForAssigneeDto.size()
+                taskFilterForAssigneeDto.size(),
+                EXPAND_COMMENTS.equals(taskFilterForAssigneeDto.expand()),
+                TaskCountMode.valueOf(taskFilterForAssigneeDto.count().toUpperCase())
         );
 
         log.info("Returning {} tasks", tasks.getSize());
         return ResponseEntity.ok(tasks);
     }
 
+    @Operation(
+            summary = "Получение задач, назначенных на меня, по курсору",
+            description = "Этот эндпоинт позволяет получить задачи текущего исполнителя срезами по курсору без подсчета общего количества.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Задачи успешно получены",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskSliceDto.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Ошибка валидации фильтров или курсора",
+                            content = @Content(mediaType = "application/problem+json", schema = @Schema(implementation = ProblemDetail.class))
+                    )
+            }
+    )
+    @GetMapping(value = "/assigned-to-me", params = "cursor")
+    public ResponseEntity<TaskSliceDto> getTasksAssigneeToMeByCursor(
+            @Valid TaskFilterForAssigneeDto taskFilterForAssigneeDto,
+            BindingResult bindingResult
+    ) throws BindException {
+        log.info("Received request get tasks by cursor, where user assignee");
+
+        requestValidator.validateRequest(bindingResult);
+
+        TaskSliceDto tasks = taskService.getTasksSliceWhereUserAssignee(
+                taskFilterForAssigneeDto.status(),
+                taskFilterForAssigneeDto.priority(),
+                taskFilterForAssigneeDto.cursor(),
+                taskFilterForAssigneeDto.size(),
+                EXPAND_COMMENTS.equals(taskFilterForAssigneeDto.expand())
+        );
+
+        log.info("Returning {} tasks", tasks.content().size());
+        return ResponseEntity.ok(tasks);
+    }
+
+    @Operation(
+            summary = "Выгрузка задач",
+            description = "Этот эндпоинт позволяет выгрузить все задачи, подходящие под фильтры, в формате NDJSON или CSV. Задачи передаются потоком по мере чтения из базы данных, ответ сжимается gzip при Accept-Encoding: gzip. Требуется роль ADMIN.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Задачи успешно выгружены",
+                            content = {
+                                    @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = TaskDto.class)),
+                                    @Content(mediaType = "text/csv")
+                            }
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Ошибка валидации фильтров или формата",
+                            content = @Content(mediaType = "application/problem+json", schema = @Schema(implementation = ProblemDetail.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Недостаточно прав, пользователь с ролью USER.",
+                            content = @Content
+                    )
+            }
+    )
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @Valid TaskExportFilterDto taskExportFilterDto,
+            BindingResult bindingResult
+    ) throws BindException {
+        log.info("Received request export tasks");
+
+        requestValidator.validateRequest(bindingResult);
+
+        TaskExportFormat format = TaskExportFormat.valueOf(taskExportFilterDto.format());
+        StreamingResponseBody body = outputStream -> taskExportService.exportTasks(
+                taskExportFilterDto.status(),
+                taskExportFilterDto.priority(),
+                taskExportFilterDto.authorId(),
+                taskExportFilterDto.assigneeId(),
+                format,
+                outputStream
+        );
+
+        log.info("Streaming tasks export in format: {}", format);
+        return ResponseEntity.ok()
+                .contentType(format == TaskExportFormat.CSV
+                        ? new MediaType("text", "csv")
+                        : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tasks." + format.name().toLowerCase())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    @Operation(
+            summary = "Подсказки задач по началу названия",
+            description = "Этот эндпоинт возвращает идентификаторы и названия задач для выбора задачи при вводе: сначала задачи, название которых начинается с prefix, затем похожие по написанию. Пользователь с ролью USER получает подсказки только из задач, где он назначен исполнителем.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Подсказки успешно получены",
+                            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TaskSuggestionDto.class)))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Ошибка валидации prefix или limit",
+                            content = @Content(mediaType = "application/problem+json", schema = @Schema(implementation = ProblemDetail.class))
+                    )
+            }
+    )
+    @GetMapping("/suggest")
+    public ResponseEntity<List<TaskSuggestionDto>> suggestTasks(
+            @Valid TaskSuggestFilterDto taskSuggestFilterDto,
+            BindingResult bindingResult
+    ) throws BindException {
+        log.info("Received request suggest tasks");
+
+        requestValidator.validateRequest(bindingResult);
+
+        List<TaskSuggestionDto> suggestions = taskSuggestService.suggest(
+                taskSuggestFilterDto.prefix(),
+                taskSuggestFilterDto.limit()
+        );
+
+        log.info("Returning {} task suggestions", suggestions.size());
+        return ResponseEntity.ok(suggestions);
+    }
+
+    @Operation(
+            summary = "Изменения задач после номера изменения",
+            description = "Этот эндпоинт возвращает задачи и комментарии, созданные или измененные после номера изменения since, и удаленные после него задачи и комментарии, в порядке изменений. При первой синхронизации since = 0, затем передается next из предыдущего ответа. Если hasMore = true, следующий запрос нужно сделать сразу. Пользователь с ролью USER получает только изменения задач, где он назначен исполнителем, а задачи, с которых его сняли, приходят как удаленные с kind = TASK_UNASSIGNED. Удаленные задачи и комментарии хранятся ограниченное время: если since старше, возвращается 410 и задачи нужно загрузить заново с since = 0, передавая fullSync = true до конца этой загрузки.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Изменения успешно получены",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskChangesDto.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Ошибка валидации since или limit",
+                            content = @Content(mediaType = "application/problem+json", schema = @Schema(implementation = ProblemDetail.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "410",
+                            description = "Изменения после since уже удалены, нужна полная синхронизация",
+                            content = @Content(mediaType = "application/problem+json", schema = @Schema(implementation = ProblemDetail.class))
+                    )
+            }
+    )
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesDto> getTaskChanges(
+            @Valid TaskChangesFilterDto taskChangesFilterDto,
+            BindingResult bindingResult
+    ) throws BindException {
+        log.info("Received request get task changes");
+
+        requestValidator.validateRequest(bindingResult);
+
+        TaskChangesDto changes = taskChangeService.getChanges(
+                taskChangesFilterDto.since(),
+                taskChangesFilterDto.limit(),
+                taskChangesFilterDto.fullSync()
+        );
+
+        log.info("Returning task changes up to: {}", changes.next());
+        return ResponseEntity.ok(changes);
+    }
+
+    @Operation(
+            summary = "Поток событий изменений задач",
+            description = "Этот эндпоинт открывает поток Server-Sent Events с событиями создания, изменения и удаления задач и комментариев. Имя события - его тип, id - идентификатор события, данные - TaskEventDto. Пользователь с ролью USER получает только события задач, где он назначен исполнителем. Медленные клиенты отключаются, после переподключения доску нужно загрузить заново.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Поток событий открыт",
+                            content = @Content(mediaType = "text/event-stream", schema = @Schema(implementation = TaskEventDto.class))
+                    )
+            }
+    )
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTaskEvents() {
+        log.info("Received request stream task events");
+
+        return taskEventFeedService.subscribe();
+    }
+
     @Operation(
             summary = "Получение задачи по ID",
-            description = "Этот эндпоинт позволяет получить задачу по ее уникальному ID.",
+            description = "Этот эндпоинт позволяет получить задачу по ее уникальному ID. Комментарии возвращаются только при expand=comments, постранично они доступны через GET /api/tasks/{taskId}/comments.",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -130,10 +440,13 @@ public class TaskController {
             }
     )
     @GetMapping("/{id}")
-    public ResponseEntity<TaskDto> getTaskById(@PathVariable long id){
+    public ResponseEntity<TaskDto> getTaskById(
+            @PathVariable long id,
+            @RequestParam(required = false) String expand
+    ){
         log.info("Received request get task by id: {}", id);
 
-        TaskDto task = taskService.getTaskById(id);
+        TaskDto task = taskService.getTaskById(id, EXPAND_COMMENTS.equals(expand));
 
         log.info("Returning task with id: {}", id);
         return ResponseEntity.ok(task);
@@ -175,6 +488,32 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdTask);
     }
 
+    @Operation(
+            summary = "Массовое создание задач",
+            description = "Этот эндпоинт позволяет создать много задач одним запросом. Тело запроса - поток задач в формате NDJSON или JSON массив объектов CreateTaskRequestDto, который читается и сохраняется частями. Невалидные задачи не прерывают загрузку, а возвращаются в списке failed с номером строки. Требуется роль ADMIN.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Загрузка завершена",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskImportResultDto.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Недостаточно прав, пользователь с ролью USER.",
+                            content = @Content
+                    )
+            }
+    )
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<TaskImportResultDto> importTasks(InputStream inputStream) throws IOException {
+        log.info("Received request import tasks");
+
+        TaskImportResultDto result = taskImportService.importTasks(inputStream);
+
+        log.info("Imported {} tasks, failed {}", result.imported(), result.failed().size());
+        return ResponseEntity.ok(result);
+    }
+
     @Operation(
             summary = "Частичное обновление задачи",
             description = "Этот эндпоинт позволяет частично обновить данные задачи (например, только название или описание). Требуется роль ADMIN.",
@@ -292,6 +631,128 @@ public class TaskController {
         return ResponseEntity.ok(updatedTask);
     }
 
+    @Operation(
+            summary = "Массовое обновление статуса задач",
+            description = "Этот эндпоинт позволяет одним запросом обновить статус задач, выбранных по списку ids или по фильтрам. Задачи обновляются частями, пользователь с ролью USER обновляет только задачи, где он назначен исполнителем.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Задачи успешно обновлены",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskBulkUpdateResultDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Ошибка валидации данных",
+                            content = @Content(mediaType = "application/problem+json", schema = @Schema(implementation = ProblemDetail.class)))
+            }
+    )
+    @PatchMapping("/bulk/status")
+    public ResponseEntity<TaskBulkUpdateResultDto> bulkUpdateStatusTasks(
+            @Valid @RequestBody BulkUpdateStatusRequestDto bulkUpdateStatusRequestDto,
+            BindingResult bindingResult
+    ) throws BindException {
+        log.info("Received request bulk update status");
+
+        requestValidator.validateRequest(bindingResult);
+
+        TaskBulkUpdateResultDto result = taskBulkService.updateStatus(
+                bulkUpdateStatusRequestDto.ids(),
+                bulkUpdateStatusRequestDto.filter(),
+                bulkUpdateStatusRequestDto.status()
+        );
+
+        log.info("Bulk status update finished, updated {} tasks", result.updated());
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(
+            summary = "Массовое обновление приоритета задач",
+            description = "Этот эндпоинт позволяет одним запросом обновить приоритет задач, выбранных по списку ids или по фильтрам. Задачи обновляются частями. Требуется роль ADMIN.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Задачи успешно обновлены",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskBulkUpdateResultDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Ошибка валидации данных",
+                            content = @Content(mediaType = "application/problem+json", schema = @Schema(implementation = ProblemDetail.class))),
+                    @ApiResponse(responseCode = "403", description = "Недостаточно прав, пользователь с ролью USER", content = @Content)
+            }
+    )
+    @PatchMapping("/bulk/priority")
+    public ResponseEntity<TaskBulkUpdateResultDto> bulkUpdatePriorityTasks(
+            @Valid @RequestBody BulkUpdatePriorityRequestDto bulkUpdatePriorityRequestDto,
+            BindingResult bindingResult
+    ) throws BindException {
+        log.info("Received request bulk update priority");
+
+        requestValidator.validateRequest(bindingResult);
+
+        TaskBulkUpdateResultDto result = taskBulkService.updatePriority(
+                bulkUpdatePriorityRequestDto.ids(),
+                bulkUpdatePriorityRequestDto.filter(),
+                bulkUpdatePriorityRequestDto.priority()
+        );
+
+        log.info("Bulk priority update finished, updated {} tasks", result.updated());
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(
+            summary = "Массовое обновление исполнителя задач",
+            description = "Этот эндпоинт позволяет одним запросом назначить исполнителя задачам, выбранным по списку ids или по фильтрам. Задачи обновляются частями. Требуется роль ADMIN.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Задачи успешно обновлены",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskBulkUpdateResultDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Ошибка валидации данных",
+                            content = @Content(mediaType = "application/problem+json", schema = @Schema(implementation = ProblemDetail.class))),
+                    @ApiResponse(responseCode = "404", description = "Пользователь с таким ID не найден",
+                            content = @Content(mediaType = "application/problem+json", schema = @Schema(implementation = ProblemDetail.class))),
+                    @ApiResponse(responseCode = "403", description = "Недостаточно прав, пользователь с ролью USER", content = @Content)
+            }
+    )
+    @PatchMapping("/bulk/assignee")
+    public ResponseEntity<TaskBulkUpdateResultDto> bulkUpdateAssigneeTasks(
+            @Valid @RequestBody BulkUpdateAssigneeRequestDto bulkUpdateAssigneeRequestDto,
+            BindingResult bindingResult
+    ) throws BindException {
+        log.info("Received request bulk update assignee");
+
+        requestValidator.validateRequest(bindingResult);
+
+        TaskBulkUpdateResultDto result = taskBulkService.updateAssignee(
+                bulkUpdateAssigneeRequestDto.ids(),
+                bulkUpdateAssigneeRequestDto.filter(),
+                bulkUpdateAssigneeRequestDto.assigneeId()
+        );
+
+        log.info("Bulk assignee update finished, updated {} tasks", result.updated());
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(
+            summary = "Массовое удаление задач",
+            description = "Этот эндпоинт позволяет удалить задачи, выбранные по фильтрам, вместе с их комментариями. Нужно передать хотя бы один фильтр. Задачи удаляются частями. Требуется роль ADMIN.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Задачи успешно удалены",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskBulkDeleteResultDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Ошибка валидации фильтров",
+                            content = @Content(mediaType = "application/problem+json", schema = @Schema(implementation = ProblemDetail.class))),
+                    @ApiResponse(responseCode = "403", description = "Недостаточно прав, пользователь с ролью USER", content = @Content)
+            }
+    )
+    @DeleteMapping("/bulk")
+    public ResponseEntity<TaskBulkDeleteResultDto> bulkDeleteTasks(
+            @Valid TaskBulkDeleteFilterDto taskBulkDeleteFilterDto,
+            BindingResult bindingResult
+    ) throws BindException {
+        log.info("Received request bulk delete tasks");
+
+        requestValidator.validateRequest(bindingResult);
+
+        TaskBulkDeleteResultDto result = taskBulkService.deleteTasks(
+                taskBulkDeleteFilterDto.status(),
+                taskBulkDeleteFilterDto.priority(),
+                taskBulkDeleteFilterDto.authorId(),
+                taskBulkDeleteFilterDto.assigneeId()
+        );
+
+        log.info("Bulk delete finished, deleted {} tasks", result.deleted());
+        return ResponseEntity.ok(result);
+    }
+
     @Operation(
             summary = "Удаление задачи",
             description = "Этот эндпоинт позволяет удалить задачу по ID. Требуется роль ADMIN.",
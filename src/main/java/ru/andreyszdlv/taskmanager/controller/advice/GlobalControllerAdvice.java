@@ -3,8 +3,10 @@ package ru.andreyszdlv.taskmanager.controller.advice;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -50,6 +52,20 @@ public class GlobalControllerAdvice {
         return response;
     }
 
+    @ExceptionHandler({
+            InvalidCursorException.class
+    })
+    public ProblemDetail handleInvalidRequestException(RuntimeException ex, Locale locale) {
+        ProblemDetail response = ProblemDetail.forStatusAndDetail(
+                HttpStatus.BAD_REQUEST,
+                messageSource.getMessage(ex.getMessage(), null, ex.getMessage(), locale)
+        );
+
+        log.error("handleInvalidRequestException: {}", response);
+
+        return response;
+    }
+
     @ExceptionHandler({
             UserUnauthenticatedException.class,
             InvalidRefreshTokenException.class
@@ -94,4 +110,38 @@ public class GlobalControllerAdvice {
 
         return response;
     }
+
+    @ExceptionHandler({
+            ChangesResyncRequiredException.class
+    })
+    public ProblemDetail handleGoneException(RuntimeException ex, Locale locale) {
+        ProblemDetail response = ProblemDetail.forStatusAndDetail(
+                HttpStatus.GONE,
+                messageSource.getMessage(ex.getMessage(), null, ex.getMessage(), locale)
+        );
+
+        log.error("handleGoneException: {}", response);
+
+        return response;
+    }
+
+    @ExceptionHandler({
+            PasswordEncoderUnavailableException.class
+    })
+    public ResponseEntity<ProblemDetail> handleServiceUnavailableException(
+            PasswordEncoderUnavailableException ex,
+            Locale locale
+    ) {
+        ProblemDetail response = ProblemDetail.forStatusAndDetail(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                messageSource.getMessage(ex.getMessage(), null, ex.getMessage(), locale)
+        );
+
+        log.error("handleServiceUnavailableException: {}", response);
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
 }
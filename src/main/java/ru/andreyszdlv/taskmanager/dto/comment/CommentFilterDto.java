@@ -0,0 +1,19 @@
+package ru.andreyszdlv.taskmanager.dto.comment;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+
+@Schema(description = "DTO для постраничного получения комментариев задачи")
+public record CommentFilterDto(
+
+        @Min(value = 1, message = "{validation.error.page.size.invalid}")
+        @Schema(description = "Размер среза", example = "10")
+        Integer size,
+
+        @Schema(description = "Курсор для постраничной выборки без смещения, пустое значение - первый срез", example = "MjAyNC0xMi0xMlQxMjozMHw0Mg")
+        String cursor
+) {
+    public CommentFilterDto {
+        size = size == null ? 10 : size;
+    }
+}
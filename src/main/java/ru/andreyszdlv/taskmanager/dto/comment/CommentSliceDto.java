@@ -0,0 +1,16 @@
+package ru.andreyszdlv.taskmanager.dto.comment;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Срез комментариев задачи для постраничной выборки по курсору")
+public record CommentSliceDto(
+
+        @Schema(description = "Комментарии текущего среза в порядке создания")
+        List<CommentDto> content,
+
+        @Schema(description = "Курсор следующего среза, отсутствует на последнем срезе", example = "MjAyNC0xMi0xMlQxMjozMHw0Mg")
+        String next
+) {
+}
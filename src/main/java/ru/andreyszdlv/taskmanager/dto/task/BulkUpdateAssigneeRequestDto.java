@@ -0,0 +1,35 @@
+package ru.andreyszdlv.taskmanager.dto.task;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "DTO для массового обновления исполнителя задач")
+public record BulkUpdateAssigneeRequestDto(
+
+        @Size(max = 10000, message = "{validation.error.bulk.ids.size.invalid}")
+        @Schema(description = "Идентификаторы задач, передается вместо filter", example = "[1, 2, 3]")
+        List<@NotNull @Min(1) Long> ids,
+
+        @Valid
+        @Schema(description = "Фильтры задач, передаются вместо ids")
+        TaskBulkFilterDto filter,
+
+        @NotNull(message = "{validation.error.task.assigneeId.is_null}")
+        @Min(value = 1, message = "{validation.error.task.assigneeId.invalid}")
+        @Schema(description = "Идентификатор нового исполнителя задач", example = "3")
+        Long assigneeId
+) {
+    @JsonIgnore
+    @Schema(hidden = true)
+    @AssertTrue(message = "{validation.error.bulk.selection.invalid}")
+    public boolean isSelectionValid() {
+        return (ids == null) != (filter == null);
+    }
+}
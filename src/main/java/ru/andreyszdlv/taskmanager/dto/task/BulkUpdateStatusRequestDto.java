@@ -0,0 +1,37 @@
+package ru.andreyszdlv.taskmanager.dto.task;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import ru.andreyszdlv.taskmanager.enums.TaskStatus;
+import ru.andreyszdlv.taskmanager.validation.ValueOfEnum;
+
+import java.util.List;
+
+@Schema(description = "DTO для массового обновления статуса задач")
+public record BulkUpdateStatusRequestDto(
+
+        @Size(max = 10000, message = "{validation.error.bulk.ids.size.invalid}")
+        @Schema(description = "Идентификаторы задач, передается вместо filter", example = "[1, 2, 3]")
+        List<@NotNull @Min(1) Long> ids,
+
+        @Valid
+        @Schema(description = "Фильтры задач, передаются вместо ids")
+        TaskBulkFilterDto filter,
+
+        @NotNull(message = "{validation.error.task.status.is_empty}")
+        @ValueOfEnum(enumClass = TaskStatus.class, message = "{validation.error.task.status.invalid}")
+        @Schema(description = "Новый статус задач", allowableValues = {"WAITING", "IN_PROGRESS", "COMPLETED"}, example = "COMPLETED")
+        String status
+) {
+    @JsonIgnore
+    @Schema(hidden = true)
+    @AssertTrue(message = "{validation.error.bulk.selection.invalid}")
+    public boolean isSelectionValid() {
+        return (ids == null) != (filter == null);
+    }
+}
@@ -0,0 +1,9 @@
+package ru.andreyszdlv.taskmanager.dto.task;
+
+import java.util.List;
+
+public record CachedTaskPageDto(
+        List<TaskDto> content,
+        long totalElements
+) {
+}
@@ -0,0 +1,32 @@
+package ru.andreyszdlv.taskmanager.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import ru.andreyszdlv.taskmanager.enums.TaskPriority;
+import ru.andreyszdlv.taskmanager.enums.TaskStatus;
+import ru.andreyszdlv.taskmanager.validation.ValueOfEnum;
+
+@Schema(description = "DTO для выбора задач массового удаления по фильтрам")
+public record TaskBulkDeleteFilterDto(
+
+        @ValueOfEnum(enumClass = TaskStatus.class, message = "{validation.error.task.status.invalid}")
+        @Schema(description = "Статус задачи для фильтрации", allowableValues = {"WAITING", "IN_PROGRESS", "COMPLETED"}, example = "COMPLETED")
+        String status,
+
+        @ValueOfEnum(enumClass = TaskPriority.class, message = "{validation.error.task.priority.invalid}")
+        @Schema(description = "Приоритет задачи для фильтрации", allowableValues = {"HIGH", "MEDIUM", "LOW"}, example = "LOW")
+        String priority,
+
+        @Schema(description = "Идентификатор автора для фильтрации", example = "2")
+        Long authorId,
+
+        @Schema(description = "Идентификатор исполнителя для фильтрации", example = "3")
+        Long assigneeId
+) {
+    // A request without filters would delete every task.
+    @Schema(hidden = true)
+    @AssertTrue(message = "{validation.error.bulk.filter.empty}")
+    public boolean isFilterPresent() {
+        return status != null || priority != null || authorId != null || assigneeId != null;
+    }
+}
@@ -0,0 +1,10 @@
+package ru.andreyszdlv.taskmanager.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "DTO для результата массового удаления задач")
+public record TaskBulkDeleteResultDto(
+        @Schema(description = "Количество удаленных задач", example = "120")
+        long deleted
+) {
+}
@@ -0,0 +1,32 @@
+package ru.andreyszdlv.taskmanager.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import ru.andreyszdlv.taskmanager.enums.TaskPriority;
+import ru.andreyszdlv.taskmanager.enums.TaskStatus;
+import ru.andreyszdlv.taskmanager.validation.ValueOfEnum;
+
+@Schema(description = "DTO для выбора задач массового обновления по фильтрам")
+public record TaskBulkFilterDto(
+
+        @ValueOfEnum(enumClass = TaskStatus.class, message = "{validation.error.task.status.invalid}")
+        @Schema(description = "Статус задачи для фильтрации", allowableValues = {"WAITING", "IN_PROGRESS", "COMPLETED"}, example = "IN_PROGRESS")
+        String status,
+
+        @ValueOfEnum(enumClass = TaskPriority.class, message = "{validation.error.task.priority.invalid}")
+        @Schema(description = "Приоритет задачи для фильтрации", allowableValues = {"HIGH", "MEDIUM", "LOW"}, example = "HIGH")
+        String priority,
+
+        @Schema(description = "Идентификатор автора для фильтрации", example = "2")
+        Long authorId,
+
+        @Schema(description = "Идентификатор исполнителя для фильтрации", example = "3")
+        Long assigneeId
+) {
+    // An empty filter would update every task the caller can access.
+    @Schema(hidden = true)
+    @AssertTrue(message = "{validation.error.bulk.update.filter.empty}")
+    public boolean isFilterPresent() {
+        return status != null || priority != null || authorId != null || assigneeId != null;
+    }
+}
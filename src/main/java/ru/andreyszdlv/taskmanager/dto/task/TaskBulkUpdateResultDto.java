@@ -0,0 +1,10 @@
+package ru.andreyszdlv.taskmanager.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "DTO для результата массового обновления задач")
+public record TaskBulkUpdateResultDto(
+        @Schema(description = "Количество обновленных задач", example = "120")
+        long updated
+) {
+}
@@ -0,0 +1,26 @@
+package ru.andreyszdlv.taskmanager.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import ru.andreyszdlv.taskmanager.dto.comment.CommentChangeDto;
+
+import java.util.List;
+
+@Schema(description = "Изменения задач и комментариев после номера изменения")
+public record TaskChangesDto(
+
+        @Schema(description = "Созданные или измененные задачи в их текущем состоянии")
+        List<TaskDto> tasks,
+
+        @Schema(description = "Созданные или измененные комментарии")
+        List<CommentChangeDto> comments,
+
+        @Schema(description = "Удаленные задачи и комментарии")
+        List<TombstoneDto> deleted,
+
+        @Schema(description = "Номер изменения для параметра since следующего запроса", example = "2020")
+        long next,
+
+        @Schema(description = "Есть ли еще изменения, тогда следующий запрос нужно сделать сразу", example = "false")
+        boolean hasMore
+) {
+}
@@ -0,0 +1,28 @@
+package ru.andreyszdlv.taskmanager.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "DTO для получения изменений задач после номера изменения")
+public record TaskChangesFilterDto(
+
+        @NotNull(message = "{validation.error.changes.since.invalid}")
+        @Min(value = 0, message = "{validation.error.changes.since.invalid}")
+        @Schema(description = "Номер изменения из поля next предыдущего ответа, 0 при первой синхронизации", example = "1520")
+        Long since,
+
+        @Min(value = 1, message = "{validation.error.changes.limit.invalid}")
+        @Max(value = 1000, message = "{validation.error.changes.limit.invalid}")
+        @Schema(description = "Максимальное количество изменений в ответе", example = "500")
+        Integer limit,
+
+        @Schema(description = "true, пока загружаются страницы первой синхронизации, начатой с since=0", example = "false")
+        Boolean fullSync
+) {
+    public TaskChangesFilterDto {
+        limit = limit == null ? 500 : limit;
+        fullSync = fullSync != null && fullSync;
+    }
+}
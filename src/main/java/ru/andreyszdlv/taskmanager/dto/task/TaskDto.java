@@ -1,5 +1,6 @@
 package ru.andreyszdlv.taskmanager.dto.task;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import ru.andreyszdlv.taskmanager.dto.comment.CommentDto;
 import ru.andreyszdlv.taskmanager.enums.TaskPriority;
@@ -34,7 +35,11 @@ public record TaskDto(
         @Schema(description = "Идентификатор исполнителя задачи", example = "3")
         Long assigneeId,
 
-        @Schema(description = "Комментарии к задаче")
+        @Schema(description = "Количество комментариев к задаче", example = "5")
+        long commentCount,
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @Schema(description = "Комментарии к задаче, возвращаются только при expand=comments")
         List<CommentDto> comments
 ) {
 }
@@ -0,0 +1,41 @@
+package ru.andreyszdlv.taskmanager.dto.task;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import ru.andreyszdlv.taskmanager.enums.TaskEventType;
+import ru.andreyszdlv.taskmanager.enums.TaskPriority;
+import ru.andreyszdlv.taskmanager.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "DTO события изменения задачи или ее комментариев")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskEventDto(
+        @Schema(description = "Идентификатор события, события одной задачи приходят в порядке возрастания", example = "42")
+        long eventId,
+
+        @Schema(description = "Тип события", example = "TASK_UPDATED")
+        TaskEventType type,
+
+        @Schema(description = "Идентификатор задачи", example = "1")
+        long taskId,
+
+        @Schema(description = "Идентификатор комментария, только для событий комментариев", example = "7")
+        Long commentId,
+
+        @Schema(description = "Статус задачи после изменения, только для событий задачи", allowableValues = {"WAITING", "IN_PROGRESS", "COMPLETED"}, example = "IN_PROGRESS")
+        TaskStatus status,
+
+        @Schema(description = "Приоритет задачи после изменения, только для событий задачи", allowableValues = {"HIGH", "MEDIUM", "LOW"}, example = "HIGH")
+        TaskPriority priority,
+
+        @Schema(description = "Идентификатор исполнителя задачи", example = "3")
+        Long assigneeId,
+
+        @Schema(description = "Идентификатор предыдущего исполнителя, только если изменение переназначило задачу", example = "4")
+        Long previousAssigneeId,
+
+        @Schema(description = "Дата и время изменения", example = "2024-12-12T12:30:00.123")
+        LocalDateTime createdAt
+) {
+}
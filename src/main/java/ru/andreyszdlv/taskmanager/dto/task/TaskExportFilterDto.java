@@ -0,0 +1,33 @@
+package ru.andreyszdlv.taskmanager.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import ru.andreyszdlv.taskmanager.enums.TaskExportFormat;
+import ru.andreyszdlv.taskmanager.enums.TaskPriority;
+import ru.andreyszdlv.taskmanager.enums.TaskStatus;
+import ru.andreyszdlv.taskmanager.validation.ValueOfEnum;
+
+@Schema(description = "DTO для фильтрации выгружаемых задач")
+public record TaskExportFilterDto(
+
+        @ValueOfEnum(enumClass = TaskStatus.class, message = "{validation.error.task.status.invalid}")
+        @Schema(description = "Статус задачи для фильтрации", allowableValues = {"WAITING", "IN_PROGRESS", "COMPLETED"}, example = "WAITING")
+        String status,
+
+        @ValueOfEnum(enumClass = TaskPriority.class, message = "{validation.error.task.priority.invalid}")
+        @Schema(description = "Приоритет задачи для фильтрации", allowableValues = {"HIGH", "MEDIUM", "LOW"}, example = "HIGH")
+        String priority,
+
+        @Schema(description = "Идентификатор автора для фильтрации", example = "2")
+        Long authorId,
+
+        @Schema(description = "Идентификатор исполнителя для фильтрации", example = "3")
+        Long assigneeId,
+
+        @ValueOfEnum(enumClass = TaskExportFormat.class, message = "{validation.error.export.format.invalid}")
+        @Schema(description = "Формат выгрузки", allowableValues = {"NDJSON", "CSV"}, example = "NDJSON")
+        String format
+) {
+    public TaskExportFilterDto {
+        format = format == null ? TaskExportFormat.NDJSON.name() : format;
+    }
+}
@@ -2,6 +2,7 @@ package ru.andreyszdlv.taskmanager.dto.task;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
 import ru.andreyszdlv.taskmanager.enums.TaskPriority;
 import ru.andreyszdlv.taskmanager.enums.TaskStatus;
 import ru.andreyszdlv.taskmanager.validation.ValueOfEnum;
@@ -22,10 +23,22 @@ public record TaskFilterForAssigneeDto(
 
         @Min(value = 1, message = "{validation.error.page.size.invalid}")
         @Schema(description = "Размер страницы для пагинации", example = "10")
-        Integer size
+        Integer size,
+
+        @Schema(description = "Курсор для постраничной выборки без смещения, пустое значение - первый срез", example = "MjAyNC0xMi0xMlQxMjozMHw0Mg")
+        String cursor,
+
+        @Pattern(regexp = "comments", message = "{validation.error.expand.invalid}")
+        @Schema(description = "Связанные данные, которые нужно вернуть вместе с задачами", allowableValues = {"comments"}, example = "comments")
+        String expand,
+
+        @Pattern(regexp = "exact|estimate|none", message = "{validation.error.count.invalid}")
+        @Schema(description = "Подсчет общего количества задач: exact - точный, estimate - приблизительный, none - без подсчета", allowableValues = {"exact", "estimate", "none"}, example = "estimate")
+        String count
 ) {
     public TaskFilterForAssigneeDto {
         page = page == null ? 0 : page;
         size = size == null ? 10 : size;
+        count = count == null ? "exact" : count;
     }
 }
\ No newline at end of file
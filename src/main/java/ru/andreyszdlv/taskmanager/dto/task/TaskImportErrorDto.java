@@ -0,0 +1,15 @@
+package ru.andreyszdlv.taskmanager.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "DTO для ошибки импорта одной задачи")
+public record TaskImportErrorDto(
+        @Schema(description = "Порядковый номер задачи во входных данных, начиная с 1", example = "3")
+        long row,
+
+        @Schema(description = "Причины, по которым задача не была создана")
+        List<String> errors
+) {
+}
@@ -0,0 +1,15 @@
+package ru.andreyszdlv.taskmanager.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "DTO для результата импорта задач")
+public record TaskImportResultDto(
+        @Schema(description = "Количество созданных задач", example = "998")
+        long imported,
+
+        @Schema(description = "Задачи, которые не были созданы")
+        List<TaskImportErrorDto> failed
+) {
+}
@@ -0,0 +1,16 @@
+package ru.andreyszdlv.taskmanager.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Срез задач для постраничной выборки по курсору")
+public record TaskSliceDto(
+
+        @Schema(description = "Задачи текущего среза")
+        List<TaskDto> content,
+
+        @Schema(description = "Курсор следующего среза, отсутствует на последнем срезе", example = "MjAyNC0xMi0xMlQxMjozMHw0Mg")
+        String next
+) {
+}
@@ -0,0 +1,25 @@
+package ru.andreyszdlv.taskmanager.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "DTO для подсказок задач по началу названия")
+public record TaskSuggestFilterDto(
+
+        @NotBlank(message = "{validation.error.suggest.prefix.invalid}")
+        @Size(min = 3, max = 100, message = "{validation.error.suggest.prefix.invalid}")
+        @Schema(description = "Начало названия задачи, допускаются опечатки", example = "подгот", minLength = 3, maxLength = 100)
+        String prefix,
+
+        @Min(value = 1, message = "{validation.error.suggest.limit.invalid}")
+        @Max(value = 50, message = "{validation.error.suggest.limit.invalid}")
+        @Schema(description = "Максимальное количество подсказок", example = "10")
+        Integer limit
+) {
+    public TaskSuggestFilterDto {
+        limit = limit == null ? 10 : limit;
+    }
+}
@@ -0,0 +1,13 @@
+package ru.andreyszdlv.taskmanager.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "DTO подсказки задачи при вводе названия")
+public record TaskSuggestionDto(
+        @Schema(description = "Уникальный идентификатор задачи", example = "1")
+        long id,
+
+        @Schema(description = "Название задачи", example = "Подготовить отчет")
+        String title
+) {
+}
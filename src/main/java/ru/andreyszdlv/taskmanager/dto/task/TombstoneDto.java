@@ -0,0 +1,23 @@
+package ru.andreyszdlv.taskmanager.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import ru.andreyszdlv.taskmanager.enums.TombstoneKind;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "DTO удаленной задачи или комментария")
+public record TombstoneDto(
+        @Schema(description = "Что произошло: задача удалена, задача больше не назначена пользователю или комментарий удален",
+                allowableValues = {"TASK_DELETED", "TASK_UNASSIGNED", "COMMENT_DELETED"}, example = "TASK_DELETED")
+        TombstoneKind kind,
+
+        @Schema(description = "Идентификатор удаленной задачи или комментария", example = "7")
+        long id,
+
+        @Schema(description = "Идентификатор задачи", example = "1")
+        long taskId,
+
+        @Schema(description = "Дата и время удаления", example = "2024-12-12T12:30:00.123")
+        LocalDateTime deletedAt
+) {
+}
@@ -0,0 +1,7 @@
+package ru.andreyszdlv.taskmanager.enums;
+
+public enum TaskCountMode {
+    EXACT,
+    ESTIMATE,
+    NONE
+}
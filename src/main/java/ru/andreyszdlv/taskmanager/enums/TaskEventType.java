@@ -0,0 +1,9 @@
+package ru.andreyszdlv.taskmanager.enums;
+
+public enum TaskEventType {
+    TASK_CREATED,
+    TASK_UPDATED,
+    TASK_DELETED,
+    COMMENT_CREATED,
+    COMMENT_DELETED
+}
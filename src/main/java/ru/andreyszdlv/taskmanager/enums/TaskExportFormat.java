@@ -0,0 +1,6 @@
+package ru.andreyszdlv.taskmanager.enums;
+
+public enum TaskExportFormat {
+    NDJSON,
+    CSV
+}
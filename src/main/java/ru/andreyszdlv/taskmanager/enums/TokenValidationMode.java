@@ -0,0 +1,6 @@
+package ru.andreyszdlv.taskmanager.enums;
+
+public enum TokenValidationMode {
+    EXACT,
+    STATELESS
+}
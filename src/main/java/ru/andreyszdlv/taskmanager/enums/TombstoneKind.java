@@ -0,0 +1,7 @@
+package ru.andreyszdlv.taskmanager.enums;
+
+public enum TombstoneKind {
+    TASK_DELETED,
+    TASK_UNASSIGNED,
+    COMMENT_DELETED
+}
@@ -0,0 +1,7 @@
+package ru.andreyszdlv.taskmanager.exception;
+
+public class ChangesResyncRequiredException extends RuntimeException {
+    public ChangesResyncRequiredException(String message) {
+        super(message);
+    }
+}
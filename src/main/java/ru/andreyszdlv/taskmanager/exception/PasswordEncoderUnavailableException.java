@@ -0,0 +1,14 @@
+package ru.andreyszdlv.taskmanager.exception;
+
+import lombok.Getter;
+
+@Getter
+public class PasswordEncoderUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordEncoderUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -14,9 +14,8 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import ru.andreyszdlv.taskmanager.enums.Role;
 import ru.andreyszdlv.taskmanager.exception.InvalidTokenException;
-import ru.andreyszdlv.taskmanager.service.JwtExtractorService;
+import ru.andreyszdlv.taskmanager.security.JwtPrincipal;
 import ru.andreyszdlv.taskmanager.validation.JwtValidator;
 
 import java.io.IOException;
@@ -29,8 +28,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final MessageSource messageSource;
 
-    private final JwtExtractorService jwtExtractorService;
-
     private final JwtValidator jwtValidator;
 
     @Override
@@ -43,21 +40,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             if (token != null) {
-                jwtValidator.validateAccessToken(token);
-
-                String username = jwtExtractorService.extractUserEmail(token);
-                log.info("Extracted username: {}", username);
-
-                Role role = jwtExtractorService.extractRole(token);
-                log.info("Extracted role: {}", role);
+                JwtPrincipal principal = jwtValidator.validateAccessToken(token);
+                log.info("Verified principal: {}, role: {}", principal.email(), principal.role());
 
                 List<GrantedAuthority> authorities =
-                        List.of(new SimpleGrantedAuthority(role.name()));
+                        List.of(new SimpleGrantedAuthority(principal.role().name()));
 
-                Authentication auth = new UsernamePasswordAuthenticationToken(username, null, authorities);
+                Authentication auth = new UsernamePasswordAuthenticationToken(principal, null, authorities);
                 SecurityContextHolder.getContext().setAuthentication(auth);
 
-                log.info("User authenticated: {}", username);
+                log.info("User authenticated: {}", principal.email());
             }
 
             filterChain.doFilter(request, response);
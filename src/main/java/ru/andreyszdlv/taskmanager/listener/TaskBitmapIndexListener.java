@@ -0,0 +1,19 @@
+package ru.andreyszdlv.taskmanager.listener;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+import ru.andreyszdlv.taskmanager.service.TaskBitmapIndexService;
+
+@Component
+@RequiredArgsConstructor
+public class TaskBitmapIndexListener implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final TaskBitmapIndexService taskBitmapIndexService;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        taskBitmapIndexService.rebuild();
+    }
+}
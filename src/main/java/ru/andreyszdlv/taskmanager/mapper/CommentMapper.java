@@ -3,6 +3,7 @@ package ru.andreyszdlv.taskmanager.mapper;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
+import ru.andreyszdlv.taskmanager.dto.comment.CommentChangeDto;
 import ru.andreyszdlv.taskmanager.dto.comment.CommentDto;
 import ru.andreyszdlv.taskmanager.dto.comment.CreateCommentRequestDto;
 import ru.andreyszdlv.taskmanager.model.Comment;
@@ -15,6 +16,10 @@ public interface CommentMapper {
     @Mapping(target = "authorId", source = "author.id")
     CommentDto toCommentDto(Comment comment);
 
+    @Mapping(target = "authorId", source = "author.id")
+    @Mapping(target = "taskId", source = "task.id")
+    CommentChangeDto toCommentChangeDto(Comment comment);
+
     Comment toComment(CreateCommentRequestDto createCommentRequestDto);
 
     List<CommentDto> toCommentDtos(List<Comment> comments);
@@ -5,6 +5,7 @@ import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 import ru.andreyszdlv.taskmanager.dto.task.*;
 import ru.andreyszdlv.taskmanager.model.Task;
+import ru.andreyszdlv.taskmanager.model.UpdatedTask;
 
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING, uses = CommentMapper.class)
 public interface TaskMapper {
@@ -13,6 +14,19 @@ public interface TaskMapper {
 
     @Mapping(target = "assigneeId", source = "assignee.id")
     @Mapping(target = "authorId", source = "author.id")
-    @Mapping(target = "comments", source = "comments")
+    @Mapping(target = "comments", ignore = true)
     TaskDto toTaskDto(Task task);
+
+    @Mapping(target = "assigneeId", source = "assignee.id")
+    @Mapping(target = "authorId", source = "author.id")
+    @Mapping(target = "comments", source = "comments")
+    TaskDto toTaskDtoWithComments(Task task);
+
+    @Mapping(target = "id", source = "change.current.id")
+    @Mapping(target = "status", source = "change.current.status")
+    @Mapping(target = "priority", source = "change.current.priority")
+    @Mapping(target = "authorId", source = "change.current.authorId")
+    @Mapping(target = "assigneeId", source = "change.current.assigneeId")
+    @Mapping(target = "comments", ignore = true)
+    TaskDto toUpdatedTaskDto(UpdatedTask task);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package ru.andreyszdlv.taskmanager.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import ru.andreyszdlv.taskmanager.dto.task.TombstoneDto;
+import ru.andreyszdlv.taskmanager.model.Tombstone;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface TombstoneMapper {
+
+    @Mapping(target = "id", source = "entityId")
+    TombstoneDto toTombstoneDto(Tombstone tombstone);
+}
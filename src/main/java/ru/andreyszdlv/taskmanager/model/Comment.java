@@ -3,6 +3,8 @@ package ru.andreyszdlv.taskmanager.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDateTime;
 
@@ -22,11 +24,17 @@ public class Comment {
     @Column(name = "c_created_at", nullable = false, columnDefinition = "TIMESTAMP(0)", updatable = false)
     private LocalDateTime createdAt;
 
-    @ManyToOne
+    // Cleared by trg_comments_change_seq and set by sequence_changes(), see
+    // Task.changeSeq.
+    @Column(name = "c_change_seq", insertable = false, updatable = false)
+    private Long changeSeq;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "c_task_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Task task;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "c_author_id", nullable = false)
     private User author;
 }
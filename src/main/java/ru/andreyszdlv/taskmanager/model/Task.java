@@ -2,19 +2,26 @@ package ru.andreyszdlv.taskmanager.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Formula;
 import ru.andreyszdlv.taskmanager.enums.TaskPriority;
 import ru.andreyszdlv.taskmanager.enums.TaskStatus;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+// Single-field PATCH endpoints change one column, the UPDATE only sets
+// the columns that are actually dirty.
 @Entity
 @Data
+@DynamicUpdate
 @Table(name = "t_tasks")
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "t_tasks_seq")
+    @SequenceGenerator(name = "t_tasks_seq", sequenceName = "t_tasks_seq", allocationSize = 50)
     @Column(name = "c_id")
     private Long id;
 
@@ -35,14 +42,26 @@ public class Task {
     @Column(name = "c_created_at", nullable = false, columnDefinition = "TIMESTAMP(0)", updatable = false)
     private LocalDateTime createdAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "c_author_id", nullable = false, updatable = false)
     private User author;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "c_assignee_id")
     private User assignee;
 
-    @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true)
+    // Cleared by trg_tasks_change_seq on every insert and update and set
+    // again by sequence_changes() once the write is committed, the value
+    // held by a changed entity is stale until it is read again.
+    @Column(name = "c_change_seq", insertable = false, updatable = false)
+    private Long changeSeq;
+
+    @Formula("(select count(*) from t_comments c where c.c_task_id = c_id)")
+    private long commentCount;
+
+    // Comments are deleted by the database together with the task, see
+    // Comment.task, so removing a task never loads them.
+    @BatchSize(size = 100)
+    @OneToMany(mappedBy = "task")
     private List<Comment> comments;
 }
@@ -0,0 +1,52 @@
+package ru.andreyszdlv.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import ru.andreyszdlv.taskmanager.enums.TaskEventType;
+import ru.andreyszdlv.taskmanager.enums.TaskPriority;
+import ru.andreyszdlv.taskmanager.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+
+// A change of a task or of its comments waiting in the outbox. Every event
+// carries the assignee of its task, task events also carry the status and
+// priority after the change, so consumers can route them without reading
+// the task back. Comment events carry the comment id, events of a task
+// that was reassigned also carry its previous assignee.
+@Data
+@Entity
+@Table(name = "t_task_events")
+public class TaskEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "c_id")
+    private Long id;
+
+    @Column(name = "c_task_id", nullable = false)
+    private long taskId;
+
+    @Column(name = "c_type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private TaskEventType type;
+
+    @Column(name = "c_comment_id")
+    private Long commentId;
+
+    @Column(name = "c_status")
+    @Enumerated(EnumType.STRING)
+    private TaskStatus status;
+
+    @Column(name = "c_priority")
+    @Enumerated(EnumType.STRING)
+    private TaskPriority priority;
+
+    @Column(name = "c_assignee_id")
+    private Long assigneeId;
+
+    @Column(name = "c_previous_assignee_id")
+    private Long previousAssigneeId;
+
+    @Column(name = "c_created_at", nullable = false, columnDefinition = "TIMESTAMP(3)", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,9 @@
+package ru.andreyszdlv.taskmanager.model;
+
+// The filter columns of a task as they were right before a write and as the
+// write left them, both returned by the statement itself.
+public record TaskFilterChange(
+        TaskFilterValues previous,
+        TaskFilterValues current
+) {
+}
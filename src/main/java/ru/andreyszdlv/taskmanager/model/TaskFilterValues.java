@@ -0,0 +1,25 @@
+package ru.andreyszdlv.taskmanager.model;
+
+import ru.andreyszdlv.taskmanager.enums.TaskPriority;
+import ru.andreyszdlv.taskmanager.enums.TaskStatus;
+
+// The columns of a task that decide who may access it and which filtered
+// task lists it appears in, read without loading the task itself.
+public record TaskFilterValues(
+        long id,
+        TaskStatus status,
+        TaskPriority priority,
+        long authorId,
+        Long assigneeId
+) {
+
+    public static TaskFilterValues of(Task task) {
+        return new TaskFilterValues(
+                task.getId(),
+                task.getStatus(),
+                task.getPriority(),
+                task.getAuthor().getId(),
+                task.getAssignee() == null ? null : task.getAssignee().getId()
+        );
+    }
+}
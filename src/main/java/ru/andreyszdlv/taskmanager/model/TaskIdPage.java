@@ -0,0 +1,11 @@
+package ru.andreyszdlv.taskmanager.model;
+
+import java.util.List;
+
+// Ids of one page of a filtered task list, in ascending order, together
+// with the total number of tasks matching the filter.
+public record TaskIdPage(
+        List<Long> ids,
+        long total
+) {
+}
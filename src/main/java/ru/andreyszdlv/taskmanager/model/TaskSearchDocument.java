@@ -0,0 +1,25 @@
+package ru.andreyszdlv.taskmanager.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import org.hibernate.annotations.Immutable;
+
+// Read-only view of the search column of t_tasks, maintained by database
+// triggers. Kept out of Task so the document is never loaded with a task,
+// it is only referenced from search predicates and ranking.
+@Entity
+@Getter
+@Immutable
+@Table(name = "t_tasks")
+public class TaskSearchDocument {
+
+    @Id
+    @Column(name = "c_id")
+    private Long id;
+
+    @Column(name = "c_search_vector", columnDefinition = "tsvector")
+    private String vector;
+}
@@ -0,0 +1,7 @@
+package ru.andreyszdlv.taskmanager.model;
+
+public record TaskSearchHit(
+        Task task,
+        float rank
+) {
+}
@@ -0,0 +1,8 @@
+package ru.andreyszdlv.taskmanager.model;
+
+public interface TaskTitleView {
+
+    Long getId();
+
+    String getTitle();
+}
@@ -0,0 +1,16 @@
+package ru.andreyszdlv.taskmanager.model;
+
+import ru.andreyszdlv.taskmanager.enums.TaskPriority;
+import ru.andreyszdlv.taskmanager.enums.TaskStatus;
+
+// Conditions a task must still meet when a set-based update reaches its row.
+// Null fields are not checked, accessibleAssigneeId is null when the current
+// user may access every task.
+public record TaskUpdateFilter(
+        TaskStatus status,
+        TaskPriority priority,
+        Long authorId,
+        Long assigneeId,
+        Long accessibleAssigneeId
+) {
+}
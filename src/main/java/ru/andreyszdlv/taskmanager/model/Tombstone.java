@@ -0,0 +1,41 @@
+package ru.andreyszdlv.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+import ru.andreyszdlv.taskmanager.enums.TombstoneKind;
+
+import java.time.LocalDateTime;
+
+// Written only by the delete and unassign triggers of V8, read by the delta
+// sync. The assignee is the one the task had when the row was removed, the
+// sequence is set by sequence_changes() after the delete commits.
+@Data
+@Entity
+@Immutable
+@Table(name = "t_tombstones")
+public class Tombstone {
+
+    @Id
+    @Column(name = "c_id")
+    private Long id;
+
+    @Column(name = "c_change_seq")
+    private Long changeSeq;
+
+    @Column(name = "c_kind", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private TombstoneKind kind;
+
+    @Column(name = "c_entity_id", nullable = false)
+    private long entityId;
+
+    @Column(name = "c_task_id", nullable = false)
+    private long taskId;
+
+    @Column(name = "c_assignee_id")
+    private Long assigneeId;
+
+    @Column(name = "c_deleted_at", nullable = false, columnDefinition = "TIMESTAMP(3)")
+    private LocalDateTime deletedAt;
+}
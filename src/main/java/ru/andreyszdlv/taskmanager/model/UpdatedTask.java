@@ -0,0 +1,14 @@
+package ru.andreyszdlv.taskmanager.model;
+
+import java.time.LocalDateTime;
+
+// A single task returned by the statement that updated it, with the columns
+// its response needs, so the task itself is never loaded.
+public record UpdatedTask(
+        TaskFilterChange change,
+        String title,
+        String description,
+        LocalDateTime createdAt,
+        long commentCount
+) {
+}
@@ -1,7 +1,47 @@
 package ru.andreyszdlv.taskmanager.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.andreyszdlv.taskmanager.model.Comment;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    List<Comment> findByTaskIdOrderByCreatedAtAscIdAsc(long taskId, Pageable pageable);
+
+    @Query("""
+            select c from Comment c
+            where c.task.id = :taskId
+              and (c.createdAt > :createdAt or (c.createdAt = :createdAt and c.id > :id))
+            order by c.createdAt, c.id
+            """)
+    List<Comment> findByTaskIdAfter(@Param("taskId") long taskId,
+                                    @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") long id,
+                                    Pageable pageable);
+
+    @Query("""
+            select c from Comment c
+            where c.changeSeq > :since and c.changeSeq <= :until
+            order by c.changeSeq
+            """)
+    List<Comment> findChangedBetween(@Param("since") long since,
+                                     @Param("until") long until,
+                                     Pageable pageable);
+
+    // Comments of a task reassigned to the user are numbered again right
+    // after the task, so they fall into the range of the sync that brings it.
+    @Query("""
+            select c from Comment c
+            where c.task.assignee.id = :assigneeId and c.changeSeq > :since and c.changeSeq <= :until
+            order by c.changeSeq
+            """)
+    List<Comment> findChangedBetweenForAssignee(@Param("since") long since,
+                                                @Param("until") long until,
+                                                @Param("assigneeId") long assigneeId,
+                                                Pageable pageable);
 }
@@ -0,0 +1,36 @@
+package ru.andreyszdlv.taskmanager.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import ru.andreyszdlv.taskmanager.model.Task;
+import ru.andreyszdlv.taskmanager.model.TaskFilterChange;
+import ru.andreyszdlv.taskmanager.model.TaskFilterValues;
+import ru.andreyszdlv.taskmanager.model.TaskSearchHit;
+import ru.andreyszdlv.taskmanager.model.TaskUpdateFilter;
+import ru.andreyszdlv.taskmanager.model.UpdatedTask;
+import ru.andreyszdlv.taskmanager.util.SearchCursor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface TaskCriteriaRepository {
+
+    Stream<Task> streamAll(Specification<Task> specification, int fetchSize);
+
+    Stream<TaskFilterValues> streamAllFilterValues(int fetchSize);
+
+    Slice<Task> findSlice(Specification<Task> specification, Pageable pageable);
+
+    List<TaskSearchHit> search(Specification<Task> specification, String text, SearchCursor after, int limit);
+
+    List<Long> findIdsAfter(Specification<Task> specification, long afterId, int limit);
+
+    List<TaskFilterChange> updateByIdIn(Collection<Long> ids, TaskUpdateFilter filter, String attribute, Object value);
+
+    Optional<UpdatedTask> updateById(long id, Long accessibleAssigneeId, String attribute, Object value);
+
+    int deleteByIdIn(Collection<Long> ids, Specification<Task> specification);
+}
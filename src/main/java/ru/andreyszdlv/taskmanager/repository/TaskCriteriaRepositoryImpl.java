@@ -0,0 +1,326 @@
+package ru.andreyszdlv.taskmanager.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import ru.andreyszdlv.taskmanager.enums.TaskPriority;
+import ru.andreyszdlv.taskmanager.enums.TaskStatus;
+import ru.andreyszdlv.taskmanager.model.Task;
+import ru.andreyszdlv.taskmanager.model.TaskFilterChange;
+import ru.andreyszdlv.taskmanager.model.TaskFilterValues;
+import ru.andreyszdlv.taskmanager.model.TaskSearchHit;
+import ru.andreyszdlv.taskmanager.model.TaskUpdateFilter;
+import ru.andreyszdlv.taskmanager.model.UpdatedTask;
+import ru.andreyszdlv.taskmanager.model.User;
+import ru.andreyszdlv.taskmanager.util.SearchCursor;
+import ru.andreyszdlv.taskmanager.util.TaskSpecifications;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public class TaskCriteriaRepositoryImpl implements TaskCriteriaRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // The Postgres driver only reads through a server-side cursor, fetchSize
+    // rows at a time, inside a transaction, so the stream must be consumed
+    // and closed before the surrounding transaction ends.
+    @Override
+    public Stream<Task> streamAll(Specification<Task> specification, int fetchSize) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Task> query = criteriaBuilder.createQuery(Task.class);
+        Root<Task> root = query.from(Task.class);
+
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if(predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(criteriaBuilder.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    // Same as streamAll, but only the filter columns of every task are read,
+    // without loading the tasks themselves.
+    @Override
+    public Stream<TaskFilterValues> streamAllFilterValues(int fetchSize) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskFilterValues> query = criteriaBuilder.createQuery(TaskFilterValues.class);
+        Root<Task> root = query.from(Task.class);
+        Join<Task, User> assignee = root.join("assignee", JoinType.LEFT);
+
+        query.select(criteriaBuilder.construct(
+                TaskFilterValues.class,
+                root.get("id"),
+                root.get("status"),
+                root.get("priority"),
+                root.get("author").get("id"),
+                assignee.get("id")
+        ));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    // The page with one extra row instead of a count query: the extra row
+    // only tells whether a next page exists and is not returned.
+    @Override
+    public Slice<Task> findSlice(Specification<Task> specification, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Task> query = criteriaBuilder.createQuery(Task.class);
+        Root<Task> root = query.from(Task.class);
+
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if(predicate != null) {
+            query.where(predicate);
+        }
+        if(pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+        }
+
+        List<Task> tasks = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = tasks.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? tasks.subList(0, pageable.getPageSize()) : tasks, pageable, hasNext);
+    }
+
+    // Ranked keyset page of tasks matching the text: ordered by rank
+    // descending, ties broken by id, continued strictly after the cursor.
+    @Override
+    public List<TaskSearchHit> search(Specification<Task> specification, String text, SearchCursor after, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+
+        Predicate predicate = specification.and(TaskSpecifications.matchesText(text))
+                .toPredicate(root, query, criteriaBuilder);
+        Expression<Float> rank = TaskSpecifications.textRank(query, criteriaBuilder, text);
+        if(after != null) {
+            predicate = criteriaBuilder.and(predicate, criteriaBuilder.or(
+                    criteriaBuilder.lessThan(rank, after.rank()),
+                    criteriaBuilder.and(
+                            criteriaBuilder.equal(rank, after.rank()),
+                            criteriaBuilder.greaterThan(root.get("id"), after.id())
+                    )
+            ));
+        }
+        query.multiselect(root, rank)
+                .where(predicate)
+                .orderBy(criteriaBuilder.desc(rank), criteriaBuilder.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(tuple -> new TaskSearchHit(tuple.get(0, Task.class), tuple.get(1, Float.class)))
+                .toList();
+    }
+
+    // Only ids are selected, ordered by the primary key, so callers can walk
+    // an arbitrary filter in bounded chunks without offsets.
+    @Override
+    public List<Long> findIdsAfter(Specification<Task> specification, long afterId, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Task> root = query.from(Task.class);
+
+        Predicate predicate = criteriaBuilder.greaterThan(root.get("id"), afterId);
+        Predicate filter = specification.toPredicate(root, query, criteriaBuilder);
+        if(filter != null) {
+            predicate = criteriaBuilder.and(predicate, filter);
+        }
+        query.select(root.get("id"))
+                .where(predicate)
+                .orderBy(criteriaBuilder.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Entity attributes a set-based update may change, by their columns.
+    private static final Map<String, String> UPDATABLE_COLUMNS = Map.of(
+            "status", "c_status",
+            "priority", "c_priority",
+            "assignee", "c_assignee_id"
+    );
+
+    // A single UPDATE for the given ids that repeats the filter in its own
+    // WHERE, so rows that stopped matching after they were selected are left
+    // alone and are not returned. The subquery locks the rows before they are
+    // updated, which is what lets RETURNING report the values every row had
+    // right before this update next to the values it was left with.
+    @Override
+    public List<TaskFilterChange> updateByIdIn(Collection<Long> ids, TaskUpdateFilter filter, String attribute, Object value) {
+        return this.updateReturning(ids, filter, attribute, value, false)
+                .stream()
+                .map(TaskCriteriaRepositoryImpl::toFilterChange)
+                .toList();
+    }
+
+    // Same statement for a single task, also returning the columns its
+    // response needs. Empty when the task is missing or not accessible.
+    @Override
+    public Optional<UpdatedTask> updateById(long id, Long accessibleAssigneeId, String attribute, Object value) {
+        return this.updateReturning(
+                        List.of(id),
+                        new TaskUpdateFilter(null, null, null, null, accessibleAssigneeId),
+                        attribute,
+                        value,
+                        true
+                )
+                .stream()
+                .findFirst()
+                .map(row -> new UpdatedTask(
+                        toFilterChange(row),
+                        (String) row[8],
+                        (String) row[9],
+                        (LocalDateTime) row[10],
+                        (Long) row[11]
+                ));
+    }
+
+    private List<Object[]> updateReturning(Collection<Long> ids,
+                                           TaskUpdateFilter filter,
+                                           String attribute,
+                                           Object value,
+                                           boolean withDetails
+    ) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder where = new StringBuilder("t.c_id = p.c_id");
+        if(filter.status() != null) {
+            where.append(" AND t.c_status = :status");
+            parameters.put("status", filter.status().name());
+        }
+        if(filter.priority() != null) {
+            where.append(" AND t.c_priority = :priority");
+            parameters.put("priority", filter.priority().name());
+        }
+        if(filter.authorId() != null) {
+            where.append(" AND t.c_author_id = :authorId");
+            parameters.put("authorId", filter.authorId());
+        }
+        if(filter.assigneeId() != null) {
+            where.append(" AND t.c_assignee_id = :assigneeId");
+            parameters.put("assigneeId", filter.assigneeId());
+        }
+        if(filter.accessibleAssigneeId() != null) {
+            where.append(" AND t.c_assignee_id = :accessibleAssigneeId");
+            parameters.put("accessibleAssigneeId", filter.accessibleAssigneeId());
+        }
+        parameters.put("ids", ids);
+        parameters.put("value", value instanceof Enum<?> constant ? constant.name() : value);
+
+        String details = withDetails
+                ? """
+                  , t.c_title AS title, t.c_description AS description, t.c_created_at AS created_at,
+                  (SELECT count(*) FROM t_comments c WHERE c.c_task_id = t.c_id) AS comment_count"""
+                : "";
+        NativeQuery<Object[]> update = entityManager.createNativeQuery("""
+                        UPDATE t_tasks t SET %s = :value
+                        FROM (SELECT c_id, c_status, c_priority, c_assignee_id
+                              FROM t_tasks
+                              WHERE c_id IN (:ids)
+                              ORDER BY c_id
+                              FOR UPDATE) p
+                        WHERE %s
+                        RETURNING t.c_id AS id, t.c_status AS status, t.c_priority AS priority,
+                                  t.c_author_id AS author_id, t.c_assignee_id AS assignee_id,
+                                  p.c_status AS previous_status, p.c_priority AS previous_priority,
+                                  p.c_assignee_id AS previous_assignee_id%s
+                        """.formatted(UPDATABLE_COLUMNS.get(attribute), where, details))
+                .unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("status", String.class)
+                .addScalar("priority", String.class)
+                .addScalar("author_id", Long.class)
+                .addScalar("assignee_id", Long.class)
+                .addScalar("previous_status", String.class)
+                .addScalar("previous_priority", String.class)
+                .addScalar("previous_assignee_id", Long.class);
+        if(withDetails) {
+            update.addScalar("title", String.class)
+                    .addScalar("description", String.class)
+                    .addScalar("created_at", LocalDateTime.class)
+                    .addScalar("comment_count", Long.class);
+        }
+        parameters.forEach(update::setParameter);
+
+        entityManager.flush();
+        List<Object[]> rows = update.getResultList();
+        entityManager.clear();
+        return rows;
+    }
+
+    private static TaskFilterChange toFilterChange(Object[] row) {
+        return new TaskFilterChange(
+                new TaskFilterValues(
+                        (Long) row[0],
+                        TaskStatus.valueOf((String) row[5]),
+                        TaskPriority.valueOf((String) row[6]),
+                        (Long) row[3],
+                        (Long) row[7]
+                ),
+                new TaskFilterValues(
+                        (Long) row[0],
+                        TaskStatus.valueOf((String) row[1]),
+                        TaskPriority.valueOf((String) row[2]),
+                        (Long) row[3],
+                        (Long) row[4]
+                )
+        );
+    }
+
+    // A single DELETE for the given ids that repeats the specification in its
+    // own WHERE, so rows that stopped matching after they were selected are
+    // left alone. Task specifications only build predicates from the root and
+    // never use the query they are given, which is why none is passed here.
+    // Comments of the deleted tasks are removed by the database in the same
+    // statement.
+    @Override
+    public int deleteByIdIn(Collection<Long> ids, Specification<Task> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaDelete<Task> delete = criteriaBuilder.createCriteriaDelete(Task.class);
+        Root<Task> root = delete.from(Task.class);
+
+        Predicate predicate = root.get("id").in(ids);
+        Predicate filter = specification.toPredicate(root, null, criteriaBuilder);
+        if(filter != null) {
+            predicate = criteriaBuilder.and(predicate, filter);
+        }
+        delete.where(predicate);
+
+        entityManager.flush();
+        int deleted = entityManager.createQuery(delete).executeUpdate();
+        entityManager.clear();
+        return deleted;
+    }
+}
@@ -0,0 +1,74 @@
+package ru.andreyszdlv.taskmanager.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.andreyszdlv.taskmanager.model.TaskEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TaskEventRepository extends JpaRepository<TaskEvent, Long> {
+
+    List<TaskEvent> findAllByOrderByIdAsc(Pageable pageable);
+
+    Optional<TaskEvent> findFirstByOrderByIdAsc();
+
+    // One event per task of a bulk chunk, built from the rows themselves in
+    // a single statement, in primary key order.
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO t_task_events (c_task_id, c_type, c_status, c_priority, c_assignee_id, c_created_at)
+            SELECT c_id, :type, c_status, c_priority, c_assignee_id, :createdAt
+            FROM t_tasks
+            WHERE c_id IN (:ids)
+            ORDER BY c_id
+            """, nativeQuery = true)
+    int insertTaskEvents(@Param("ids") Collection<Long> ids,
+                         @Param("type") String type,
+                         @Param("createdAt") LocalDateTime createdAt);
+
+    // Same for a bulk update chunk, with the assignees the rows had before the
+    // update next to their ids. Only a reassigned task gets one.
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO t_task_events (c_task_id, c_type, c_status, c_priority, c_assignee_id, c_previous_assignee_id, c_created_at)
+            SELECT t.c_id, :type, t.c_status, t.c_priority, t.c_assignee_id,
+                   CASE WHEN ids.previous_assignee_id IS DISTINCT FROM t.c_assignee_id THEN ids.previous_assignee_id END,
+                   :createdAt
+            FROM unnest(:ids, :previousAssigneeIds) AS ids(id, previous_assignee_id)
+            JOIN t_tasks t ON t.c_id = ids.id
+            ORDER BY t.c_id
+            """, nativeQuery = true)
+    int insertUpdatedTaskEvents(@Param("ids") Long[] ids,
+                                @Param("previousAssigneeIds") Long[] previousAssigneeIds,
+                                @Param("type") String type,
+                                @Param("createdAt") LocalDateTime createdAt);
+
+    // Run after a bulk delete in the same transaction: only the ids whose
+    // rows are gone get an event, tasks left alone by the filter do not.
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO t_task_events (c_task_id, c_type, c_assignee_id, c_created_at)
+            SELECT ids.id, 'TASK_DELETED', ids.assignee_id, :createdAt
+            FROM unnest(:ids, :assigneeIds) AS ids(id, assignee_id)
+            WHERE NOT EXISTS (SELECT 1 FROM t_tasks t WHERE t.c_id = ids.id)
+            ORDER BY ids.id
+            """, nativeQuery = true)
+    int insertDeletedTaskEvents(@Param("ids") Long[] ids,
+                                @Param("assigneeIds") Long[] assigneeIds,
+                                @Param("createdAt") LocalDateTime createdAt);
+
+    // Held until the end of the relay transaction, so only one instance
+    // publishes at a time and events of a task never overtake each other.
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryLockForRelay(@Param("key") long key);
+
+    @Modifying
+    @Query("delete from TaskEvent e where e.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -1,8 +1,72 @@
 package ru.andreyszdlv.taskmanager.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.andreyszdlv.taskmanager.model.Task;
+import ru.andreyszdlv.taskmanager.model.TaskFilterValues;
+import ru.andreyszdlv.taskmanager.model.TaskTitleView;
 
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskCriteriaRepository {
+
+    @EntityGraph(attributePaths = "comments")
+    Optional<Task> findWithCommentsById(long id);
+
+    @Query("""
+            select new ru.andreyszdlv.taskmanager.model.TaskFilterValues(t.id, t.status, t.priority, t.author.id, a.id)
+            from Task t
+            left join t.assignee a
+            where t.id = :id
+            """)
+    Optional<TaskFilterValues> findFilterValuesById(@Param("id") long id);
+
+    @Query("""
+            select new ru.andreyszdlv.taskmanager.model.TaskFilterValues(t.id, t.status, t.priority, t.author.id, a.id)
+            from Task t
+            left join t.assignee a
+            where t.id in :ids
+            """)
+    List<TaskFilterValues> findFilterValuesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Prefix matches come first, then fuzzy matches by word similarity, so a
+    // typo still finds the task. Both branches are answered by
+    // idx_tasks_title_trgm, the pattern must have LIKE wildcards escaped.
+    @Query(value = """
+            SELECT c_id AS id, c_title AS title
+            FROM t_tasks
+            WHERE c_title ILIKE :pattern OR :prefix <% c_title
+            ORDER BY c_title ILIKE :pattern DESC, word_similarity(:prefix, c_title) DESC, c_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<TaskTitleView> suggestByTitle(@Param("prefix") String prefix,
+                                       @Param("pattern") String pattern,
+                                       @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT c_id AS id, c_title AS title
+            FROM t_tasks
+            WHERE c_assignee_id = :assigneeId AND (c_title ILIKE :pattern OR :prefix <% c_title)
+            ORDER BY c_title ILIKE :pattern DESC, word_similarity(:prefix, c_title) DESC, c_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<TaskTitleView> suggestByTitleForAssignee(@Param("prefix") String prefix,
+                                                  @Param("pattern") String pattern,
+                                                  @Param("assigneeId") long assigneeId,
+                                                  @Param("limit") int limit);
+
+    // reltuples is -1 until the table is analyzed for the first time.
+    @Query(value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = to_regclass('t_tasks')", nativeQuery = true)
+    long estimateCountFromStatistics();
+
+    // Comments go with the task through ON DELETE CASCADE.
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Task t where t.id = :id")
+    int deleteTaskById(@Param("id") long id);
 }
@@ -0,0 +1,49 @@
+package ru.andreyszdlv.taskmanager.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ru.andreyszdlv.taskmanager.model.Tombstone;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+    // Admins see every task, a task that only changed its assignee is
+    // still there for them.
+    @Query("""
+            select t from Tombstone t
+            where t.changeSeq > :since and t.changeSeq <= :until
+              and t.kind <> ru.andreyszdlv.taskmanager.enums.TombstoneKind.TASK_UNASSIGNED
+            order by t.changeSeq
+            """)
+    List<Tombstone> findDeletedBetween(@Param("since") long since,
+                                       @Param("until") long until,
+                                       Pageable pageable);
+
+    @Query("""
+            select t from Tombstone t
+            where t.assigneeId = :assigneeId and t.changeSeq > :since and t.changeSeq <= :until
+            order by t.changeSeq
+            """)
+    List<Tombstone> findDeletedBetweenForAssignee(@Param("since") long since,
+                                                  @Param("until") long until,
+                                                  @Param("assigneeId") long assigneeId,
+                                                  Pageable pageable);
+
+    // Numbers the committed changes and returns the new watermark. It writes,
+    // so it must not run in a read-only transaction.
+    @Transactional
+    @Query(value = "SELECT sequence_changes()", nativeQuery = true)
+    long sequenceChanges();
+
+    @Query(value = "SELECT c_horizon FROM t_change_state WHERE c_id = 1", nativeQuery = true)
+    long findHorizon();
+
+    @Transactional
+    @Query(value = "SELECT purge_tombstones(:deletedBefore)", nativeQuery = true)
+    int purgeDeletedBefore(@Param("deletedBefore") LocalDateTime deletedBefore);
+}
@@ -0,0 +1,102 @@
+package ru.andreyszdlv.taskmanager.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import ru.andreyszdlv.taskmanager.exception.PasswordEncoderUnavailableException;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+@Slf4j
+public class BulkheadPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final ExecutorService executor;
+
+    private final long retryAfterSeconds;
+
+    private final Timer encodeTimer;
+
+    private final Timer matchesTimer;
+
+    private final Counter rejectedCounter;
+
+    public BulkheadPasswordEncoder(
+            PasswordEncoder passwordEncoder,
+            ExecutorService executor,
+            MeterRegistry meterRegistry,
+            long retryAfterSeconds
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        this.encodeTimer = Timer.builder("password_encoder.hash.latency")
+                .description("Time spent hashing or verifying a password on the bulkhead executor")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password_encoder.hash.latency")
+                .description("Time spent hashing or verifying a password on the bulkhead executor")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password_encoder.bulkhead.rejected")
+                .description("Password operations rejected because the bulkhead queue was full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(Timer timer, Supplier<T> operation) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.record(operation));
+        }
+        catch (RejectedExecutionException ex) {
+            rejectedCounter.increment();
+            log.error("Password encoder bulkhead is full, rejecting request");
+            throw new PasswordEncoderUnavailableException("error.503.password_encoder.unavailable", retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        }
+        catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while waiting for password encoder");
+            throw new PasswordEncoderUnavailableException("error.503.password_encoder.unavailable", retryAfterSeconds);
+        }
+        catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package ru.andreyszdlv.taskmanager.security;
+
+import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.enums.TokenType;
+
+import java.security.Principal;
+import java.time.Instant;
+
+public record JwtPrincipal(
+        Long userId,
+        String email,
+        Role role,
+        String tokenId,
+        TokenType type,
+        Instant issuedAt,
+        Instant expiresAt
+) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -0,0 +1,4 @@
+package ru.andreyszdlv.taskmanager.security;
+
+public record TokenPair(String accessToken, String refreshToken) {
+}
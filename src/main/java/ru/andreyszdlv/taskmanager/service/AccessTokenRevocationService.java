@@ -0,0 +1,172 @@
+package ru.andreyszdlv.taskmanager.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import ru.andreyszdlv.taskmanager.enums.TokenValidationMode;
+import ru.andreyszdlv.taskmanager.exception.InvalidTokenException;
+import ru.andreyszdlv.taskmanager.security.JwtPrincipal;
+import ru.andreyszdlv.taskmanager.util.BloomFilter;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class AccessTokenRevocationService {
+
+    private static final String TOKEN_ID_FIELD = "tokenId";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final RedisConnectionFactory redisConnectionFactory;
+
+    private final JwtExtractorService jwtExtractorService;
+
+    private final TokenValidationMode validationMode;
+
+    private final String streamKey;
+
+    private final long streamMaxLength;
+
+    private final long expectedInsertions;
+
+    private final double falsePositiveProbability;
+
+    private final long rotationPeriodMillis = JwtGenerateService.ACCESS_TOKEN_TTL.toMillis();
+
+    private volatile BloomFilter currentGeneration;
+
+    private volatile BloomFilter previousGeneration;
+
+    private volatile long nextRotationAt;
+
+    private StreamMessageListenerContainer<String, MapRecord<String, String, String>> listenerContainer;
+
+    public AccessTokenRevocationService(
+            StringRedisTemplate stringRedisTemplate,
+            RedisConnectionFactory redisConnectionFactory,
+            JwtExtractorService jwtExtractorService,
+            @Value("${jwt.validationMode}") TokenValidationMode validationMode,
+            @Value("${spring.redis.revokedAccessTokenStream}") String streamKey,
+            @Value("${jwt.revocation.streamMaxLength}") long streamMaxLength,
+            @Value("${jwt.revocation.expectedInsertions}") long expectedInsertions,
+            @Value("${jwt.revocation.falsePositiveProbability}") double falsePositiveProbability
+    ) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.jwtExtractorService = jwtExtractorService;
+        this.validationMode = validationMode;
+        this.streamKey = streamKey;
+        this.streamMaxLength = streamMaxLength;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+
+        this.currentGeneration = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        this.previousGeneration = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        this.nextRotationAt = System.currentTimeMillis() + rotationPeriodMillis;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        String replayFrom = (System.currentTimeMillis() - 2 * rotationPeriodMillis) + "-0";
+        log.info("Subscribing to revoked access tokens stream {} from id {}", streamKey, replayFrom);
+
+        listenerContainer = StreamMessageListenerContainer.create(
+                redisConnectionFactory,
+                StreamMessageListenerContainer.StreamMessageListenerContainerOptions
+                        .builder()
+                        .pollTimeout(Duration.ofSeconds(1))
+                        .build()
+        );
+        listenerContainer.register(
+                StreamMessageListenerContainer.StreamReadRequest
+                        .builder(StreamOffset.create(streamKey, ReadOffset.from(replayFrom)))
+                        .cancelOnError(ex -> false)
+                        .errorHandler(ex -> log.error("Reading revoked access tokens stream failed", ex))
+                        .build(),
+                record -> addToFilter(record.getValue().get(TOKEN_ID_FIELD))
+        );
+        listenerContainer.start();
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (listenerContainer != null) {
+            listenerContainer.stop();
+        }
+    }
+
+    public boolean isEnabled() {
+        return validationMode == TokenValidationMode.STATELESS;
+    }
+
+    // Refresh token ids are published too. They are already rejected by
+    // their typ claim, the filter only keeps them out while it still can.
+    public void revoke(String token) {
+        if (!isEnabled() || token == null) {
+            return;
+        }
+
+        JwtPrincipal principal;
+        try {
+            principal = jwtExtractorService.extractPrincipal(token);
+        }
+        catch (InvalidTokenException ex) {
+            log.info("Revoked token already expired, nothing to publish");
+            return;
+        }
+
+        addToFilter(principal.tokenId());
+
+        stringRedisTemplate.opsForStream().add(
+                StreamRecords.string(Map.of(TOKEN_ID_FIELD, principal.tokenId())).withStreamKey(streamKey)
+        );
+        stringRedisTemplate.opsForStream().trim(streamKey, streamMaxLength, true);
+        log.info("Token revocation published for userEmail: {}, type: {}", principal.email(), principal.type());
+    }
+
+    public boolean mightBeRevoked(String tokenId) {
+        rotateIfDue();
+        return currentGeneration.mightContain(tokenId) || previousGeneration.mightContain(tokenId);
+    }
+
+    private void addToFilter(String tokenId) {
+        if (tokenId == null) {
+            return;
+        }
+        rotateIfDue();
+        currentGeneration.put(tokenId);
+    }
+
+    private void rotateIfDue() {
+        if (System.currentTimeMillis() < nextRotationAt) {
+            return;
+        }
+
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            if (now < nextRotationAt) {
+                return;
+            }
+
+            previousGeneration = currentGeneration;
+            currentGeneration = new BloomFilter(expectedInsertions, falsePositiveProbability);
+            nextRotationAt = now + rotationPeriodMillis;
+            log.info("Revoked access tokens filter rotated");
+        }
+    }
+}
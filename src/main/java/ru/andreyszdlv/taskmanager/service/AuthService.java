@@ -15,6 +15,8 @@ import ru.andreyszdlv.taskmanager.exception.UserUnauthenticatedException;
 import ru.andreyszdlv.taskmanager.mapper.UserMapper;
 import ru.andreyszdlv.taskmanager.model.User;
 import ru.andreyszdlv.taskmanager.repository.UserRepository;
+import ru.andreyszdlv.taskmanager.security.JwtPrincipal;
+import ru.andreyszdlv.taskmanager.security.TokenPair;
 import ru.andreyszdlv.taskmanager.validation.JwtValidator;
 
 @Service
@@ -32,8 +34,6 @@ public class AuthService {
 
     private final AuthenticationManager authenticationManager;
 
-    private final JwtExtractorService jwtExtractorService;
-
     private final JwtStorageService jwtStorageService;
 
     private final JwtValidator jwtValidator;
@@ -58,11 +58,10 @@ public class AuthService {
             Authentication authentication = authenticateUser(loginRequestDto);
             User user = (User) authentication.getPrincipal();
 
-            String accessToken = jwtStorageService.generateAccessToken(user.getEmail(), user.getRole());
-            String refreshToken = jwtStorageService.generateRefreshToken(user.getEmail(), user.getRole());
+            TokenPair tokenPair = jwtStorageService.generateTokens(user.getId(), user.getEmail(), user.getRole());
 
             log.info("User login successfully with email: {}", loginRequestDto.email());
-            return new LoginResponseDto(accessToken, refreshToken);
+            return new LoginResponseDto(tokenPair.accessToken(), tokenPair.refreshToken());
         }
         catch (AuthenticationException ex){
             log.error("Authentication failed for: {}", loginRequestDto.email());
@@ -75,15 +74,15 @@ public class AuthService {
 
         String refreshToken = requestDto.refreshToken();
 
-        jwtValidator.validateRefreshToken(refreshToken);
-
-        String userEmail = jwtExtractorService.extractUserEmail(refreshToken);
-        log.info("Extracted user email: {}", userEmail);
-
-        Role role = jwtExtractorService.extractRole(refreshToken);
-        log.info("Extracted user role: {}", role);
+        JwtPrincipal principal = jwtValidator.validateRefreshToken(refreshToken);
+        String userEmail = principal.email();
+        Role role = principal.role();
+        long userId = principal.userId() != null
+                ? principal.userId()
+                : userService.getUserIdByEmailOrElseThrow(userEmail);
+        log.info("Extracted user id: {}, email: {}, role: {}", userId, userEmail, role);
 
-        String accessToken = jwtStorageService.generateAccessToken(userEmail, role);
+        String accessToken = jwtStorageService.generateAccessToken(userId, userEmail, role);
 
         log.info("Token refresh successfully for user: {}", userEmail);
         return RefreshTokenResponseDto
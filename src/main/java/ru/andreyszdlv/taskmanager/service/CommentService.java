@@ -2,20 +2,27 @@ package ru.andreyszdlv.taskmanager.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.andreyszdlv.taskmanager.dto.comment.CommentDto;
+import ru.andreyszdlv.taskmanager.dto.comment.CommentSliceDto;
 import ru.andreyszdlv.taskmanager.dto.comment.CreateCommentRequestDto;
+import ru.andreyszdlv.taskmanager.enums.TaskEventType;
 import ru.andreyszdlv.taskmanager.exception.AccessDeniedException;
 import ru.andreyszdlv.taskmanager.exception.CommentNotFoundException;
 import ru.andreyszdlv.taskmanager.mapper.CommentMapper;
 import ru.andreyszdlv.taskmanager.model.Comment;
 import ru.andreyszdlv.taskmanager.model.Task;
+import ru.andreyszdlv.taskmanager.model.TaskFilterValues;
 import ru.andreyszdlv.taskmanager.repository.CommentRepository;
+import ru.andreyszdlv.taskmanager.util.KeysetCursor;
 import ru.andreyszdlv.taskmanager.validation.AccessControlValidator;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +35,12 @@ public class CommentService {
 
     private final TaskService taskService;
 
+    private final TaskCacheService taskCacheService;
+
+    private final TaskListCacheService taskListCacheService;
+
+    private final TaskEventOutboxService taskEventOutboxService;
+
     private final UserService userService;
 
     private final AccessControlValidator accessControlValidator;
@@ -36,24 +49,60 @@ public class CommentService {
     public CommentDto createComment(long taskId, CreateCommentRequestDto requestDto) {
         log.info("Creating comment for task: {}", taskId);
 
-        Task task = taskService.getTaskByIdOrElseThrow(taskId);
+        // Only the columns needed for the access check and the list cache
+        // are read, the comment references the task without loading it.
+        TaskFilterValues task = taskService.getTaskFilterValuesOrElseThrow(taskId);
 
-        if(!accessControlValidator.validateAccessTask(task))
+        if(!accessControlValidator.validateAccessTaskAssignee(task.assigneeId()))
             throw new AccessDeniedException("error.403.access.denied");
 
         Comment comment = commentMapper.toComment(requestDto);
         log.info("Mapped CreateCommentRequestDto to Comment entity");
 
         comment.setCreatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
-        comment.setAuthor(userService.getCurrentUser());
-        comment.setTask(task);
+        comment.setAuthor(userService.getCurrentUserReference());
+        comment.setTask(taskService.getTaskReference(taskId));
 
         Comment savedComment = commentRepository.save(comment);
         log.info("Comment saved successfully with id: {}", savedComment.getId());
 
+        taskCacheService.evictTask(taskId);
+        taskListCacheService.invalidate(task);
+        taskEventOutboxService.commentChanged(TaskEventType.COMMENT_CREATED, task, savedComment.getId());
+
         return commentMapper.toCommentDto(savedComment);
     }
 
+    @Transactional(readOnly = true)
+    public CommentSliceDto getCommentsSlice(long taskId, String cursor, int size) {
+        log.info("Getting comments slice for task: {}, cursor: {}, size: {}", taskId, cursor, size);
+
+        Task task = taskService.getTaskByIdOrElseThrow(taskId);
+
+        if(!accessControlValidator.validateAccessTask(task))
+            throw new AccessDeniedException("error.403.access.denied");
+
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<Comment> comments;
+        if(cursor == null || cursor.isEmpty()) {
+            comments = commentRepository.findByTaskIdOrderByCreatedAtAscIdAsc(taskId, limit);
+        }
+        else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            comments = commentRepository.findByTaskIdAfter(taskId, after.createdAt(), after.id(), limit);
+        }
+
+        String next = null;
+        if(comments.size() > size) {
+            comments = comments.subList(0, size);
+            Comment last = comments.get(size - 1);
+            next = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        log.info("Found {} comments in slice, has next: {}", comments.size(), next != null);
+        return new CommentSliceDto(commentMapper.toCommentDtos(comments), next);
+    }
+
     @Transactional
     public void deleteComment(long commentId) {
         log.info("Deleting comment with id: {}", commentId);
@@ -64,6 +113,9 @@ public class CommentService {
 
 
         commentRepository.deleteById(commentId);
+        taskCacheService.evictTask(comment.getTask().getId());
+        taskListCacheService.invalidate(comment.getTask());
+        taskEventOutboxService.commentChanged(TaskEventType.COMMENT_DELETED, TaskFilterValues.of(comment.getTask()), commentId);
         log.info("Comment with id: {} deleted successfully", commentId);
     }
 
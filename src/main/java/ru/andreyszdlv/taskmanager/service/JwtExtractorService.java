@@ -1,10 +1,13 @@
 package ru.andreyszdlv.taskmanager.service;
 
 import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.security.JwtPrincipal;
 
 public interface JwtExtractorService {
 
+    JwtPrincipal extractPrincipal(String token);
+
     String extractUserEmail(String token);
 
     Role extractRole(String token);
-}
\ No newline at end of file
+}
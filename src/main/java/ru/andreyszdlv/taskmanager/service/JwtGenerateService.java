@@ -2,9 +2,15 @@ package ru.andreyszdlv.taskmanager.service;
 
 import ru.andreyszdlv.taskmanager.enums.Role;
 
+import java.time.Duration;
+
 public interface JwtGenerateService {
 
-    String generateAccessToken(String userEmail, Role role);
+    Duration ACCESS_TOKEN_TTL = Duration.ofMinutes(15);
+
+    Duration REFRESH_TOKEN_TTL = Duration.ofDays(2);
+
+    String generateAccessToken(long userId, String userEmail, Role role);
 
-    String generateRefreshToken(String userEmail, Role role);
+    String generateRefreshToken(long userId, String userEmail, Role role);
 }
@@ -1,12 +1,15 @@
 package ru.andreyszdlv.taskmanager.service;
 
 import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.security.TokenPair;
 
 public interface JwtStorageService {
 
-    String generateAccessToken(String userEmail, Role role);
+    TokenPair generateTokens(long userId, String userEmail, Role role);
 
-    String generateRefreshToken(String userEmail, Role role);
+    String generateAccessToken(long userId, String userEmail, Role role);
+
+    String generateRefreshToken(long userId, String userEmail, Role role);
 
     String getAccessTokenByUserEmail(String userEmail);
 
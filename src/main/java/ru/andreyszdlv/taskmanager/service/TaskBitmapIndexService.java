@@ -0,0 +1,331 @@
+package ru.andreyszdlv.taskmanager.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.andreyszdlv.taskmanager.enums.TaskPriority;
+import ru.andreyszdlv.taskmanager.enums.TaskStatus;
+import ru.andreyszdlv.taskmanager.model.TaskFilterValues;
+import ru.andreyszdlv.taskmanager.model.TaskIdPage;
+import ru.andreyszdlv.taskmanager.repository.TaskRepository;
+import ru.andreyszdlv.taskmanager.util.IdBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// In-process index of the four equality filters of task lists: one bitmap
+// of task ids per status, priority, author and assignee. A filter resolves
+// to the AND of its bitmaps, so only the ids of the requested page are left
+// for Postgres to fetch by primary key.
+//
+// The index only sees writes made through this instance, which is why it
+// is disabled by default and meant for single-instance deployments. Until
+// it is built, or after it had to be dropped, callers fall back to SQL.
+@Slf4j
+@Service
+public class TaskBitmapIndexService {
+
+    private final TaskRepository taskRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+
+    private final int fetchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Index index;
+
+    // Writes committed while the index is being built, by task id. A null
+    // value means the task was deleted.
+    private Map<Long, TaskFilterValues> pendingWrites;
+
+    public TaskBitmapIndexService(
+            TaskRepository taskRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${taskBitmapIndex.enabled}") boolean enabled,
+            @Value("${taskBitmapIndex.fetchSize}") int fetchSize
+    ) {
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.fetchSize = fetchSize;
+    }
+
+    public boolean isWarm() {
+        lock.readLock().lock();
+        try {
+            return index != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Reads the filter columns of all tasks into a new index. Writes that
+    // commit meanwhile are collected and replayed on top of it, so a task
+    // changed during the build never keeps the values the build read.
+    public void rebuild() {
+        if(!enabled) {
+            return;
+        }
+        log.info("Building task bitmap index");
+
+        lock.writeLock().lock();
+        try {
+            pendingWrites = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index built = new Index();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<TaskFilterValues> tasks = taskRepository.streamAllFilterValues(fetchSize)) {
+                    tasks.forEach(built::put);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to build task bitmap index, task lists fall back to SQL", e);
+            lock.writeLock().lock();
+            try {
+                pendingWrites = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingWrites.forEach((id, task) -> {
+                if(task == null) {
+                    built.remove(id);
+                } else {
+                    built.put(task);
+                }
+            });
+            log.info("Task bitmap index built with {} tasks, {} writes replayed", built.all.cardinality(), pendingWrites.size());
+            pendingWrites = null;
+            index = built;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Empty when the index is not warm, the caller then runs the SQL query.
+    public Optional<TaskIdPage> findPage(String status,
+                                         String priority,
+                                         Long authorId,
+                                         Long assigneeId,
+                                         long offset,
+                                         int size
+    ) {
+        lock.readLock().lock();
+        try {
+            if(index == null) {
+                return Optional.empty();
+            }
+
+            IdBitmap matching = index.find(
+                    status == null ? null : TaskStatus.valueOf(status),
+                    priority == null ? null : TaskPriority.valueOf(priority),
+                    authorId,
+                    assigneeId
+            );
+            List<Long> ids = Arrays.stream(matching.select(offset, size)).asLongStream().boxed().toList();
+            return Optional.of(new TaskIdPage(ids, matching.cardinality()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Called with the task as it is after a write, applied once the
+    // transaction commits.
+    public void put(TaskFilterValues task) {
+        if(enabled) {
+            this.afterCommit(() -> this.apply(Map.of(task.id(), task)));
+        }
+    }
+
+    public void putAll(Collection<TaskFilterValues> tasks) {
+        if(enabled && !tasks.isEmpty()) {
+            Map<Long, TaskFilterValues> byId = new HashMap<>();
+            tasks.forEach(task -> byId.put(task.id(), task));
+            this.afterCommit(() -> this.apply(byId));
+        }
+    }
+
+    public void remove(long taskId) {
+        if(enabled) {
+            this.afterCommit(() -> this.apply(Collections.singletonMap(taskId, null)));
+        }
+    }
+
+    // For set-based writes that do not know the values their rows ended up
+    // with: the tasks are read again inside the writing transaction, missing
+    // ones were deleted.
+    public void reload(Collection<Long> taskIds) {
+        if(enabled) {
+            Map<Long, TaskFilterValues> tasks = new HashMap<>();
+            taskIds.forEach(id -> tasks.put(id, null));
+            taskRepository.findFilterValuesByIdIn(taskIds).forEach(task -> tasks.put(task.id(), task));
+            this.afterCommit(() -> this.apply(tasks));
+        }
+    }
+
+    private void apply(Map<Long, TaskFilterValues> tasks) {
+        lock.writeLock().lock();
+        try {
+            if(pendingWrites != null) {
+                pendingWrites.putAll(tasks);
+            }
+            if(index == null) {
+                return;
+            }
+
+            tasks.forEach((id, task) -> {
+                if(task == null) {
+                    index.remove(id);
+                } else {
+                    index.put(task);
+                }
+            });
+        } catch (IllegalArgumentException e) {
+            log.error("Task bitmap index dropped, task lists fall back to SQL", e);
+            index = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Author and assignee of every task are kept in arrays indexed by task
+    // id, they are needed to find the bitmaps to clear when a task changes.
+    // Task ids come from a sequence, so the arrays stay dense.
+    private static final class Index {
+
+        private final IdBitmap all = new IdBitmap();
+
+        private final Map<TaskStatus, IdBitmap> byStatus = new EnumMap<>(TaskStatus.class);
+
+        private final Map<TaskPriority, IdBitmap> byPriority = new EnumMap<>(TaskPriority.class);
+
+        private final Map<Long, IdBitmap> byAuthor = new HashMap<>();
+
+        private final Map<Long, IdBitmap> byAssignee = new HashMap<>();
+
+        private long[] authorIds = new long[1024];
+
+        private long[] assigneeIds = new long[1024];
+
+        Index() {
+            Arrays.stream(TaskStatus.values()).forEach(status -> byStatus.put(status, new IdBitmap()));
+            Arrays.stream(TaskPriority.values()).forEach(priority -> byPriority.put(priority, new IdBitmap()));
+        }
+
+        void put(TaskFilterValues task) {
+            int id = toIndexId(task.id());
+            this.remove(task.id());
+
+            if(id >= authorIds.length) {
+                int length = Math.max(id + 1, authorIds.length * 2);
+                authorIds = Arrays.copyOf(authorIds, length);
+                assigneeIds = Arrays.copyOf(assigneeIds, length);
+            }
+
+            all.add(id);
+            byStatus.get(task.status()).add(id);
+            byPriority.get(task.priority()).add(id);
+            byAuthor.computeIfAbsent(task.authorId(), ignored -> new IdBitmap()).add(id);
+            authorIds[id] = task.authorId();
+            if(task.assigneeId() != null) {
+                byAssignee.computeIfAbsent(task.assigneeId(), ignored -> new IdBitmap()).add(id);
+                assigneeIds[id] = task.assigneeId();
+            }
+        }
+
+        void remove(long taskId) {
+            int id = toIndexId(taskId);
+            if(!all.contains(id)) {
+                return;
+            }
+
+            all.remove(id);
+            byStatus.values().forEach(bitmap -> bitmap.remove(id));
+            byPriority.values().forEach(bitmap -> bitmap.remove(id));
+            removeFrom(byAuthor, authorIds[id], id);
+            removeFrom(byAssignee, assigneeIds[id], id);
+            authorIds[id] = 0;
+            assigneeIds[id] = 0;
+        }
+
+        // Bitmaps are intersected smallest first, so every further AND only
+        // walks what is left of the most selective filter.
+        IdBitmap find(TaskStatus status, TaskPriority priority, Long authorId, Long assigneeId) {
+            List<IdBitmap> bitmaps = new ArrayList<>();
+            if(status != null)
+                bitmaps.add(byStatus.get(status));
+            if(priority != null)
+                bitmaps.add(byPriority.get(priority));
+            if(authorId != null)
+                bitmaps.add(byAuthor.getOrDefault(authorId, new IdBitmap()));
+            if(assigneeId != null)
+                bitmaps.add(byAssignee.getOrDefault(assigneeId, new IdBitmap()));
+            if(bitmaps.isEmpty())
+                return all;
+
+            bitmaps.sort(Comparator.comparingLong(IdBitmap::cardinality));
+            IdBitmap result = bitmaps.get(0);
+            for (int i = 1; i < bitmaps.size() && !result.isEmpty(); i++) {
+                result = result.and(bitmaps.get(i));
+            }
+            return result;
+        }
+
+        private static void removeFrom(Map<Long, IdBitmap> bitmaps, long userId, int id) {
+            IdBitmap bitmap = bitmaps.get(userId);
+            if(bitmap == null) {
+                return;
+            }
+
+            bitmap.remove(id);
+            if(bitmap.isEmpty()) {
+                bitmaps.remove(userId);
+            }
+        }
+
+        private static int toIndexId(long taskId) {
+            if(taskId < 0 || taskId > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Task id out of bitmap index range: " + taskId);
+            }
+            return (int) taskId;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package ru.andreyszdlv.taskmanager.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.andreyszdlv.taskmanager.dto.task.TaskBulkDeleteResultDto;
+import ru.andreyszdlv.taskmanager.dto.task.TaskBulkFilterDto;
+import ru.andreyszdlv.taskmanager.dto.task.TaskBulkUpdateResultDto;
+import ru.andreyszdlv.taskmanager.enums.TaskEventType;
+import ru.andreyszdlv.taskmanager.enums.TaskPriority;
+import ru.andreyszdlv.taskmanager.enums.TaskStatus;
+import ru.andreyszdlv.taskmanager.model.Task;
+import ru.andreyszdlv.taskmanager.model.TaskFilterChange;
+import ru.andreyszdlv.taskmanager.model.TaskFilterValues;
+import ru.andreyszdlv.taskmanager.model.TaskUpdateFilter;
+import ru.andreyszdlv.taskmanager.model.User;
+import ru.andreyszdlv.taskmanager.repository.TaskRepository;
+import ru.andreyszdlv.taskmanager.util.TaskSpecifications;
+import ru.andreyszdlv.taskmanager.validation.AccessControlValidator;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskBulkService {
+
+    private final TaskRepository taskRepository;
+
+    private final UserService userService;
+
+    private final TaskCacheService taskCacheService;
+
+    private final TaskListCacheService taskListCacheService;
+
+    private final TaskBitmapIndexService taskBitmapIndexService;
+
+    private final TaskEventOutboxService taskEventOutboxService;
+
+    private final AccessControlValidator accessControlValidator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${taskBulkUpdate.chunkSize}")
+    private int chunkSize;
+
+    public TaskBulkUpdateResultDto updateStatus(List<Long> ids, TaskBulkFilterDto filter, String status) {
+        log.info("Bulk updating status to: {}", status);
+
+        return this.updateInChunks(ids, filter, "status", TaskStatus.valueOf(status));
+    }
+
+    public TaskBulkUpdateResultDto updatePriority(List<Long> ids, TaskBulkFilterDto filter, String priority) {
+        log.info("Bulk updating priority to: {}", priority);
+
+        return this.updateInChunks(ids, filter, "priority", TaskPriority.valueOf(priority));
+    }
+
+    public TaskBulkUpdateResultDto updateAssignee(List<Long> ids, TaskBulkFilterDto filter, long assigneeId) {
+        log.info("Bulk updating assignee to user with id: {}", assigneeId);
+
+        User assignee = userService.getUserByIdOrElseThrow(assigneeId);
+        return this.updateInChunks(ids, filter, "assignee", assignee.getId());
+    }
+
+    public TaskBulkDeleteResultDto deleteTasks(String status, String priority, Long authorId, Long assigneeId) {
+        log.info("Bulk deleting tasks with filters - status: {}, priority: {}, authorId: {}, assigneeId: {}",
+                status, priority, authorId, assigneeId);
+
+        Specification<Task> specification = TaskSpecifications.matchesFilter(status, priority, authorId, assigneeId)
+                .and(accessControlValidator.accessibleTasks());
+
+        long deleted = this.inChunks(specification, chunkIds -> {
+            List<TaskFilterValues> chunkTasks = taskRepository.findFilterValuesByIdIn(chunkIds);
+            int chunkDeleted = taskRepository.deleteByIdIn(chunkIds, specification);
+            taskEventOutboxService.tasksDeleted(chunkTasks);
+            chunkIds.forEach(taskCacheService::evictTask);
+            taskListCacheService.invalidateAll();
+            taskBitmapIndexService.reload(chunkIds);
+            return chunkDeleted;
+        });
+
+        log.info("Bulk delete finished, deleted {} tasks", deleted);
+        return new TaskBulkDeleteResultDto(deleted);
+    }
+
+    private TaskBulkUpdateResultDto updateInChunks(List<Long> ids,
+                                                   TaskBulkFilterDto filter,
+                                                   String attribute,
+                                                   Object value
+    ) {
+        Specification<Task> specification = (ids != null
+                ? TaskSpecifications.hasIdIn(ids)
+                : TaskSpecifications.matchesFilter(filter.status(), filter.priority(), filter.authorId(), filter.assigneeId()))
+                .and(accessControlValidator.accessibleTasks());
+        Long accessibleAssigneeId = accessControlValidator.accessibleAssigneeId();
+        TaskUpdateFilter updateFilter = ids != null
+                ? new TaskUpdateFilter(null, null, null, null, accessibleAssigneeId)
+                : new TaskUpdateFilter(
+                        filter.status() != null ? TaskStatus.valueOf(filter.status()) : null,
+                        filter.priority() != null ? TaskPriority.valueOf(filter.priority()) : null,
+                        filter.authorId(),
+                        filter.assigneeId(),
+                        accessibleAssigneeId
+                );
+
+        // Only the rows the update actually reached get events and cache
+        // updates, tasks that stopped matching after they were selected are
+        // left alone by the statement and missing from its result.
+        long updated = this.inChunks(specification, chunkIds -> {
+            List<TaskFilterChange> changes = taskRepository.updateByIdIn(chunkIds, updateFilter, attribute, value);
+            if(changes.isEmpty()) {
+                return 0;
+            }
+
+            List<TaskFilterValues> tasks = changes.stream().map(TaskFilterChange::current).toList();
+            taskEventOutboxService.tasksChanged(TaskEventType.TASK_UPDATED, changes);
+            changes.forEach(change -> {
+                taskCacheService.evictTask(change.current().id());
+                taskListCacheService.invalidate(change.previous());
+                taskListCacheService.invalidate(change.current());
+            });
+            taskBitmapIndexService.putAll(tasks);
+            return changes.size();
+        });
+
+        log.info("Bulk update of {} finished, updated {} tasks", attribute, updated);
+        return new TaskBulkUpdateResultDto(updated);
+    }
+
+    // Selected tasks are walked in primary key order, one chunk per
+    // transaction, so a large selection never holds row locks on all of its
+    // tasks at once. Access rules are part of the predicate: a USER only ever
+    // matches the tasks assigned to them, whatever ids or filter they send.
+    // Ids are only used as a lower bound for the next chunk, so deleted rows
+    // do not shift later chunks the way an offset would.
+    private long inChunks(Specification<Task> specification, Function<List<Long>, Integer> operation) {
+        long affected = 0;
+        long afterId = 0;
+        while (true) {
+            long chunkAfterId = afterId;
+            ChunkResult chunk = transactionTemplate.execute(status -> {
+                List<Long> chunkIds = taskRepository.findIdsAfter(specification, chunkAfterId, chunkSize);
+                if(chunkIds.isEmpty()) {
+                    return new ChunkResult(chunkIds, 0);
+                }
+
+                return new ChunkResult(chunkIds, operation.apply(chunkIds));
+            });
+
+            affected += chunk.affected();
+            log.info("Bulk processed {} tasks after id: {}", chunk.affected(), chunkAfterId);
+            if(chunk.ids().size() < chunkSize) {
+                break;
+            }
+            afterId = chunk.ids().get(chunk.ids().size() - 1);
+        }
+        return affected;
+    }
+
+    private record ChunkResult(List<Long> ids, int affected) {
+    }
+}
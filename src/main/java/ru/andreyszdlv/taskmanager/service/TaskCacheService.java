@@ -0,0 +1,99 @@
+package ru.andreyszdlv.taskmanager.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.andreyszdlv.taskmanager.configuration.CacheConfig;
+import ru.andreyszdlv.taskmanager.dto.task.TaskDto;
+import ru.andreyszdlv.taskmanager.exception.TaskNotFoundException;
+import ru.andreyszdlv.taskmanager.mapper.TaskMapper;
+import ru.andreyszdlv.taskmanager.repository.TaskRepository;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+@Slf4j
+@Service
+public class TaskCacheService {
+
+    private final TaskRepository taskRepository;
+
+    private final TaskMapper taskMapper;
+
+    private final TaskGenerationService taskGenerationService;
+
+    private final Cache taskCache;
+
+    public TaskCacheService(
+            TaskRepository taskRepository,
+            TaskMapper taskMapper,
+            TaskGenerationService taskGenerationService,
+            CacheManager cacheManager
+    ) {
+        this.taskRepository = taskRepository;
+        this.taskMapper = taskMapper;
+        this.taskGenerationService = taskGenerationService;
+        this.taskCache = cacheManager.getCache(CacheConfig.TASK_CACHE);
+    }
+
+    // The key carries the generation of the task, read before the row is
+    // loaded. A write bumps it once it commits, so a reader that loaded the
+    // row before that commit puts it under a key nobody reads anymore.
+    @Transactional(readOnly = true)
+    public TaskDto getTask(long taskId) {
+        String generation = taskGenerationService.getGeneration(taskId);
+        String key = taskId + ":" + (generation == null ? "0" : generation);
+
+        TaskDto cachedTask = taskCache.get(key, TaskDto.class);
+        if(cachedTask != null) {
+            log.info("Task cache hit for key: {}", key);
+            return cachedTask;
+        }
+
+        log.info("Task cache miss, loading task with id: {}", taskId);
+        TaskDto task = taskRepository.findById(taskId)
+                .map(taskMapper::toTaskDto)
+                .orElseThrow(() -> {
+                    log.error("Task not found with id: {}", taskId);
+                    return new TaskNotFoundException("error.404.task.not_found");
+                });
+        taskCache.put(key, task);
+        return task;
+    }
+
+    // Same as TaskListCacheService: the ids written in a transaction are
+    // bumped together after it commits, bumping earlier would let a
+    // concurrent reader cache the old row under the new key.
+    public void evictTask(long taskId) {
+        log.info("Evicting task with id: {} from cache after commit", taskId);
+
+        if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+            taskGenerationService.bumpGenerations(Set.of(taskId));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if(pending == null) {
+            Set<Long> transactionPending = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, transactionPending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    taskGenerationService.bumpGenerations(transactionPending);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TaskCacheService.this);
+                }
+            });
+            pending = transactionPending;
+        }
+        pending.add(taskId);
+    }
+}
@@ -0,0 +1,173 @@
+package ru.andreyszdlv.taskmanager.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.andreyszdlv.taskmanager.dto.comment.CommentChangeDto;
+import ru.andreyszdlv.taskmanager.dto.task.TaskChangesDto;
+import ru.andreyszdlv.taskmanager.dto.task.TaskDto;
+import ru.andreyszdlv.taskmanager.dto.task.TombstoneDto;
+import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.exception.ChangesResyncRequiredException;
+import ru.andreyszdlv.taskmanager.mapper.CommentMapper;
+import ru.andreyszdlv.taskmanager.mapper.TaskMapper;
+import ru.andreyszdlv.taskmanager.mapper.TombstoneMapper;
+import ru.andreyszdlv.taskmanager.model.Comment;
+import ru.andreyszdlv.taskmanager.model.Task;
+import ru.andreyszdlv.taskmanager.model.Tombstone;
+import ru.andreyszdlv.taskmanager.repository.CommentRepository;
+import ru.andreyszdlv.taskmanager.repository.TaskRepository;
+import ru.andreyszdlv.taskmanager.repository.TombstoneRepository;
+import ru.andreyszdlv.taskmanager.util.TaskSpecifications;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+public class TaskChangeService {
+
+    private final TaskRepository taskRepository;
+
+    private final CommentRepository commentRepository;
+
+    private final TombstoneRepository tombstoneRepository;
+
+    private final UserService userService;
+
+    private final TaskMapper taskMapper;
+
+    private final CommentMapper commentMapper;
+
+    private final TombstoneMapper tombstoneMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final Duration tombstoneRetention;
+
+    public TaskChangeService(
+            TaskRepository taskRepository,
+            CommentRepository commentRepository,
+            TombstoneRepository tombstoneRepository,
+            UserService userService,
+            TaskMapper taskMapper,
+            CommentMapper commentMapper,
+            TombstoneMapper tombstoneMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${taskChanges.tombstoneRetentionHours}") long tombstoneRetentionHours
+    ) {
+        this.taskRepository = taskRepository;
+        this.commentRepository = commentRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.userService = userService;
+        this.taskMapper = taskMapper;
+        this.commentMapper = commentMapper;
+        this.tombstoneMapper = tombstoneMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.tombstoneRetention = Duration.ofHours(tombstoneRetentionHours);
+    }
+
+    // Changes with a sequence in (since, watermark], oldest first. The
+    // watermark is taken in its own transaction first: sequence_changes()
+    // numbers only committed writes, so nothing at or below it can still
+    // commit later and be skipped by a client that moved past it.
+    //
+    // A client behind the horizon may have missed a purged tombstone and has
+    // to start over from 0. The pages of that full sync keep cursors below
+    // the horizon, live rows keep old sequences, so they are not checked.
+    //
+    // Tasks, comments and tombstones are read limit + 1 at a time each and
+    // merged by sequence. If more than limit changes are left, next is the
+    // last returned sequence and the client asks again right away.
+    public TaskChangesDto getChanges(long since, int limit, boolean fullSync) {
+        log.info("Getting task changes since: {}, limit: {}, fullSync: {}", since, limit, fullSync);
+
+        long watermark = transactionTemplate.execute(status -> tombstoneRepository.sequenceChanges());
+        if(watermark <= since) {
+            log.info("No task changes since: {}, watermark: {}", since, watermark);
+            return new TaskChangesDto(List.of(), List.of(), List.of(), since, false);
+        }
+
+        return readOnlyTransactionTemplate.execute(status -> {
+            Long assigneeId = userService.getCurrentUserRole() == Role.ADMIN ? null : userService.getCurrentUserId();
+            Pageable pageable = PageRequest.of(0, limit + 1);
+
+            Specification<Task> specification = TaskSpecifications.hasChangeSeqBetween(since, watermark);
+            if(assigneeId != null) {
+                specification = specification.and(TaskSpecifications.hasAssignee(assigneeId));
+            }
+            List<Task> tasks = taskRepository.findBy(
+                    specification,
+                    query -> query.sortBy(Sort.by("changeSeq")).limit(limit + 1).all()
+            );
+            List<Comment> comments = assigneeId == null
+                    ? commentRepository.findChangedBetween(since, watermark, pageable)
+                    : commentRepository.findChangedBetweenForAssignee(since, watermark, assigneeId, pageable);
+            List<Tombstone> tombstones = assigneeId == null
+                    ? tombstoneRepository.findDeletedBetween(since, watermark, pageable)
+                    : tombstoneRepository.findDeletedBetweenForAssignee(since, watermark, assigneeId, pageable);
+
+            // read after the tombstones, a purge that raced the read shows up here
+            if(since > 0 && !fullSync && since < tombstoneRepository.findHorizon()) {
+                log.info("Task changes since: {} are purged, full sync required", since);
+                throw new ChangesResyncRequiredException("error.410.changes.resync_required");
+            }
+
+            List<TaskDto> taskDtos = new ArrayList<>();
+            List<CommentChangeDto> commentDtos = new ArrayList<>();
+            List<TombstoneDto> tombstoneDtos = new ArrayList<>();
+            int t = 0;
+            int c = 0;
+            int d = 0;
+            long last = since;
+            for (int taken = 0; taken < limit; taken++) {
+                long taskSeq = t < tasks.size() ? tasks.get(t).getChangeSeq() : Long.MAX_VALUE;
+                long commentSeq = c < comments.size() ? comments.get(c).getChangeSeq() : Long.MAX_VALUE;
+                long tombstoneSeq = d < tombstones.size() ? tombstones.get(d).getChangeSeq() : Long.MAX_VALUE;
+
+                if(taskSeq == Long.MAX_VALUE && commentSeq == Long.MAX_VALUE && tombstoneSeq == Long.MAX_VALUE) {
+                    break;
+                }
+                if(taskSeq < commentSeq && taskSeq < tombstoneSeq) {
+                    taskDtos.add(taskMapper.toTaskDto(tasks.get(t++)));
+                    last = taskSeq;
+                } else if(commentSeq < tombstoneSeq) {
+                    commentDtos.add(commentMapper.toCommentChangeDto(comments.get(c++)));
+                    last = commentSeq;
+                } else {
+                    tombstoneDtos.add(tombstoneMapper.toTombstoneDto(tombstones.get(d++)));
+                    last = tombstoneSeq;
+                }
+            }
+
+            boolean hasMore = t < tasks.size() || c < comments.size() || d < tombstones.size();
+            long next = hasMore ? last : watermark;
+
+            log.info("Returning {} tasks, {} comments, {} deleted, next: {}, hasMore: {}",
+                    taskDtos.size(), commentDtos.size(), tombstoneDtos.size(), next, hasMore);
+            return new TaskChangesDto(taskDtos, commentDtos, tombstoneDtos, next, hasMore);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${taskChanges.purgeFixedDelayMillis}")
+    public void purgeTombstones() {
+        LocalDateTime deletedBefore = LocalDateTime.now().minus(tombstoneRetention);
+        int purged = transactionTemplate.execute(status -> tombstoneRepository.purgeDeletedBefore(deletedBefore));
+        if(purged > 0) {
+            log.info("Purged {} tombstones deleted before: {}", purged, deletedBefore);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ru.andreyszdlv.taskmanager.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.andreyszdlv.taskmanager.configuration.CacheConfig;
+import ru.andreyszdlv.taskmanager.repository.TaskRepository;
+import ru.andreyszdlv.taskmanager.util.TaskSpecifications;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskCountService {
+
+    private final TaskRepository taskRepository;
+
+    // Estimates are kept for a short TTL and are not invalidated by writes,
+    // so a total may lag behind by up to that TTL. Without filters the
+    // planner statistics of t_tasks are used, they are only missing until
+    // the table is analyzed for the first time.
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.TASK_COUNT_CACHE,
+            key = "'status=' + #status + ',priority=' + #priority + ',author=' + #authorId + ',assignee=' + #assigneeId")
+    public long estimateCount(String status, String priority, Long authorId, Long assigneeId) {
+        log.info("Task count cache miss - status: {}, priority: {}, authorId: {}, assigneeId: {}",
+                status, priority, authorId, assigneeId);
+
+        if(status == null && priority == null && authorId == null && assigneeId == null) {
+            long estimate = taskRepository.estimateCountFromStatistics();
+            if(estimate >= 0) {
+                log.info("Task count estimated from planner statistics: {}", estimate);
+                return estimate;
+            }
+        }
+
+        return taskRepository.count(TaskSpecifications.matchesFilter(status, priority, authorId, assigneeId));
+    }
+}
@@ -0,0 +1,270 @@
+package ru.andreyszdlv.taskmanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.andreyszdlv.taskmanager.dto.task.TaskEventDto;
+import ru.andreyszdlv.taskmanager.validation.AccessControlValidator;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+// Fans task events out to the SSE connections of this node. An event is
+// serialized once and queued for every connection allowed to see it; a
+// connection never holds a thread while idle, a small pool of senders
+// drains the queues that have something in them, one sender per connection
+// at a time, so events of a connection are written in order. A connection
+// whose queue is full is not keeping up and is closed, the client
+// reconnects and reloads the board. Only senders ever touch an emitter: a
+// send blocks while the client is not reading, and so would anything else
+// called on the same emitter, so connections are closed by flagging them
+// and letting their sender complete them.
+@Slf4j
+@Service
+public class TaskEventFeedService {
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final ObjectMapper objectMapper;
+
+    private final AccessControlValidator accessControlValidator;
+
+    private final ExecutorService senderExecutor;
+
+    private final Counter droppedCounter;
+
+    private final int queueCapacity;
+
+    private final long timeoutMillis;
+
+    private final long sendTimeoutNanos;
+
+    public TaskEventFeedService(
+            ObjectMapper objectMapper,
+            AccessControlValidator accessControlValidator,
+            MeterRegistry meterRegistry,
+            @Value("${taskEvents.feed.senderThreads}") int senderThreads,
+            @Value("${taskEvents.feed.queueCapacity}") int queueCapacity,
+            @Value("${taskEvents.feed.timeoutMillis}") long timeoutMillis,
+            @Value("${taskEvents.feed.sendTimeoutMillis}") long sendTimeoutMillis
+    ) {
+        this.objectMapper = objectMapper;
+        this.accessControlValidator = accessControlValidator;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeoutMillis;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+
+        // The work queue is unbounded on purpose: a connection has at most
+        // one drain task queued, so it never holds more tasks than there are
+        // connections.
+        this.senderExecutor = ExecutorServiceMetrics.monitor(
+                meterRegistry,
+                Executors.newFixedThreadPool(senderThreads, new CustomizableThreadFactory("task-event-feed-")),
+                "taskEventFeed",
+                List.of()
+        );
+        this.droppedCounter = Counter.builder("task_events.feed.dropped")
+                .description("Connections closed because their queue was full or a send stalled")
+                .register(meterRegistry);
+        Gauge.builder("task_events.feed.subscribers", subscribers, Set::size)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(this::close);
+        senderExecutor.shutdown();
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(
+                emitter,
+                accessControlValidator.accessibleAssignees(),
+                new ArrayBlockingQueue<>(queueCapacity),
+                new AtomicBoolean(),
+                new AtomicBoolean(),
+                new Sending()
+        );
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> this.close(subscriber));
+        subscribers.add(subscriber);
+
+        log.info("Task event feed subscribed, subscribers: {}", subscribers.size());
+        return emitter;
+    }
+
+    public void publish(TaskEventDto event) {
+        Set<DataWithMediaType> message;
+        try {
+            message = SseEmitter.event()
+                    .id(String.valueOf(event.eventId()))
+                    .name(event.type().name())
+                    .data(objectMapper.writeValueAsString(event))
+                    .build();
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize task event: {}", event.eventId(), e);
+            return;
+        }
+
+        // A reassigned task is also sent to whoever could see its previous
+        // assignee, they would otherwise keep showing a task that is gone.
+        for (Subscriber subscriber : subscribers) {
+            if(subscriber.accessibleAssignees().test(event.assigneeId())
+                    || (event.previousAssigneeId() != null
+                    && subscriber.accessibleAssignees().test(event.previousAssigneeId()))) {
+                this.offer(subscriber, message);
+            }
+        }
+    }
+
+    // Keeps idle connections from being closed by proxies and finds the
+    // ones whose client is gone.
+    @Scheduled(fixedDelayString = "${taskEvents.feed.heartbeatMillis}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> this.offer(subscriber, HEARTBEAT));
+    }
+
+    // A send blocked for longer than sendTimeoutMillis means the client
+    // stopped reading and its socket buffer is full. The connection is
+    // dropped on its first stalled send and its sender interrupted, so one
+    // client does not hold a shared sender thread until the container's own
+    // write timeout and hold up every other connection behind it.
+    @Scheduled(fixedDelayString = "${taskEvents.feed.sendTimeoutMillis}")
+    public void evictStalled() {
+        long deadline = System.nanoTime() - sendTimeoutNanos;
+        for (Subscriber subscriber : subscribers) {
+            if(subscriber.sending().interruptIfStartedBefore(deadline)) {
+                log.info("Task event feed send stalled, closing connection");
+                this.drop(subscriber);
+            }
+        }
+    }
+
+    private void offer(Subscriber subscriber, Set<DataWithMediaType> message) {
+        if(!subscriber.queue().offer(message)) {
+            log.info("Task event feed subscriber is too slow, closing connection");
+            this.drop(subscriber);
+            return;
+        }
+        this.scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if(subscriber.draining().compareAndSet(false, true)) {
+            senderExecutor.execute(() -> this.drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Set<DataWithMediaType> message;
+            while (!subscriber.closed().get() && (message = subscriber.queue().poll()) != null) {
+                subscriber.sending().start();
+                try {
+                    subscriber.emitter().send(message);
+                } finally {
+                    subscriber.sending().finish();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The container reports the broken connection itself, the
+            // subscriber only has to stop receiving events.
+            log.info("Task event feed connection closed by client");
+            subscribers.remove(subscriber);
+            return;
+        }
+
+        if(subscriber.closed().get()) {
+            subscriber.emitter().complete();
+            return;
+        }
+
+        subscriber.draining().set(false);
+        // An event queued or a close requested after the last poll but
+        // before the flag was reset found a drain still running and did not
+        // schedule one.
+        if(!subscriber.queue().isEmpty() || subscriber.closed().get()) {
+            this.scheduleDrain(subscriber);
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        if(this.close(subscriber)) {
+            droppedCounter.increment();
+        }
+    }
+
+    // Timeouts and shutdown run on container threads, they only flag the
+    // connection and its sender completes it after any send in flight.
+    private boolean close(Subscriber subscriber) {
+        if(!subscribers.remove(subscriber)) {
+            return false;
+        }
+        subscriber.closed().set(true);
+        this.scheduleDrain(subscriber);
+        return true;
+    }
+
+    private record Subscriber(
+            SseEmitter emitter,
+            Predicate<Long> accessibleAssignees,
+            BlockingQueue<Set<DataWithMediaType>> queue,
+            AtomicBoolean draining,
+            AtomicBoolean closed,
+            Sending sending
+    ) {
+    }
+
+    // The sender currently writing to a connection and when it started. An
+    // interrupt is only ever delivered between start and finish, and finish
+    // clears it, so it never reaches the next task of the pool thread.
+    private static final class Sending {
+
+        private Thread sender;
+
+        private long startedAt;
+
+        synchronized void start() {
+            sender = Thread.currentThread();
+            startedAt = System.nanoTime();
+        }
+
+        synchronized void finish() {
+            sender = null;
+            Thread.interrupted();
+        }
+
+        synchronized boolean interruptIfStartedBefore(long deadline) {
+            if(sender == null || startedAt - deadline > 0) {
+                return false;
+            }
+            sender.interrupt();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ru.andreyszdlv.taskmanager.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import ru.andreyszdlv.taskmanager.dto.task.TaskEventDto;
+import ru.andreyszdlv.taskmanager.enums.TaskEventType;
+import ru.andreyszdlv.taskmanager.enums.TaskPriority;
+import ru.andreyszdlv.taskmanager.enums.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// Every node reads all partition streams written by TaskEventRelayService,
+// without a consumer group, and hands the events to its own SSE
+// connections. Reading starts from the time the node starts: a board
+// connected later loads the tasks first and only needs the changes after.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskEventFeedStreamReader {
+
+    private final RedisConnectionFactory redisConnectionFactory;
+
+    private final TaskEventRelayService taskEventRelayService;
+
+    private final TaskEventFeedService taskEventFeedService;
+
+    @Value("${taskEvents.stream.partitions}")
+    private int partitions;
+
+    private StreamMessageListenerContainer<String, MapRecord<String, String, String>> listenerContainer;
+
+    @PostConstruct
+    public void subscribe() {
+        String readFrom = System.currentTimeMillis() + "-0";
+        log.info("Subscribing to {} task event streams from id {}", partitions, readFrom);
+
+        listenerContainer = StreamMessageListenerContainer.create(
+                redisConnectionFactory,
+                StreamMessageListenerContainer.StreamMessageListenerContainerOptions
+                        .builder()
+                        .pollTimeout(Duration.ofSeconds(1))
+                        .build()
+        );
+        for (int partition = 0; partition < partitions; partition++) {
+            String key = taskEventRelayService.partitionKey(partition);
+            listenerContainer.register(
+                    StreamMessageListenerContainer.StreamReadRequest
+                            .builder(StreamOffset.create(key, ReadOffset.from(readFrom)))
+                            .cancelOnError(ex -> false)
+                            .errorHandler(ex -> log.error("Reading task event stream {} failed", key, ex))
+                            .build(),
+                    record -> taskEventFeedService.publish(this.toTaskEventDto(record.getValue()))
+            );
+        }
+        listenerContainer.start();
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if(listenerContainer != null) {
+            listenerContainer.stop();
+        }
+    }
+
+    private TaskEventDto toTaskEventDto(Map<String, String> fields) {
+        return new TaskEventDto(
+                Long.parseLong(fields.get("eventId")),
+                TaskEventType.valueOf(fields.get("type")),
+                Long.parseLong(fields.get("taskId")),
+                fields.containsKey("commentId") ? Long.valueOf(fields.get("commentId")) : null,
+                fields.containsKey("status") ? TaskStatus.valueOf(fields.get("status")) : null,
+                fields.containsKey("priority") ? TaskPriority.valueOf(fields.get("priority")) : null,
+                fields.containsKey("assigneeId") ? Long.valueOf(fields.get("assigneeId")) : null,
+                fields.containsKey("previousAssigneeId") ? Long.valueOf(fields.get("previousAssigneeId")) : null,
+                LocalDateTime.parse(fields.get("createdAt"))
+        );
+    }
+}
@@ -0,0 +1,105 @@
+package ru.andreyszdlv.taskmanager.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.andreyszdlv.taskmanager.enums.TaskEventType;
+import ru.andreyszdlv.taskmanager.model.TaskEvent;
+import ru.andreyszdlv.taskmanager.model.TaskFilterChange;
+import ru.andreyszdlv.taskmanager.model.TaskFilterValues;
+import ru.andreyszdlv.taskmanager.repository.TaskEventRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+// Every event is written in the transaction of the change it describes, so
+// it is committed or rolled back together with it. Pending changes are
+// flushed before the event is inserted: the task row is then already locked
+// by this transaction, and two transactions changing the same task get event
+// ids in the order they commit in.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class TaskEventOutboxService {
+
+    private final TaskEventRepository taskEventRepository;
+
+    public void taskChanged(TaskEventType type, TaskFilterValues task) {
+        TaskEvent event = this.newEvent(type, task);
+        event.setStatus(task.status());
+        event.setPriority(task.priority());
+        this.save(event);
+    }
+
+    // The previous assignee is only recorded when the change reassigned the
+    // task, it may no longer see the task but still has to hear about it.
+    public void taskChanged(TaskEventType type, TaskFilterChange change) {
+        TaskEvent event = this.newEvent(type, change.current());
+        event.setStatus(change.current().status());
+        event.setPriority(change.current().priority());
+        if(!Objects.equals(change.previous().assigneeId(), change.current().assigneeId())) {
+            event.setPreviousAssigneeId(change.previous().assigneeId());
+        }
+        this.save(event);
+    }
+
+    public void taskDeleted(TaskFilterValues task) {
+        this.save(this.newEvent(TaskEventType.TASK_DELETED, task));
+    }
+
+    public void commentChanged(TaskEventType type, TaskFilterValues task, long commentId) {
+        TaskEvent event = this.newEvent(type, task);
+        event.setCommentId(commentId);
+        this.save(event);
+    }
+
+    public void tasksChanged(TaskEventType type, Collection<Long> taskIds) {
+        int written = taskEventRepository.insertTaskEvents(taskIds, type.name(), LocalDateTime.now());
+        log.info("Written {} {} events to outbox", written, type);
+    }
+
+    // Same as tasksChanged, for updates that returned the values their rows
+    // had before, which is where previous assignees come from.
+    public void tasksChanged(TaskEventType type, List<TaskFilterChange> changes) {
+        int written = taskEventRepository.insertUpdatedTaskEvents(
+                changes.stream().map(change -> change.current().id()).toArray(Long[]::new),
+                changes.stream().map(change -> change.previous().assigneeId()).toArray(Long[]::new),
+                type.name(),
+                LocalDateTime.now()
+        );
+        log.info("Written {} {} events to outbox", written, type);
+    }
+
+    // Takes the tasks as they were read before the delete, their rows are
+    // gone by the time the events are written.
+    public void tasksDeleted(Collection<TaskFilterValues> tasks) {
+        int written = taskEventRepository.insertDeletedTaskEvents(
+                tasks.stream().map(TaskFilterValues::id).toArray(Long[]::new),
+                tasks.stream().map(TaskFilterValues::assigneeId).toArray(Long[]::new),
+                LocalDateTime.now()
+        );
+        log.info("Written {} {} events to outbox", written, TaskEventType.TASK_DELETED);
+    }
+
+    // Every event carries the assignee of its task, which is what decides
+    // who may see it.
+    private TaskEvent newEvent(TaskEventType type, TaskFilterValues task) {
+        TaskEvent event = new TaskEvent();
+        event.setType(type);
+        event.setTaskId(task.id());
+        event.setAssigneeId(task.assigneeId());
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+
+    private void save(TaskEvent event) {
+        taskEventRepository.flush();
+        taskEventRepository.save(event);
+        log.info("Written {} event to outbox for task: {}", event.getType(), event.getTaskId());
+    }
+}
@@ -0,0 +1,217 @@
+package ru.andreyszdlv.taskmanager.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.andreyszdlv.taskmanager.model.TaskEvent;
+import ru.andreyszdlv.taskmanager.repository.TaskEventRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Moves events from the outbox to Redis Streams. Events of a task always go
+// to the same partition stream, taskId modulo the number of partitions, so
+// a consumer that owns a partition sees the changes of every task in the
+// order they were committed. A batch is deleted from the outbox only after
+// Redis accepted all of it, in the transaction that read it: if that
+// transaction fails the batch is published again, so delivery is at least
+// once and consumers deduplicate by the eventId field.
+@Slf4j
+@Service
+public class TaskEventRelayService {
+
+    private static final long RELAY_LOCK_KEY = 0x7461736b5f657674L;
+
+    private static final String BUSY_GROUP_ERROR = "BUSYGROUP";
+
+    private final TaskEventRepository taskEventRepository;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+
+    private final String streamKey;
+
+    private final int partitions;
+
+    private final long streamMaxLength;
+
+    private final int batchSize;
+
+    private final List<String> consumerGroups;
+
+    private final Timer lagTimer;
+
+    private final Counter publishedCounter;
+
+    private volatile LocalDateTime oldestPendingAt;
+
+    public TaskEventRelayService(
+            TaskEventRepository taskEventRepository,
+            StringRedisTemplate stringRedisTemplate,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${taskEvents.relay.enabled}") boolean enabled,
+            @Value("${spring.redis.taskEventsStream}") String streamKey,
+            @Value("${taskEvents.stream.partitions}") int partitions,
+            @Value("${taskEvents.stream.maxLength}") long streamMaxLength,
+            @Value("${taskEvents.relay.batchSize}") int batchSize,
+            @Value("${taskEvents.stream.consumerGroups}") List<String> consumerGroups
+    ) {
+        this.taskEventRepository = taskEventRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.streamKey = streamKey;
+        this.partitions = partitions;
+        this.streamMaxLength = streamMaxLength;
+        this.batchSize = batchSize;
+        this.consumerGroups = consumerGroups;
+
+        this.lagTimer = Timer.builder("task_events.relay.lag")
+                .description("Time between an event being written to the outbox and published to its stream")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("task_events.relay.published")
+                .register(meterRegistry);
+        Gauge.builder("task_events.outbox.oldest_pending.age", this, TaskEventRelayService::oldestPendingAgeSeconds)
+                .description("Age of the oldest event the relay has seen but not published yet")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    // MKSTREAM creates the partition streams, so consumers can start reading
+    // before the first event is published. Groups start from the beginning
+    // of the stream and existing groups keep their position.
+    @PostConstruct
+    public void createConsumerGroups() {
+        if(!enabled) {
+            return;
+        }
+
+        for (int partition = 0; partition < partitions; partition++) {
+            String key = this.partitionKey(partition);
+            for (String group : consumerGroups) {
+                try {
+                    stringRedisTemplate.execute((RedisCallback<String>) connection ->
+                            ((StringRedisConnection) connection).xGroupCreate(key, ReadOffset.from("0"), group, true));
+                    log.info("Consumer group {} created for stream {}", group, key);
+                } catch (DataAccessException e) {
+                    if(e.getMostSpecificCause().getMessage() == null
+                            || !e.getMostSpecificCause().getMessage().contains(BUSY_GROUP_ERROR)) {
+                        throw e;
+                    }
+                }
+            }
+        }
+    }
+
+    // Full batches are followed by the next one right away, so a backlog is
+    // drained in one run instead of one batch per delay.
+    @Scheduled(fixedDelayString = "${taskEvents.relay.fixedDelayMillis}")
+    public void relay() {
+        if(!enabled) {
+            return;
+        }
+
+        try {
+            List<TaskEvent> published;
+            do {
+                published = transactionTemplate.execute(status -> this.relayBatch());
+                this.recordPublished(published);
+            } while (published.size() == batchSize);
+            oldestPendingAt = null;
+        } catch (DataAccessException | TransactionException e) {
+            log.error("Failed to relay task events, they stay in the outbox", e);
+        }
+    }
+
+    public String partitionKey(int partition) {
+        return streamKey + ":" + partition;
+    }
+
+    private List<TaskEvent> relayBatch() {
+        if(!taskEventRepository.tryLockForRelay(RELAY_LOCK_KEY)) {
+            log.info("Task events are relayed by another instance");
+            return List.of();
+        }
+
+        List<TaskEvent> events = taskEventRepository.findAllByOrderByIdAsc(PageRequest.ofSize(batchSize));
+        if(events.isEmpty()) {
+            return events;
+        }
+        oldestPendingAt = events.get(0).getCreatedAt();
+
+        // One round trip for the whole batch, commands of a pipeline are
+        // applied in order, which keeps the per-task order within the batch.
+        XAddOptions options = XAddOptions.maxlen(streamMaxLength).approximateTrimming(true);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+            events.forEach(event -> stringRedisConnection.xAdd(
+                    StreamRecords.string(this.toFields(event))
+                            .withStreamKey(this.partitionKey(Math.floorMod(event.getTaskId(), partitions))),
+                    options
+            ));
+            return null;
+        });
+
+        taskEventRepository.deleteByIdIn(events.stream().map(TaskEvent::getId).toList());
+        log.info("Relayed {} task events, last event id: {}", events.size(), events.get(events.size() - 1).getId());
+        return events;
+    }
+
+    private void recordPublished(List<TaskEvent> events) {
+        LocalDateTime now = LocalDateTime.now();
+        events.forEach(event -> lagTimer.record(Duration.between(event.getCreatedAt(), now)));
+        publishedCounter.increment(events.size());
+    }
+
+    private Map<String, String> toFields(TaskEvent event) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("eventId", event.getId().toString());
+        fields.put("type", event.getType().name());
+        fields.put("taskId", String.valueOf(event.getTaskId()));
+        fields.put("createdAt", event.getCreatedAt().toString());
+        if(event.getCommentId() != null) {
+            fields.put("commentId", event.getCommentId().toString());
+        }
+        if(event.getStatus() != null) {
+            fields.put("status", event.getStatus().name());
+        }
+        if(event.getPriority() != null) {
+            fields.put("priority", event.getPriority().name());
+        }
+        if(event.getAssigneeId() != null) {
+            fields.put("assigneeId", event.getAssigneeId().toString());
+        }
+        if(event.getPreviousAssigneeId() != null) {
+            fields.put("previousAssigneeId", event.getPreviousAssigneeId().toString());
+        }
+        return fields;
+    }
+
+    private double oldestPendingAgeSeconds() {
+        LocalDateTime oldest = oldestPendingAt;
+        return oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,119 @@
+package ru.andreyszdlv.taskmanager.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.andreyszdlv.taskmanager.dto.task.TaskDto;
+import ru.andreyszdlv.taskmanager.enums.TaskExportFormat;
+import ru.andreyszdlv.taskmanager.mapper.TaskMapper;
+import ru.andreyszdlv.taskmanager.model.Task;
+import ru.andreyszdlv.taskmanager.repository.TaskRepository;
+import ru.andreyszdlv.taskmanager.util.TaskSpecifications;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskExportService {
+
+    private static final String CSV_HEADER = "id,title,description,status,priority,createdAt,authorId,assigneeId,commentCount";
+
+    private final TaskRepository taskRepository;
+
+    private final TaskMapper taskMapper;
+
+    private final ObjectMapper objectMapper;
+
+    private final EntityManager entityManager;
+
+    @Value("${taskExport.fetchSize}")
+    private int fetchSize;
+
+    // Rows go from the cursor to the response one by one: nothing but the
+    // current fetch batch and the writer buffer is ever held in memory.
+    @Transactional(readOnly = true)
+    public void exportTasks(String status,
+                            String priority,
+                            Long authorId,
+                            Long assigneeId,
+                            TaskExportFormat format,
+                            OutputStream outputStream
+    ) throws IOException {
+        log.info("Exporting tasks with filters - status: {}, priority: {}, authorId: {}, assigneeId: {}, format: {}",
+                status, priority, authorId, assigneeId, format);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if(format == TaskExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long exported = 0;
+        try (Stream<Task> tasks = taskRepository.streamAll(
+                TaskSpecifications.matchesFilter(status, priority, authorId, assigneeId), fetchSize)) {
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                TaskDto task = taskMapper.toTaskDto(iterator.next());
+                if(format == TaskExportFormat.CSV) {
+                    writeCsvRow(writer, task);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(task));
+                    writer.write('\n');
+                }
+
+                // Exported tasks are never read again, without clearing the
+                // persistence context would grow with the whole result.
+                if(++exported % fetchSize == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        writer.flush();
+
+        log.info("Exported {} tasks", exported);
+    }
+
+    private void writeCsvRow(Writer writer, TaskDto task) throws IOException {
+        writer.write(String.valueOf(task.id()));
+        writer.write(',');
+        writer.write(csvField(task.title()));
+        writer.write(',');
+        writer.write(csvField(task.description()));
+        writer.write(',');
+        writer.write(task.status().name());
+        writer.write(',');
+        writer.write(task.priority().name());
+        writer.write(',');
+        writer.write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(task.createdAt()));
+        writer.write(',');
+        writer.write(String.valueOf(task.authorId()));
+        writer.write(',');
+        writer.write(task.assigneeId() == null ? "" : String.valueOf(task.assigneeId()));
+        writer.write(',');
+        writer.write(String.valueOf(task.commentCount()));
+        writer.write('\n');
+    }
+
+    private String csvField(String value) {
+        if(value == null) {
+            return "";
+        }
+        if(value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,10 @@
+package ru.andreyszdlv.taskmanager.service;
+
+import java.util.Collection;
+
+public interface TaskGenerationService {
+
+    String getGeneration(long taskId);
+
+    void bumpGenerations(Collection<Long> taskIds);
+}
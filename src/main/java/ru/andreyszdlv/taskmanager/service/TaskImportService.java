@@ -0,0 +1,204 @@
+package ru.andreyszdlv.taskmanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.andreyszdlv.taskmanager.dto.task.CreateTaskRequestDto;
+import ru.andreyszdlv.taskmanager.dto.task.TaskImportErrorDto;
+import ru.andreyszdlv.taskmanager.dto.task.TaskImportResultDto;
+import ru.andreyszdlv.taskmanager.enums.TaskEventType;
+import ru.andreyszdlv.taskmanager.mapper.TaskMapper;
+import ru.andreyszdlv.taskmanager.model.Task;
+import ru.andreyszdlv.taskmanager.model.TaskFilterValues;
+import ru.andreyszdlv.taskmanager.model.User;
+import ru.andreyszdlv.taskmanager.repository.TaskRepository;
+import ru.andreyszdlv.taskmanager.repository.UserRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskImportService {
+
+    private final TaskRepository taskRepository;
+
+    private final UserRepository userRepository;
+
+    private final UserService userService;
+
+    private final TaskMapper taskMapper;
+
+    private final TaskListCacheService taskListCacheService;
+
+    private final TaskBitmapIndexService taskBitmapIndexService;
+
+    private final TaskEventOutboxService taskEventOutboxService;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final MessageSource messageSource;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EntityManager entityManager;
+
+    @Value("${taskImport.chunkSize}")
+    private int chunkSize;
+
+    // The body is read one task at a time, either as an NDJSON sequence or
+    // as a JSON array, and only a chunk of valid tasks is kept in memory.
+    // Every chunk is saved in its own transaction, so a bad row or a failed
+    // chunk never rolls back what was already imported.
+    public TaskImportResultDto importTasks(InputStream inputStream) throws IOException {
+        log.info("Importing tasks");
+
+        long authorId = userService.getCurrentUserId();
+        List<TaskImportErrorDto> failed = new ArrayList<>();
+        Map<Long, CreateTaskRequestDto> chunk = new LinkedHashMap<>();
+        long imported = 0;
+        long rows = 0;
+
+        try (MappingIterator<CreateTaskRequestDto> iterator =
+                     objectMapper.readerFor(CreateTaskRequestDto.class).readValues(inputStream)) {
+            while (true) {
+                long row = rows + 1;
+                CreateTaskRequestDto requestDto;
+                try {
+                    if(!iterator.hasNextValue()) {
+                        break;
+                    }
+                    requestDto = iterator.nextValue();
+                } catch (JsonMappingException e) {
+                    log.warn("Task in row {} can not be mapped: {}", row, e.getOriginalMessage());
+                    rows = row;
+                    failed.add(new TaskImportErrorDto(row, List.of(this.getMessage("error.400.task.import.malformed"))));
+                    continue;
+                } catch (JsonProcessingException e) {
+                    // A syntax error leaves the parser in the middle of a token,
+                    // nothing after it can be read reliably.
+                    log.warn("Import stopped at row {}, body is not valid JSON: {}", row, e.getOriginalMessage());
+                    failed.add(new TaskImportErrorDto(row, List.of(this.getMessage("error.400.task.import.malformed"))));
+                    break;
+                }
+                rows = row;
+
+                List<String> errors = this.validate(requestDto);
+                if(!errors.isEmpty()) {
+                    failed.add(new TaskImportErrorDto(row, errors));
+                    continue;
+                }
+
+                chunk.put(row, requestDto);
+                if(chunk.size() >= chunkSize) {
+                    imported += this.saveChunk(chunk, authorId, failed);
+                    chunk.clear();
+                }
+            }
+        }
+        if(!chunk.isEmpty()) {
+            imported += this.saveChunk(chunk, authorId, failed);
+        }
+
+        failed.sort(Comparator.comparingLong(TaskImportErrorDto::row));
+
+        log.info("Imported {} of {} tasks", imported, rows);
+        return new TaskImportResultDto(imported, failed);
+    }
+
+    private long saveChunk(Map<Long, CreateTaskRequestDto> chunk, long authorId, List<TaskImportErrorDto> failed) {
+        Set<Long> assigneeIds = chunk.values().stream()
+                .map(CreateTaskRequestDto::assigneeId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingAssigneeIds = userRepository.findAllById(assigneeIds).stream()
+                .map(User::getId)
+                .collect(Collectors.toSet());
+
+        Map<Long, CreateTaskRequestDto> valid = new LinkedHashMap<>();
+        chunk.forEach((row, requestDto) -> {
+            if(requestDto.assigneeId() != null && !existingAssigneeIds.contains(requestDto.assigneeId())) {
+                failed.add(new TaskImportErrorDto(row, List.of(this.getMessage("error.404.user.not_found"))));
+            } else {
+                valid.put(row, requestDto);
+            }
+        });
+        if(valid.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                User author = userRepository.getReferenceById(authorId);
+                LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+                List<Task> tasks = new ArrayList<>(valid.size());
+                for (CreateTaskRequestDto requestDto : valid.values()) {
+                    Task task = taskMapper.toTask(requestDto);
+                    task.setCreatedAt(createdAt);
+                    task.setAuthor(author);
+                    if(requestDto.assigneeId() != null) {
+                        task.setAssignee(userRepository.getReferenceById(requestDto.assigneeId()));
+                    }
+                    tasks.add(task);
+                }
+
+                taskRepository.saveAll(tasks);
+                taskRepository.flush();
+                tasks.forEach(taskListCacheService::invalidate);
+                tasks.forEach(task -> taskBitmapIndexService.put(TaskFilterValues.of(task)));
+                taskEventOutboxService.tasksChanged(TaskEventType.TASK_CREATED, tasks.stream().map(Task::getId).toList());
+                // Saved tasks are not needed any more, the request keeps one
+                // persistence context for all chunks.
+                entityManager.clear();
+            });
+        } catch (DataAccessException | TransactionException e) {
+            log.error("Failed to save chunk of {} tasks", valid.size(), e);
+            String message = this.getMessage("error.500.task.import.failed");
+            valid.keySet().forEach(row -> failed.add(new TaskImportErrorDto(row, List.of(message))));
+            return 0;
+        }
+
+        log.info("Saved chunk of {} tasks", valid.size());
+        return valid.size();
+    }
+
+    private List<String> validate(CreateTaskRequestDto requestDto) {
+        if(requestDto == null) {
+            return List.of(this.getMessage("error.400.task.import.malformed"));
+        }
+        return validator.validate(requestDto).stream()
+                .map(ConstraintViolation::getMessage)
+                .toList();
+    }
+
+    private String getMessage(String key) {
+        return messageSource.getMessage(key, null, key, LocaleContextHolder.getLocale());
+    }
+}
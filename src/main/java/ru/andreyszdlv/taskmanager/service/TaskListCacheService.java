@@ -0,0 +1,148 @@
+package ru.andreyszdlv.taskmanager.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.andreyszdlv.taskmanager.configuration.CacheConfig;
+import ru.andreyszdlv.taskmanager.dto.task.CachedTaskPageDto;
+import ru.andreyszdlv.taskmanager.dto.task.TaskDto;
+import ru.andreyszdlv.taskmanager.model.Task;
+import ru.andreyszdlv.taskmanager.model.TaskFilterValues;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+public class TaskListCacheService {
+
+    private static final String ALL_TASKS = "all";
+
+    private static final String EPOCH = "epoch";
+
+    private final Cache taskListCache;
+
+    private final TaskListGenerationService taskListGenerationService;
+
+    public TaskListCacheService(
+            CacheManager cacheManager,
+            TaskListGenerationService taskListGenerationService
+    ) {
+        this.taskListCache = cacheManager.getCache(CacheConfig.TASK_LIST_CACHE);
+        this.taskListGenerationService = taskListGenerationService;
+    }
+
+    // A page only depends on the generations of the filter values it was
+    // built with. Any task write bumps the generations of all its values,
+    // before and after the change, so every page that could have contained
+    // the task moves to a new key while pages of other assignees, authors or
+    // statuses stay where they are.
+    public Page<TaskDto> getPage(String status,
+                                 String priority,
+                                 Long authorId,
+                                 Long assigneeId,
+                                 int page,
+                                 int size,
+                                 Supplier<Page<TaskDto>> loader
+    ) {
+        List<String> dimensions = filterDimensions(status, priority, authorId, assigneeId);
+        dimensions.add(EPOCH);
+        List<String> generations = taskListGenerationService.getGenerations(dimensions);
+
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < dimensions.size(); i++) {
+            String generation = generations.get(i);
+            key.append(dimensions.get(i)).append('=').append(generation == null ? "0" : generation).append(',');
+        }
+        key.append("page=").append(page).append(",size=").append(size);
+
+        CachedTaskPageDto cachedPage = taskListCache.get(key.toString(), CachedTaskPageDto.class);
+        if(cachedPage != null) {
+            log.info("Task list cache hit for key: {}", key);
+            return new PageImpl<>(cachedPage.content(), PageRequest.of(page, size), cachedPage.totalElements());
+        }
+
+        log.info("Task list cache miss for key: {}", key);
+        Page<TaskDto> result = loader.get();
+        taskListCache.put(key.toString(), new CachedTaskPageDto(result.getContent(), result.getTotalElements()));
+        return result;
+    }
+
+    // Called with the task as it is before and after a write. The collected
+    // generations are bumped once the transaction commits: bumping earlier
+    // would let a concurrent reader cache the old rows under the new key.
+    public void invalidate(Task task) {
+        this.invalidate(TaskFilterValues.of(task));
+    }
+
+    public void invalidate(TaskFilterValues task) {
+        List<String> dimensions = filterDimensions(
+                task.status().name(),
+                task.priority().name(),
+                task.authorId(),
+                task.assigneeId()
+        );
+        dimensions.add(ALL_TASKS);
+
+        this.invalidateAfterCommit(dimensions);
+    }
+
+    // Set-based deletes only know the filter values their rows were selected
+    // with, which may be stale by the time the rows are deleted, so they move
+    // every cached page to a new key at once.
+    public void invalidateAll() {
+        this.invalidateAfterCommit(List.of(EPOCH));
+    }
+
+    private void invalidateAfterCommit(Collection<String> dimensions) {
+        if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+            taskListGenerationService.bumpGenerations(dimensions);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if(pending == null) {
+            Set<String> transactionPending = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, transactionPending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    taskListGenerationService.bumpGenerations(transactionPending);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TaskListCacheService.this);
+                }
+            });
+            pending = transactionPending;
+        }
+        pending.addAll(dimensions);
+    }
+
+    private List<String> filterDimensions(String status, String priority, Long authorId, Long assigneeId) {
+        List<String> dimensions = new ArrayList<>();
+        if(status != null)
+            dimensions.add("status:" + status);
+        if(priority != null)
+            dimensions.add("priority:" + priority);
+        if(authorId != null)
+            dimensions.add("author:" + authorId);
+        if(assigneeId != null)
+            dimensions.add("assignee:" + assigneeId);
+        if(dimensions.isEmpty())
+            dimensions.add(ALL_TASKS);
+        return dimensions;
+    }
+}
@@ -0,0 +1,11 @@
+package ru.andreyszdlv.taskmanager.service;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskListGenerationService {
+
+    List<String> getGenerations(List<String> dimensions);
+
+    void bumpGenerations(Collection<String> dimensions);
+}
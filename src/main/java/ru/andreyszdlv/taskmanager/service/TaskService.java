@@ -2,37 +2,69 @@ package ru.andreyszdlv.taskmanager.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.andreyszdlv.taskmanager.dto.task.*;
+import ru.andreyszdlv.taskmanager.enums.TaskCountMode;
+import ru.andreyszdlv.taskmanager.enums.TaskEventType;
 import ru.andreyszdlv.taskmanager.enums.TaskPriority;
 import ru.andreyszdlv.taskmanager.enums.TaskStatus;
 import ru.andreyszdlv.taskmanager.exception.AccessDeniedException;
 import ru.andreyszdlv.taskmanager.exception.TaskNotFoundException;
+import ru.andreyszdlv.taskmanager.exception.UserNotFoundException;
 import ru.andreyszdlv.taskmanager.mapper.TaskMapper;
 import ru.andreyszdlv.taskmanager.model.Task;
+import ru.andreyszdlv.taskmanager.model.TaskFilterChange;
+import ru.andreyszdlv.taskmanager.model.TaskFilterValues;
+import ru.andreyszdlv.taskmanager.model.TaskIdPage;
+import ru.andreyszdlv.taskmanager.model.TaskSearchHit;
+import ru.andreyszdlv.taskmanager.model.UpdatedTask;
 import ru.andreyszdlv.taskmanager.model.User;
 import ru.andreyszdlv.taskmanager.repository.TaskRepository;
+import ru.andreyszdlv.taskmanager.util.KeysetCursor;
+import ru.andreyszdlv.taskmanager.util.SearchCursor;
 import ru.andreyszdlv.taskmanager.util.TaskSpecifications;
 import ru.andreyszdlv.taskmanager.validation.AccessControlValidator;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TaskService {
 
+    private static final Sort CURSOR_SORT = Sort.by("createdAt").and(Sort.by("id"));
+
     private final TaskRepository taskRepository;
 
     private final TaskMapper taskMapper;
 
+    private final TaskCacheService taskCacheService;
+
+    private final TaskListCacheService taskListCacheService;
+
+    private final TaskCountService taskCountService;
+
+    private final TaskBitmapIndexService taskBitmapIndexService;
+
+    private final TaskEventOutboxService taskEventOutboxService;
+
     private final UserService userService;
 
     private final AccessControlValidator accessControlValidator;
@@ -44,7 +76,7 @@ public class TaskService {
         Task task = taskMapper.toTask(requestDto);
         log.info("Mapped CreateTaskRequestDto to Task entity");
         task.setCreatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
-        task.setAuthor(userService.getCurrentUser());
+        task.setAuthor(userService.getCurrentUserReference());
 
         if(requestDto.assigneeId() != null) {
             User assignee = userService.getUserByIdOrElseThrow(requestDto.assigneeId());
@@ -53,6 +85,9 @@ public class TaskService {
         }
 
         Task savedTask = taskRepository.save(task);
+        taskListCacheService.invalidate(savedTask);
+        taskBitmapIndexService.put(TaskFilterValues.of(savedTask));
+        taskEventOutboxService.taskChanged(TaskEventType.TASK_CREATED, TaskFilterValues.of(savedTask));
         log.info("Task with id: {} successfully created", savedTask.getId());
 
         return taskMapper.toTaskDto(savedTask);
@@ -66,6 +101,8 @@ public class TaskService {
         log.info("Updating task with id: {}", taskId);
 
         Task task = this.getTaskByIdOrElseThrow(taskId);
+        TaskFilterValues previous = TaskFilterValues.of(task);
+        taskListCacheService.invalidate(previous);
 
         Optional.ofNullable(requestDto.title()).ifPresent(task::setTitle);
         Optional.ofNullable(requestDto.description()).ifPresent(task::setDescription);
@@ -75,11 +112,17 @@ public class TaskService {
                 .ifPresent((status)->task.setStatus(TaskStatus.valueOf(status)));
 
         if(requestDto.assigneeId() != null) {
-            User assignee = userService.getUserByIdOrElseThrow(requestDto.assigneeId());
-            task.setAssignee(assignee);
-            log.info("Task reassigned to user: {}", assignee.getEmail());
+            task.setAssignee(userService.getUserReference(requestDto.assigneeId()));
+            this.flushAssigneeOrElseThrow(requestDto.assigneeId());
+            log.info("Task reassigned to user with id: {}", requestDto.assigneeId());
         }
 
+        taskCacheService.evictTask(taskId);
+        taskListCacheService.invalidate(task);
+        taskBitmapIndexService.put(TaskFilterValues.of(task));
+        taskEventOutboxService.taskChanged(
+                TaskEventType.TASK_UPDATED, new TaskFilterChange(previous, TaskFilterValues.of(task)));
+
         log.info("Task with id: {} successfully updated", taskId);
         return taskMapper.toTaskDto(task);
     }
@@ -88,97 +131,228 @@ public class TaskService {
     public TaskDto updateStatus(long id, UpdateStatusRequestDto requestDto) {
         log.info("Updating status task with id: {}", id);
 
-        Task task = getTaskByIdOrElseThrow(id);
-
-        if(!accessControlValidator.validateAccessTask(task)){
-            log.error("This user not allowed to access task");
-            throw new AccessDeniedException("error.403.access.denied");
-        }
-
-        task.setStatus(TaskStatus.valueOf(requestDto.status()));
+        UpdatedTask task = this.updateOrElseThrow(id, "status", TaskStatus.valueOf(requestDto.status()));
 
         log.info("Task status updated");
-        return taskMapper.toTaskDto(task);
+        return taskMapper.toUpdatedTaskDto(task);
     }
 
     @Transactional
     public TaskDto updatePriority(long id, UpdatePriorityRequestDto requestDto) {
         log.info("Updating priority task with id: {}", id);
 
-        Task task = getTaskByIdOrElseThrow(id);
-
-        task.setPriority(TaskPriority.valueOf(requestDto.priority()));
+        UpdatedTask task = this.updateOrElseThrow(id, "priority", TaskPriority.valueOf(requestDto.priority()));
 
         log.info("Task priority updated");
-        return taskMapper.toTaskDto(task);
+        return taskMapper.toUpdatedTaskDto(task);
     }
 
     @Transactional
     public TaskDto updateAssignee(long id, UpdateAssigneeRequestDto requestDto) {
         log.info("Updating assignee for task with id: {}", id);
 
-        Task task = getTaskByIdOrElseThrow(id);
-
-        task.setAssignee(userService.getUserByIdOrElseThrow(requestDto.assigneeId()));
+        UpdatedTask task;
+        try {
+            task = this.updateOrElseThrow(id, "assignee", requestDto.assigneeId());
+        } catch (DataIntegrityViolationException e) {
+            log.error("User not found with id: {}", requestDto.assigneeId());
+            throw new UserNotFoundException("error.404.user.not_found");
+        }
 
         log.info("Task assignee updated");
-        return taskMapper.toTaskDto(task);
+        return taskMapper.toUpdatedTaskDto(task);
+    }
+
+    // The column is changed by a single statement that checks access in its
+    // own WHERE and returns the row as it was before and after the change,
+    // so the task is never loaded and concurrent updates of the same task
+    // each see the values they actually replaced. Only when no row comes
+    // back is the task looked up again, to tell missing from not accessible.
+    private UpdatedTask updateOrElseThrow(long id, String attribute, Object value) {
+        UpdatedTask task = taskRepository.updateById(id, accessControlValidator.accessibleAssigneeId(), attribute, value)
+                .orElseThrow(() -> {
+                    if(!taskRepository.existsById(id)) {
+                        log.error("Task not found with id: {}", id);
+                        return new TaskNotFoundException("error.404.task.not_found");
+                    }
+                    log.error("This user not allowed to access task");
+                    return new AccessDeniedException("error.403.access.denied");
+                });
+
+        taskCacheService.evictTask(id);
+        taskListCacheService.invalidate(task.change().previous());
+        taskListCacheService.invalidate(task.change().current());
+        taskBitmapIndexService.put(task.change().current());
+        taskEventOutboxService.taskChanged(TaskEventType.TASK_UPDATED, task.change());
+        return task;
+    }
+
+    // The assignee is set as a reference without loading the user, the
+    // foreign key on c_assignee_id is what checks that the user exists.
+    private void flushAssigneeOrElseThrow(long assigneeId) {
+        try {
+            taskRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            log.error("User not found with id: {}", assigneeId);
+            throw new UserNotFoundException("error.404.user.not_found");
+        }
     }
 
     @Transactional
     public void deleteTask(long taskId) {
         log.info("Deleting task with id: {}", taskId);
 
-        this.checkTaskExists(taskId);
+        TaskFilterValues task = this.getTaskFilterValuesOrElseThrow(taskId);
 
-        taskRepository.deleteById(taskId);
+        taskRepository.deleteTaskById(taskId);
+        taskCacheService.evictTask(taskId);
+        taskListCacheService.invalidate(task);
+        taskBitmapIndexService.remove(taskId);
+        taskEventOutboxService.taskDeleted(task);
 
         log.info("Task with id: {} successfully deleted", taskId);
     }
 
     @Transactional(readOnly = true)
-    public TaskDto getTaskById(long taskId) {
+    public TaskDto getTaskById(long taskId, boolean expandComments) {
 
-        Task task = this.getTaskByIdOrElseThrow(taskId);
+        TaskDto task = expandComments
+                ? taskMapper.toTaskDtoWithComments(this.getTaskWithCommentsByIdOrElseThrow(taskId))
+                : taskCacheService.getTask(taskId);
 
-        if(!accessControlValidator.validateAccessTask(task)){
+        if(!accessControlValidator.validateAccessTaskAssignee(task.assigneeId())){
             log.error("This user not allowed to access task");
             throw new AccessDeniedException("error.403.access.denied");
         }
 
-        return taskMapper.toTaskDto(task);
+        return task;
     }
 
+    // Only exact pages go through the list cache: estimate and none already
+    // skip the count, which is what the cache mostly saves. A warm bitmap
+    // index answers every count mode with the exact total and bypasses both.
     @Transactional(readOnly = true)
-    public Page<TaskDto> getAllTasks(String status,
-                                     String priority,
-                                     Long authorId,
-                                     Long assigneeId,
-                                     int page,
-                                     int size
+    public Slice<TaskDto> getAllTasks(String status,
+                                      String priority,
+                                      Long authorId,
+                                      Long assigneeId,
+                                      int page,
+                                      int size,
+                                      boolean expandComments,
+                                      TaskCountMode countMode
     ) {
-        log.info("Getting tasks with filters - status: {}, priority: {}, authorId: {}, assigneeId: {}, page: {}, size: {}",
-                status, priority, authorId, assigneeId, page, size);
+        log.info("Getting tasks with filters - status: {}, priority: {}, authorId: {}, assigneeId: {}, page: {}, size: {}, expandComments: {}, count: {}",
+                status, priority, authorId, assigneeId, page, size, expandComments, countMode);
 
         Pageable pageable = PageRequest.of(page, size);
 
-        Specification<Task> specification = Specification
-                .allOf(
-                        (status != null ? TaskSpecifications.hasStatus(TaskStatus.valueOf(status)) : null),
-                        (priority != null ? TaskSpecifications.hasPriority(TaskPriority.valueOf(priority)) : null),
-                        (authorId != null ? TaskSpecifications.hasAuthor(authorId) : null),
-                        (assigneeId != null ? TaskSpecifications.hasAssignee(assigneeId) : null)
-                );
-
-        Page<TaskDto> result = taskRepository.findAll(specification, pageable).map(taskMapper::toTaskDto);
+        Optional<TaskIdPage> indexedPage = taskBitmapIndexService.findPage(
+                status, priority, authorId, assigneeId, pageable.getOffset(), size);
+        if(indexedPage.isPresent()) {
+            Slice<TaskDto> result = this.toIndexedSlice(indexedPage.get(), pageable, expandComments, countMode);
+            log.info("Found {} tasks on page {} by bitmap index, has next: {}", result.getNumberOfElements(), page, result.hasNext());
+            return result;
+        }
 
-        log.info("Found {} tasks matching criteria", result.getTotalElements());
+        Specification<Task> specification = TaskSpecifications.matchesFilter(status, priority, authorId, assigneeId);
+
+        Slice<TaskDto> result = switch (countMode) {
+            case EXACT -> expandComments
+                    ? taskRepository.findAll(specification, pageable).map(taskMapper::toTaskDtoWithComments)
+                    : taskListCacheService.getPage(status, priority, authorId, assigneeId, page, size,
+                            () -> taskRepository.findAll(specification, pageable).map(taskMapper::toTaskDto));
+            case ESTIMATE -> this.withEstimatedTotal(taskRepository.findSlice(specification, pageable),
+                            specification, status, priority, authorId, assigneeId)
+                    .map(task -> this.toTaskDto(task, expandComments));
+            case NONE -> taskRepository.findSlice(specification, pageable)
+                    .map(task -> this.toTaskDto(task, expandComments));
+        };
+
+        log.info("Found {} tasks on page {}, has next: {}", result.getNumberOfElements(), page, result.hasNext());
         return result;
     }
 
     @Transactional
-    public Page<TaskDto> getAllTasksWhereUserAssignee(String status, String priority, int page, int size) {
-        return getAllTasks(status, priority, null, userService.getCurrentUser().getId(), page, size);
+    public Slice<TaskDto> getAllTasksWhereUserAssignee(String status,
+                                                       String priority,
+                                                       int page,
+                                                       int size,
+                                                       boolean expandComments,
+                                                       TaskCountMode countMode
+    ) {
+        return getAllTasks(status, priority, null, userService.getCurrentUserId(), page, size, expandComments, countMode);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskSliceDto getTasksSlice(String status,
+                                      String priority,
+                                      Long authorId,
+                                      Long assigneeId,
+                                      String cursor,
+                                      int size,
+                                      boolean expandComments
+    ) {
+        log.info("Getting tasks slice with filters - status: {}, priority: {}, authorId: {}, assigneeId: {}, cursor: {}, size: {}, expandComments: {}",
+                status, priority, authorId, assigneeId, cursor, size, expandComments);
+
+        Specification<Task> specification = TaskSpecifications.matchesFilter(status, priority, authorId, assigneeId);
+        if(cursor != null && !cursor.isEmpty()) {
+            specification = specification.and(TaskSpecifications.isAfter(KeysetCursor.decode(cursor)));
+        }
+
+        List<Task> tasks = taskRepository.findBy(
+                specification,
+                query -> query.sortBy(CURSOR_SORT).limit(size + 1).all()
+        );
+
+        String next = null;
+        if(tasks.size() > size) {
+            tasks = tasks.subList(0, size);
+            Task last = tasks.get(size - 1);
+            next = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        log.info("Found {} tasks in slice, has next: {}", tasks.size(), next != null);
+        return new TaskSliceDto(tasks.stream().map(task -> this.toTaskDto(task, expandComments)).toList(), next);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskSliceDto searchTasks(String text,
+                                    String status,
+                                    String priority,
+                                    Long authorId,
+                                    Long assigneeId,
+                                    String cursor,
+                                    int size,
+                                    boolean expandComments
+    ) {
+        log.info("Searching tasks by text: {} with filters - status: {}, priority: {}, authorId: {}, assigneeId: {}, cursor: {}, size: {}, expandComments: {}",
+                text, status, priority, authorId, assigneeId, cursor, size, expandComments);
+
+        Specification<Task> specification = TaskSpecifications.matchesFilter(status, priority, authorId, assigneeId);
+        SearchCursor after = cursor == null || cursor.isEmpty() ? null : SearchCursor.decode(cursor);
+
+        List<TaskSearchHit> hits = taskRepository.search(specification, text, after, size + 1);
+
+        String next = null;
+        if(hits.size() > size) {
+            hits = hits.subList(0, size);
+            TaskSearchHit last = hits.get(size - 1);
+            next = new SearchCursor(last.rank(), last.task().getId()).encode();
+        }
+
+        log.info("Found {} tasks by text, has next: {}", hits.size(), next != null);
+        return new TaskSliceDto(hits.stream().map(hit -> this.toTaskDto(hit.task(), expandComments)).toList(), next);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskSliceDto getTasksSliceWhereUserAssignee(String status,
+                                                       String priority,
+                                                       String cursor,
+                                                       int size,
+                                                       boolean expandComments
+    ) {
+        return getTasksSlice(status, priority, null, userService.getCurrentUserId(), cursor, size, expandComments);
     }
 
     @Transactional(readOnly = true)
@@ -196,14 +370,74 @@ public class TaskService {
         return task;
     }
 
-    private void checkTaskExists(long taskId) {
-        log.info("Checking if task with id: {} exists", taskId);
+    public TaskFilterValues getTaskFilterValuesOrElseThrow(long taskId) {
+        log.info("Getting filter values of task by id: {}", taskId);
 
-        if(!taskRepository.existsById(taskId)) {
-            log.error("Task with id: {} not exist", taskId);
-            throw new TaskNotFoundException("error.404.task.not_found");
+        return taskRepository.findFilterValuesById(taskId)
+                .orElseThrow(() -> {
+                    log.error("Task not found with id: {}", taskId);
+                    return new TaskNotFoundException("error.404.task.not_found");
+                });
+    }
+
+    public Task getTaskReference(long taskId) {
+        return taskRepository.getReferenceById(taskId);
+    }
+
+    private Task getTaskWithCommentsByIdOrElseThrow(long taskId) {
+        log.info("Getting task with comments by id: {}", taskId);
+
+        return taskRepository.findWithCommentsById(taskId)
+                .orElseThrow(() -> {
+                    log.error("Task not found with id: {}", taskId);
+                    return new TaskNotFoundException("error.404.task.not_found");
+                });
+    }
+
+    // Without a next page the slice already knows the exact total, unless it
+    // is empty: a page past the end only says the total is at most its
+    // offset, so the rows are counted instead. Otherwise the estimate is
+    // never allowed to hide the next page, even when it is behind the real
+    // count.
+    private Page<Task> withEstimatedTotal(Slice<Task> slice,
+                                          Specification<Task> specification,
+                                          String status,
+                                          String priority,
+                                          Long authorId,
+                                          Long assigneeId
+    ) {
+        if(!slice.hasContent() && slice.getPageable().getOffset() > 0) {
+            return new PageImpl<>(slice.getContent(), slice.getPageable(), taskRepository.count(specification));
         }
 
-        log.info("Task with id: {} exists", taskId);
+        long seen = slice.getPageable().getOffset() + slice.getNumberOfElements();
+        long total = slice.hasNext()
+                ? Math.max(taskCountService.estimateCount(status, priority, authorId, assigneeId), seen + 1)
+                : seen;
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), total);
+    }
+
+    // Pages from the bitmap index are ordered by id. Tasks deleted after the
+    // ids were selected are simply missing from the page.
+    private Slice<TaskDto> toIndexedSlice(TaskIdPage page,
+                                          Pageable pageable,
+                                          boolean expandComments,
+                                          TaskCountMode countMode
+    ) {
+        Map<Long, Task> tasks = taskRepository.findAllById(page.ids()).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<TaskDto> content = page.ids().stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .map(task -> this.toTaskDto(task, expandComments))
+                .toList();
+
+        return countMode == TaskCountMode.NONE
+                ? new SliceImpl<>(content, pageable, pageable.getOffset() + page.ids().size() < page.total())
+                : new PageImpl<>(content, pageable, page.total());
+    }
+
+    private TaskDto toTaskDto(Task task, boolean expandComments) {
+        return expandComments ? taskMapper.toTaskDtoWithComments(task) : taskMapper.toTaskDto(task);
     }
 }
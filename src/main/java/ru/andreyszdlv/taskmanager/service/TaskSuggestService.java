@@ -0,0 +1,78 @@
+package ru.andreyszdlv.taskmanager.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.andreyszdlv.taskmanager.dto.task.TaskSuggestionDto;
+import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.repository.TaskRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+@Slf4j
+@Service
+public class TaskSuggestService {
+
+    private static final String ALL_TASKS = "all";
+
+    private final TaskRepository taskRepository;
+
+    private final UserService userService;
+
+    private final Cache<String, List<TaskSuggestionDto>> suggestionCache;
+
+    // Suggestions are requested on every keystroke and popular prefixes repeat
+    // across users, so they are kept on this node for a few seconds. Writes
+    // do not evict them: a renamed or new task shows up once the entry expires.
+    public TaskSuggestService(
+            TaskRepository taskRepository,
+            UserService userService,
+            MeterRegistry meterRegistry,
+            @Value("${taskSuggest.cache.maximumSize}") long maximumSize,
+            @Value("${taskSuggest.cache.expireAfterWriteSeconds}") long expireAfterWriteSeconds
+    ) {
+        this.taskRepository = taskRepository;
+        this.userService = userService;
+
+        this.suggestionCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, suggestionCache, "taskSuggestCache");
+    }
+
+    // The same visibility rule as AccessControlValidator: an ADMIN gets
+    // suggestions from all tasks, a USER only from the tasks assigned to them.
+    @Transactional(readOnly = true)
+    public List<TaskSuggestionDto> suggest(String prefix, int limit) {
+        String normalizedPrefix = prefix.trim().toLowerCase(Locale.ROOT);
+        Long assigneeId = userService.getCurrentUserRole() == Role.ADMIN ? null : userService.getCurrentUserId();
+        String key = (assigneeId == null ? ALL_TASKS : assigneeId) + "|" + limit + "|" + normalizedPrefix;
+
+        return suggestionCache.get(key, ignored -> {
+            log.info("Task suggestion cache miss for prefix: {}, assigneeId: {}", normalizedPrefix, assigneeId);
+
+            String pattern = escapeLike(normalizedPrefix) + "%";
+            return (assigneeId == null
+                    ? taskRepository.suggestByTitle(normalizedPrefix, pattern, limit)
+                    : taskRepository.suggestByTitleForAssignee(normalizedPrefix, pattern, assigneeId, limit))
+                    .stream()
+                    .map(view -> new TaskSuggestionDto(view.getId(), view.getTitle()))
+                    .toList();
+        });
+    }
+
+    private String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -17,6 +17,7 @@ import ru.andreyszdlv.taskmanager.exception.UserUnauthenticatedException;
 import ru.andreyszdlv.taskmanager.mapper.UserMapper;
 import ru.andreyszdlv.taskmanager.model.User;
 import ru.andreyszdlv.taskmanager.repository.UserRepository;
+import ru.andreyszdlv.taskmanager.security.JwtPrincipal;
 
 import java.util.List;
 
@@ -76,6 +77,41 @@ public class UserService {
         return user;
     }
 
+    @Transactional(readOnly = true)
+    public long getCurrentUserId(){
+        log.info("Getting current user id");
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if(authentication.getPrincipal() instanceof JwtPrincipal principal && principal.userId() != null){
+            log.info("Current user id taken from token: {}", principal.userId());
+            return principal.userId();
+        }
+
+        log.info("Token without user id, loading current user");
+        return this.getCurrentUser().getId();
+    }
+
+    public User getCurrentUserReference(){
+        return userRepository.getReferenceById(this.getCurrentUserId());
+    }
+
+    public User getUserReference(long id){
+        return userRepository.getReferenceById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public long getUserIdByEmailOrElseThrow(String email){
+        log.info("Getting user id with email {}", email);
+
+        return userRepository.findByEmail(email)
+                .map(User::getId)
+                .orElseThrow(() -> {
+                    log.error("User not found with email: {}", email);
+                    return new UserUnauthenticatedException("error.401.user.unauthenticated");
+                });
+    }
+
     @Transactional
     public void changeRoleToAdmin(long id) {
         log.info("Changing role to admin {}", id);
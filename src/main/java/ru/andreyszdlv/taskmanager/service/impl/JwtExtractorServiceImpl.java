@@ -1,17 +1,23 @@
 package ru.andreyszdlv.taskmanager.service.impl;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.enums.TokenType;
 import ru.andreyszdlv.taskmanager.exception.InvalidTokenException;
+import ru.andreyszdlv.taskmanager.security.JwtPrincipal;
 import ru.andreyszdlv.taskmanager.service.JwtExtractorService;
 
 import javax.crypto.SecretKey;
+import java.time.Instant;
+import java.util.Date;
 import java.util.function.Function;
 
 @Slf4j
@@ -21,6 +27,29 @@ public class JwtExtractorServiceImpl implements JwtExtractorService {
     @Value("${jwt.secret}")
     private String SECRET_KEY;
 
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    public void init() {
+        jwtParser = Jwts.parser()
+                .verifyWith(getSigningKey())
+                .build();
+    }
+
+    public JwtPrincipal extractPrincipal(String token) {
+        log.info("Extract principal from token");
+        Claims claims = extractAllClaims(token);
+        return new JwtPrincipal(
+                claims.get("userId", Long.class),
+                claims.getSubject(),
+                Role.valueOf(claims.get("role", String.class)),
+                claims.get("uniqueId", String.class),
+                toTokenType(claims.get("typ", String.class)),
+                toInstant(claims.getIssuedAt()),
+                toInstant(claims.getExpiration())
+        );
+    }
+
     public String extractUserEmail(String token) {
         log.info("Extract user email from token");
         return extractClaim(token, Claims::getSubject);
@@ -31,6 +60,15 @@ public class JwtExtractorServiceImpl implements JwtExtractorService {
         return Role.valueOf(extractAllClaims(token).get("role").toString());
     }
 
+    // Tokens issued before the typ claim was added have no type.
+    private TokenType toTokenType(String type) {
+        return type == null ? null : TokenType.valueOf(type);
+    }
+
+    private Instant toInstant(Date date) {
+        return date == null ? null : date.toInstant();
+    }
+
     private SecretKey getSigningKey(){
         byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
         return Keys.hmacShaKeyFor(keyBytes);
@@ -44,9 +82,7 @@ public class JwtExtractorServiceImpl implements JwtExtractorService {
     private Claims extractAllClaims(String token) {
         log.info("Extract all claims from token");
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
+            return jwtParser
                     .parseSignedClaims(token)
                     .getPayload();
         }
@@ -3,13 +3,16 @@ package ru.andreyszdlv.taskmanager.service.impl;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.enums.TokenType;
 import ru.andreyszdlv.taskmanager.service.JwtGenerateService;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.util.Date;
 import java.util.Map;
 import java.util.UUID;
@@ -21,16 +24,23 @@ public class JwtGenerateServiceImpl implements JwtGenerateService {
     @Value("${jwt.secret}")
     private String SECRET_KEY;
 
+    private SecretKey signingKey;
+
+    @PostConstruct
+    public void init() {
+        signingKey = getSigningKey();
+    }
+
     @Override
-    public String generateAccessToken(String userEmail, Role role){
+    public String generateAccessToken(long userId, String userEmail, Role role){
         log.info("Generating access token for userEmail: {}", userEmail);
-        return generateToken(userEmail, role);
+        return generateToken(userId, userEmail, role, TokenType.ACCESS, ACCESS_TOKEN_TTL);
     }
 
     @Override
-    public String generateRefreshToken(String userEmail, Role role) {
+    public String generateRefreshToken(long userId, String userEmail, Role role) {
         log.info("Generating refresh token for userEmail: {}", userEmail);
-        return generateToken(userEmail, role);
+        return generateToken(userId, userEmail, role, TokenType.REFRESH, REFRESH_TOKEN_TTL);
     }
 
     private SecretKey getSigningKey(){
@@ -38,17 +48,23 @@ public class JwtGenerateServiceImpl implements JwtGenerateService {
         return Keys.hmacShaKeyFor(keyBytes);
     }
 
-    private String generateToken(String userEmail, Role role){
+    // Both kinds carry the same claims and are signed with the same key, typ is
+    // what keeps a refresh token from being accepted as an access token.
+    private String generateToken(long userId, String userEmail, Role role, TokenType type, Duration ttl){
         String uniqueId = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
 
         return Jwts.builder()
                 .claims(Map.of(
+                        "userId", userId,
                         "role", role.name(),
-                        "uniqueId", uniqueId)
+                        "uniqueId", uniqueId,
+                        "typ", type.name())
                 )
                 .subject(String.valueOf(userEmail))
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .signWith(getSigningKey())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + ttl.toMillis()))
+                .signWith(signingKey)
                 .compact();
     }
 }
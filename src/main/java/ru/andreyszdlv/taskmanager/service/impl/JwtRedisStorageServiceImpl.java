@@ -0,0 +1,108 @@
+package ru.andreyszdlv.taskmanager.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Service;
+import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.security.TokenPair;
+import ru.andreyszdlv.taskmanager.service.JwtGenerateService;
+import ru.andreyszdlv.taskmanager.service.JwtStorageService;
+
+import java.util.List;
+
+@Slf4j
+@Service
+public class JwtRedisStorageServiceImpl implements JwtStorageService {
+
+    private static final String KEY_SEPARATOR = "::";
+
+    private final JwtGenerateService jwtGenerateService;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final String accessTokenKeyPrefix;
+
+    private final String refreshTokenKeyPrefix;
+
+    public JwtRedisStorageServiceImpl(
+            JwtGenerateService jwtGenerateService,
+            StringRedisTemplate stringRedisTemplate,
+            @Value("${spring.redis.accessTokenNameCache}") String accessTokenNameCache,
+            @Value("${spring.redis.refreshTokenNameCache}") String refreshTokenNameCache
+    ) {
+        this.jwtGenerateService = jwtGenerateService;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.accessTokenKeyPrefix = accessTokenNameCache + KEY_SEPARATOR;
+        this.refreshTokenKeyPrefix = refreshTokenNameCache + KEY_SEPARATOR;
+    }
+
+    @Override
+    public TokenPair generateTokens(long userId, String userEmail, Role role) {
+        log.info("Generate access and refresh token for userEmail: {}", userEmail);
+
+        String accessToken = jwtGenerateService.generateAccessToken(userId, userEmail, role);
+        String refreshToken = jwtGenerateService.generateRefreshToken(userId, userEmail, role);
+
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            stringConnection.set(
+                    accessTokenKeyPrefix + userEmail,
+                    accessToken,
+                    Expiration.from(JwtGenerateService.ACCESS_TOKEN_TTL),
+                    RedisStringCommands.SetOption.upsert()
+            );
+            stringConnection.set(
+                    refreshTokenKeyPrefix + userEmail,
+                    refreshToken,
+                    Expiration.from(JwtGenerateService.REFRESH_TOKEN_TTL),
+                    RedisStringCommands.SetOption.upsert()
+            );
+            return null;
+        });
+
+        return new TokenPair(accessToken, refreshToken);
+    }
+
+    @Override
+    public String generateAccessToken(long userId, String userEmail, Role role) {
+        log.info("Generate access token for userEmail: {}", userEmail);
+
+        String accessToken = jwtGenerateService.generateAccessToken(userId, userEmail, role);
+        stringRedisTemplate.opsForValue()
+                .set(accessTokenKeyPrefix + userEmail, accessToken, JwtGenerateService.ACCESS_TOKEN_TTL);
+        return accessToken;
+    }
+
+    @Override
+    public String generateRefreshToken(long userId, String userEmail, Role role) {
+        log.info("Generate refresh token for userEmail: {}", userEmail);
+
+        String refreshToken = jwtGenerateService.generateRefreshToken(userId, userEmail, role);
+        stringRedisTemplate.opsForValue()
+                .set(refreshTokenKeyPrefix + userEmail, refreshToken, JwtGenerateService.REFRESH_TOKEN_TTL);
+        return refreshToken;
+    }
+
+    @Override
+    public String getAccessTokenByUserEmail(String userEmail) {
+        log.info("Get access token for userEmail: {}", userEmail);
+        return stringRedisTemplate.opsForValue().get(accessTokenKeyPrefix + userEmail);
+    }
+
+    @Override
+    public String getRefreshTokenByUserEmail(String userEmail) {
+        log.info("Get refresh token for userEmail: {}", userEmail);
+        return stringRedisTemplate.opsForValue().get(refreshTokenKeyPrefix + userEmail);
+    }
+
+    @Override
+    public void deleteByUserEmail(String userEmail) {
+        log.info("Delete access and refresh token for userEmail: {}", userEmail);
+        stringRedisTemplate.delete(List.of(accessTokenKeyPrefix + userEmail, refreshTokenKeyPrefix + userEmail));
+    }
+}
@@ -0,0 +1,189 @@
+package ru.andreyszdlv.taskmanager.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.security.TokenPair;
+import ru.andreyszdlv.taskmanager.service.AccessTokenRevocationService;
+import ru.andreyszdlv.taskmanager.service.JwtStorageService;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+@Primary
+public class NearCacheJwtStorageServiceImpl implements JwtStorageService, MessageListener {
+
+    private static final String SEPARATOR = "|";
+
+    private final JwtStorageService jwtStorageService;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final AccessTokenRevocationService accessTokenRevocationService;
+
+    private final String invalidationChannel;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Cache<String, String> accessTokenCache;
+
+    private final Timer invalidationLagTimer;
+
+    private final Counter localInvalidationCounter;
+
+    private final Counter remoteInvalidationCounter;
+
+    public NearCacheJwtStorageServiceImpl(
+            @Qualifier("jwtRedisStorageServiceImpl") JwtStorageService jwtStorageService,
+            StringRedisTemplate stringRedisTemplate,
+            AccessTokenRevocationService accessTokenRevocationService,
+            RedisMessageListenerContainer redisMessageListenerContainer,
+            MeterRegistry meterRegistry,
+            @Value("${spring.redis.accessTokenInvalidationChannel}") String invalidationChannel,
+            @Value("${jwt.nearCache.maximumSize}") long maximumSize,
+            @Value("${jwt.nearCache.expireAfterWriteSeconds}") long expireAfterWriteSeconds
+    ) {
+        this.jwtStorageService = jwtStorageService;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.accessTokenRevocationService = accessTokenRevocationService;
+        this.invalidationChannel = invalidationChannel;
+
+        this.accessTokenCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, accessTokenCache, "accessTokenNearCache");
+
+        this.invalidationLagTimer = Timer.builder("jwt.near_cache.invalidation.lag")
+                .description("Time between an invalidation being published and applied on this node")
+                .register(meterRegistry);
+        this.localInvalidationCounter = Counter.builder("jwt.near_cache.invalidations")
+                .tag("source", "local")
+                .register(meterRegistry);
+        this.remoteInvalidationCounter = Counter.builder("jwt.near_cache.invalidations")
+                .tag("source", "remote")
+                .register(meterRegistry);
+
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(invalidationChannel));
+    }
+
+    @Override
+    public TokenPair generateTokens(long userId, String userEmail, Role role) {
+        String previousAccessToken = getPreviousAccessToken(userEmail);
+        String previousRefreshToken = getPreviousRefreshToken(userEmail);
+
+        TokenPair tokenPair = jwtStorageService.generateTokens(userId, userEmail, role);
+        invalidate(userEmail);
+
+        accessTokenRevocationService.revoke(previousAccessToken);
+        accessTokenRevocationService.revoke(previousRefreshToken);
+        return tokenPair;
+    }
+
+    @Override
+    public String generateAccessToken(long userId, String userEmail, Role role) {
+        String previousAccessToken = getPreviousAccessToken(userEmail);
+
+        String accessToken = jwtStorageService.generateAccessToken(userId, userEmail, role);
+        invalidate(userEmail);
+
+        accessTokenRevocationService.revoke(previousAccessToken);
+        return accessToken;
+    }
+
+    @Override
+    public String generateRefreshToken(long userId, String userEmail, Role role) {
+        return jwtStorageService.generateRefreshToken(userId, userEmail, role);
+    }
+
+    @Override
+    public String getAccessTokenByUserEmail(String userEmail) {
+        return accessTokenCache.get(userEmail, jwtStorageService::getAccessTokenByUserEmail);
+    }
+
+    @Override
+    public String getRefreshTokenByUserEmail(String userEmail) {
+        return jwtStorageService.getRefreshTokenByUserEmail(userEmail);
+    }
+
+    @Override
+    public void deleteByUserEmail(String userEmail) {
+        String previousAccessToken = getPreviousAccessToken(userEmail);
+        String previousRefreshToken = getPreviousRefreshToken(userEmail);
+
+        jwtStorageService.deleteByUserEmail(userEmail);
+        invalidate(userEmail);
+
+        accessTokenRevocationService.revoke(previousAccessToken);
+        accessTokenRevocationService.revoke(previousRefreshToken);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+
+        int first = body.indexOf(SEPARATOR);
+        int last = body.lastIndexOf(SEPARATOR);
+        if (first < 0 || first == last) {
+            log.error("Malformed access token invalidation message: {}", body);
+            return;
+        }
+
+        if (nodeId.equals(body.substring(0, first))) {
+            return;
+        }
+
+        String userEmail = body.substring(first + 1, last);
+        long publishedAt = Long.parseLong(body.substring(last + 1));
+
+        accessTokenCache.invalidate(userEmail);
+        remoteInvalidationCounter.increment();
+        invalidationLagTimer.record(
+                Math.max(0, System.currentTimeMillis() - publishedAt),
+                TimeUnit.MILLISECONDS
+        );
+        log.info("Access token near cache invalidated by remote node for userEmail: {}", userEmail);
+    }
+
+    private String getPreviousAccessToken(String userEmail) {
+        return accessTokenRevocationService.isEnabled()
+                ? jwtStorageService.getAccessTokenByUserEmail(userEmail)
+                : null;
+    }
+
+    private String getPreviousRefreshToken(String userEmail) {
+        return accessTokenRevocationService.isEnabled()
+                ? jwtStorageService.getRefreshTokenByUserEmail(userEmail)
+                : null;
+    }
+
+    private void invalidate(String userEmail) {
+        accessTokenCache.invalidate(userEmail);
+        localInvalidationCounter.increment();
+
+        stringRedisTemplate.convertAndSend(
+                invalidationChannel,
+                nodeId + SEPARATOR + userEmail + SEPARATOR + System.currentTimeMillis()
+        );
+        log.info("Access token invalidation published for userEmail: {}", userEmail);
+    }
+}
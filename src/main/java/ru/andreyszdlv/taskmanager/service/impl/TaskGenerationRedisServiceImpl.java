@@ -0,0 +1,53 @@
+package ru.andreyszdlv.taskmanager.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import ru.andreyszdlv.taskmanager.service.TaskGenerationService;
+
+import java.util.Collection;
+
+// One key per task instead of a hash, so generations of tasks nobody writes
+// anymore expire. They outlive the cached task entries twice over: once a
+// generation is gone, every entry written under it has expired too.
+@Slf4j
+@Service
+public class TaskGenerationRedisServiceImpl implements TaskGenerationService {
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final String keyPrefix;
+
+    private final long ttlSeconds;
+
+    public TaskGenerationRedisServiceImpl(
+            StringRedisTemplate stringRedisTemplate,
+            @Value("${spring.redis.taskGenerationsKeyPrefix}") String keyPrefix,
+            @Value("${spring.redis.taskCache.ttlSeconds}") long taskCacheTtlSeconds
+    ) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.ttlSeconds = 2 * taskCacheTtlSeconds;
+    }
+
+    @Override
+    public String getGeneration(long taskId) {
+        return stringRedisTemplate.opsForValue().get(keyPrefix + taskId);
+    }
+
+    @Override
+    public void bumpGenerations(Collection<Long> taskIds) {
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+            taskIds.forEach(taskId -> {
+                stringRedisConnection.incr(keyPrefix + taskId);
+                stringRedisConnection.expire(keyPrefix + taskId, ttlSeconds);
+            });
+            return null;
+        });
+        log.info("Task cache generations bumped for tasks: {}", taskIds);
+    }
+}
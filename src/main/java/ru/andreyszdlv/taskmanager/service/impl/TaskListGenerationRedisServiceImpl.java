@@ -0,0 +1,46 @@
+package ru.andreyszdlv.taskmanager.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import ru.andreyszdlv.taskmanager.service.TaskListGenerationService;
+
+import java.util.Collection;
+import java.util.List;
+
+// Generations live in one Redis hash, so every node builds the same page
+// keys and a bump on one node moves all of them to new keys.
+@Slf4j
+@Service
+public class TaskListGenerationRedisServiceImpl implements TaskListGenerationService {
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final String generationsKey;
+
+    public TaskListGenerationRedisServiceImpl(
+            StringRedisTemplate stringRedisTemplate,
+            @Value("${spring.redis.taskListGenerationsKey}") String generationsKey
+    ) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.generationsKey = generationsKey;
+    }
+
+    @Override
+    public List<String> getGenerations(List<String> dimensions) {
+        return stringRedisTemplate.<String, String>opsForHash().multiGet(generationsKey, dimensions);
+    }
+
+    @Override
+    public void bumpGenerations(Collection<String> dimensions) {
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+            dimensions.forEach(dimension -> stringRedisConnection.hIncrBy(generationsKey, dimension, 1));
+            return null;
+        });
+        log.info("Task list cache generations bumped: {}", dimensions);
+    }
+}
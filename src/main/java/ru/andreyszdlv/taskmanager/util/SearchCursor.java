@@ -0,0 +1,35 @@
+package ru.andreyszdlv.taskmanager.util;
+
+import ru.andreyszdlv.taskmanager.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Position in a ranked search: results are ordered by rank descending and
+// then by id. Float.toString round-trips exactly, so the rank compares
+// equal to the one Postgres returned.
+public record SearchCursor(float rank, long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((rank + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+
+            return new SearchCursor(
+                    Float.parseFloat(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1))
+            );
+        }
+        catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new InvalidCursorException("error.400.cursor.invalid");
+        }
+    }
+}
@@ -1,14 +1,50 @@
 package ru.andreyszdlv.taskmanager.util;
 
+import jakarta.persistence.criteria.AbstractQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.jpa.domain.Specification;
+import ru.andreyszdlv.taskmanager.configuration.TaskSearchFunctionContributor;
 import ru.andreyszdlv.taskmanager.enums.TaskPriority;
 import ru.andreyszdlv.taskmanager.enums.TaskStatus;
 import ru.andreyszdlv.taskmanager.model.Task;
+import ru.andreyszdlv.taskmanager.model.TaskSearchDocument;
+
+import java.util.Collection;
 
 @Slf4j
 public class TaskSpecifications {
 
+    public static Specification<Task> matchesFilter(String status,
+                                                    String priority,
+                                                    Long authorId,
+                                                    Long assigneeId
+    ) {
+        return Specification
+                .allOf(
+                        (status != null ? hasStatus(TaskStatus.valueOf(status)) : null),
+                        (priority != null ? hasPriority(TaskPriority.valueOf(priority)) : null),
+                        (authorId != null ? hasAuthor(authorId) : null),
+                        (assigneeId != null ? hasAssignee(assigneeId) : null)
+                );
+    }
+
+    public static Specification<Task> hasIdIn(Collection<Long> ids) {
+        log.info("Creating specification for {} task ids", ids.size());
+        return (root, query, criteriaBuilder) ->
+                root.get("id").in(ids);
+    }
+
+    public static Specification<Task> hasChangeSeqBetween(long since, long until) {
+        log.info("Creating specification for change sequence after: {} up to: {}", since, until);
+        return (root, query, criteriaBuilder) -> criteriaBuilder.and(
+                criteriaBuilder.greaterThan(root.get("changeSeq"), since),
+                criteriaBuilder.lessThanOrEqualTo(root.get("changeSeq"), until)
+        );
+    }
+
     public static Specification<Task> hasAuthor(Long authorId) {
         log.info("Creating specification for author with id: {}", authorId);
         return (root, query, criteriaBuilder) ->
@@ -32,4 +68,49 @@ public class TaskSpecifications {
         return (root, query, criteriaBuilder) ->
                 criteriaBuilder.equal(root.get("priority"), priority);
     }
+
+    public static Specification<Task> isAfter(KeysetCursor cursor) {
+        log.info("Creating specification for tasks after cursor: {}", cursor);
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.or(
+                        criteriaBuilder.greaterThan(root.get("createdAt"), cursor.createdAt()),
+                        criteriaBuilder.and(
+                                criteriaBuilder.equal(root.get("createdAt"), cursor.createdAt()),
+                                criteriaBuilder.greaterThan(root.get("id"), cursor.id())
+                        )
+                );
+    }
+
+    // The search document is joined as a second root on the primary key, the
+    // match itself is answered by the GIN index on c_search_vector.
+    public static Specification<Task> matchesText(String text) {
+        log.info("Creating specification for text: {}", text);
+        return (root, query, criteriaBuilder) -> {
+            Root<TaskSearchDocument> document = query.from(TaskSearchDocument.class);
+            return criteriaBuilder.and(
+                    criteriaBuilder.equal(document.get("id"), root.get("id")),
+                    criteriaBuilder.isTrue(criteriaBuilder.function(
+                            TaskSearchFunctionContributor.TEXT_MATCH,
+                            Boolean.class,
+                            document.get("vector"),
+                            criteriaBuilder.literal(text)
+                    ))
+            );
+        };
+    }
+
+    // Only valid for a query that matchesText has already been applied to.
+    public static Expression<Float> textRank(AbstractQuery<?> query, CriteriaBuilder criteriaBuilder, String text) {
+        Root<?> document = query.getRoots().stream()
+                .filter(root -> root.getJavaType() == TaskSearchDocument.class)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Query is not filtered by text"));
+
+        return criteriaBuilder.function(
+                TaskSearchFunctionContributor.TEXT_RANK,
+                Float.class,
+                document.get("vector"),
+                criteriaBuilder.literal(text)
+        );
+    }
 }
@@ -1,11 +1,22 @@
 package ru.andreyszdlv.taskmanager.validation;
 
+import org.springframework.data.jpa.domain.Specification;
 import ru.andreyszdlv.taskmanager.model.Comment;
 import ru.andreyszdlv.taskmanager.model.Task;
 
+import java.util.function.Predicate;
+
 public interface AccessControlValidator {
 
     boolean validateAccessTask(Task task);
 
+    boolean validateAccessTaskAssignee(Long assigneeId);
+
+    Specification<Task> accessibleTasks();
+
+    Predicate<Long> accessibleAssignees();
+
+    Long accessibleAssigneeId();
+
     boolean validateAccessComment(Comment comment);
 }
@@ -2,12 +2,19 @@ package ru.andreyszdlv.taskmanager.validation;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import ru.andreyszdlv.taskmanager.enums.TokenType;
+import ru.andreyszdlv.taskmanager.enums.TokenValidationMode;
 import ru.andreyszdlv.taskmanager.exception.InvalidRefreshTokenException;
 import ru.andreyszdlv.taskmanager.exception.InvalidTokenException;
+import ru.andreyszdlv.taskmanager.security.JwtPrincipal;
+import ru.andreyszdlv.taskmanager.service.AccessTokenRevocationService;
 import ru.andreyszdlv.taskmanager.service.JwtStorageService;
 import ru.andreyszdlv.taskmanager.service.JwtExtractorService;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Objects;
 
 @Component
@@ -19,35 +26,79 @@ public class JwtValidator {
 
     private final JwtExtractorService jwtExtractorService;
 
-    public void validateAccessToken(String token) {
+    private final AccessTokenRevocationService accessTokenRevocationService;
+
+    private static final Duration ALLOWED_CLOCK_SKEW = Duration.ofSeconds(30);
+
+    @Value("${jwt.validationMode}")
+    private TokenValidationMode validationMode;
+
+    public JwtPrincipal validateAccessToken(String token) {
         log.info("Validating access token");
 
-        String userEmail = jwtExtractorService.extractUserEmail(token);
-        log.info("Extract userEmail from access token: {}", userEmail);
+        JwtPrincipal principal = jwtExtractorService.extractPrincipal(token);
+        log.info("Extract principal from access token: {}", principal.email());
+
+        // A token without a type predates the typ claim. The exact check still
+        // compares it with the stored access token, the stateless one cannot.
+        if(principal.type() != TokenType.ACCESS
+                && (principal.type() != null || validationMode == TokenValidationMode.STATELESS)) {
+            log.error("Token is not an access token for: {}", principal.email());
+            throw new InvalidTokenException();
+        }
+
+        if (validationMode == TokenValidationMode.STATELESS) {
+            validateTokenLifetime(principal);
+
+            if (!accessTokenRevocationService.mightBeRevoked(principal.tokenId())) {
+                log.info("Access token stateless validation successful for: {}", principal.email());
+                return principal;
+            }
+            log.info("Access token id may be revoked, checking storage for: {}", principal.email());
+        }
 
-        String expectedAccessToken = jwtStorageService.getAccessTokenByUserEmail(userEmail);
+        String expectedAccessToken = jwtStorageService.getAccessTokenByUserEmail(principal.email());
 
         if(Objects.isNull(expectedAccessToken) || !expectedAccessToken.equals(token)) {
-            log.error("Access token validation failed for: {}", userEmail);
+            log.error("Access token validation failed for: {}", principal.email());
             throw new InvalidTokenException();
         }
 
-        log.info("Access token validation successful for: {}", userEmail);
+        log.info("Access token validation successful for: {}", principal.email());
+        return principal;
     }
 
-    public void validateRefreshToken(String token) {
+    public JwtPrincipal validateRefreshToken(String token) {
         log.info("Validating refresh token");
 
-        String userEmail = jwtExtractorService.extractUserEmail(token);
-        log.info("Extract userEmail from refresh token: {}", userEmail);
+        JwtPrincipal principal = jwtExtractorService.extractPrincipal(token);
+        log.info("Extract principal from refresh token: {}", principal.email());
 
-        String expectedRefreshToken = jwtStorageService.getRefreshTokenByUserEmail(userEmail);
+        if(principal.type() == TokenType.ACCESS) {
+            log.error("Token is not a refresh token for: {}", principal.email());
+            throw new InvalidRefreshTokenException("error.401.refresh_token.invalid");
+        }
+
+        String expectedRefreshToken = jwtStorageService.getRefreshTokenByUserEmail(principal.email());
 
         if(Objects.isNull(expectedRefreshToken) || !expectedRefreshToken.equals(token)) {
-            log.error("Refresh token validation failed for: {}", userEmail);
+            log.error("Refresh token validation failed for: {}", principal.email());
             throw new InvalidRefreshTokenException("error.401.refresh_token.invalid");
         }
 
-        log.info("Refresh token validation successful for: {}", userEmail);
+        log.info("Refresh token validation successful for: {}", principal.email());
+        return principal;
+    }
+
+    private void validateTokenLifetime(JwtPrincipal principal) {
+        Instant now = Instant.now();
+
+        if (Objects.isNull(principal.tokenId())
+                || Objects.isNull(principal.issuedAt())
+                || Objects.isNull(principal.expiresAt())
+                || principal.issuedAt().isAfter(now.plus(ALLOWED_CLOCK_SKEW))) {
+            log.error("Access token lifetime claims are invalid for: {}", principal.email());
+            throw new InvalidTokenException();
+        }
     }
 }
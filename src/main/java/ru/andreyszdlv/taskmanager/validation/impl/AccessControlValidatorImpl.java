@@ -2,14 +2,17 @@ package ru.andreyszdlv.taskmanager.validation.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 import ru.andreyszdlv.taskmanager.enums.Role;
 import ru.andreyszdlv.taskmanager.model.Comment;
 import ru.andreyszdlv.taskmanager.model.Task;
 import ru.andreyszdlv.taskmanager.service.UserService;
+import ru.andreyszdlv.taskmanager.util.TaskSpecifications;
 import ru.andreyszdlv.taskmanager.validation.AccessControlValidator;
 
 import java.util.Objects;
+import java.util.function.Predicate;
 
 @Component
 @RequiredArgsConstructor
@@ -19,24 +22,61 @@ public class AccessControlValidatorImpl implements AccessControlValidator {
     private final UserService userService;
 
     public boolean validateAccessTask(Task task) {
-        String email = userService.getCurrentUserEmail();
-
-        log.info("Validating access for taskId: {} and user email: {}",
-                task.getId(),
-                email
-        );
-        return userService.getCurrentUserRole() == Role.ADMIN
-                || (!Objects.isNull(task.getAssignee()) && task.getAssignee().getEmail().equals(email));
+        log.info("Validating access for taskId: {}", task.getId());
+
+        return validateAccessTaskAssignee(Objects.isNull(task.getAssignee()) ? null : task.getAssignee().getId());
+    }
+
+    public boolean validateAccessTaskAssignee(Long assigneeId) {
+        if(userService.getCurrentUserRole() == Role.ADMIN)
+            return true;
+
+        long userId = userService.getCurrentUserId();
+        log.info("Validating task assignee for user id: {}", userId);
+        return !Objects.isNull(assigneeId) && assigneeId.equals(userId);
+    }
+
+    // The same rule as validateAccessTaskAssignee, as a predicate for queries
+    // that touch many tasks without loading them.
+    public Specification<Task> accessibleTasks() {
+        if(userService.getCurrentUserRole() == Role.ADMIN)
+            return Specification.where(null);
+
+        long userId = userService.getCurrentUserId();
+        log.info("Restricting tasks to assignee with user id: {}", userId);
+        return TaskSpecifications.hasAssignee(userId);
+    }
+
+    // The same rule again, resolved for the current user once, so it can be
+    // applied to task assignees later, outside of the request.
+    public Predicate<Long> accessibleAssignees() {
+        if(userService.getCurrentUserRole() == Role.ADMIN)
+            return assigneeId -> true;
+
+        long userId = userService.getCurrentUserId();
+        log.info("Restricting assignees to user id: {}", userId);
+        return assigneeId -> !Objects.isNull(assigneeId) && assigneeId.equals(userId);
+    }
+
+    // The same rule for native statements: the only assignee whose tasks the
+    // current user may access, null when they may access every task.
+    public Long accessibleAssigneeId() {
+        if(userService.getCurrentUserRole() == Role.ADMIN)
+            return null;
+
+        long userId = userService.getCurrentUserId();
+        log.info("Restricting native statements to assignee with user id: {}", userId);
+        return userId;
     }
 
     public boolean validateAccessComment(Comment comment) {
-        String email = userService.getCurrentUserEmail();
-
-        log.info("Validating access for commentId: {} and user email: {}",
-                comment.getId(),
-                email
-        );
-        return userService.getCurrentUserRole() == Role.ADMIN
-                || comment.getAuthor().getEmail().equals(email);
+        log.info("Validating access for commentId: {}", comment.getId());
+
+        if(userService.getCurrentUserRole() == Role.ADMIN)
+            return true;
+
+        long userId = userService.getCurrentUserId();
+        log.info("Validating comment author for user id: {}", userId);
+        return comment.getAuthor().getId().equals(userId);
     }
 }
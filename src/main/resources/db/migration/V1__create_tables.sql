@@ -0,0 +1,29 @@
+CREATE TABLE IF NOT EXISTS t_users
+(
+    c_id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    c_name     VARCHAR(50)  NOT NULL,
+    c_email    VARCHAR(255) NOT NULL UNIQUE,
+    c_password VARCHAR(100) NOT NULL,
+    c_role     VARCHAR(255) NOT NULL CHECK (c_role IN ('ADMIN', 'USER'))
+);
+
+CREATE TABLE IF NOT EXISTS t_tasks
+(
+    c_id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    c_title       VARCHAR(255) NOT NULL,
+    c_description VARCHAR(1000),
+    c_status      VARCHAR(255) NOT NULL CHECK (c_status IN ('WAITING', 'IN_PROGRESS', 'COMPLETED')),
+    c_priority    VARCHAR(255) NOT NULL CHECK (c_priority IN ('HIGH', 'MEDIUM', 'LOW')),
+    c_created_at  TIMESTAMP(0) NOT NULL,
+    c_author_id   BIGINT       NOT NULL REFERENCES t_users (c_id),
+    c_assignee_id BIGINT REFERENCES t_users (c_id)
+);
+
+CREATE TABLE IF NOT EXISTS t_comments
+(
+    c_id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    c_content    VARCHAR(1000) NOT NULL,
+    c_created_at TIMESTAMP(0)  NOT NULL,
+    c_task_id    BIGINT        NOT NULL REFERENCES t_tasks (c_id),
+    c_author_id  BIGINT        NOT NULL REFERENCES t_users (c_id)
+);
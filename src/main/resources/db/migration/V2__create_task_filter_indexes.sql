@@ -0,0 +1,33 @@
+-- Postgres does not index foreign keys on its own. Every index below is
+-- matched to the predicates TaskService builds from TaskSpecifications:
+-- any subset of (status, priority, author, assignee), optionally ordered
+-- by (created_at, id) for cursor pagination.
+
+-- author, author + status, author + status + priority, author + priority
+CREATE INDEX IF NOT EXISTS idx_tasks_author_status_priority
+    ON t_tasks (c_author_id, c_status, c_priority);
+
+-- assignee, assignee + status, assignee + status + priority, assignee + priority.
+-- Unassigned tasks are never looked up by assignee, so they are left out.
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_status_priority
+    ON t_tasks (c_assignee_id, c_status, c_priority)
+    WHERE c_assignee_id IS NOT NULL;
+
+-- status, status + priority
+CREATE INDEX IF NOT EXISTS idx_tasks_status_priority
+    ON t_tasks (c_status, c_priority);
+
+-- priority
+CREATE INDEX IF NOT EXISTS idx_tasks_priority
+    ON t_tasks (c_priority);
+
+-- unfiltered cursor pagination
+CREATE INDEX IF NOT EXISTS idx_tasks_created_at_id
+    ON t_tasks (c_created_at, c_id);
+
+-- comments of a task in creation order, also covers the c_task_id foreign key
+CREATE INDEX IF NOT EXISTS idx_comments_task_created_at_id
+    ON t_comments (c_task_id, c_created_at, c_id);
+
+CREATE INDEX IF NOT EXISTS idx_comments_author
+    ON t_comments (c_author_id);
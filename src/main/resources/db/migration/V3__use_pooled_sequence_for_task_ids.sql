@@ -0,0 +1,14 @@
+-- An identity column makes Hibernate insert tasks one statement at a time,
+-- because it has to read every generated id back. Ids now come from a
+-- sequence that hands out blocks of 50 (pooled-lo), so bulk inserts can be
+-- sent as JDBC batches. INCREMENT BY must match allocationSize on Task.
+CREATE SEQUENCE IF NOT EXISTS t_tasks_seq INCREMENT BY 50;
+
+SELECT setval('t_tasks_seq', (SELECT COALESCE(MAX(c_id), 0) + 1 FROM t_tasks), false);
+
+-- Inserts that do not go through Hibernate keep getting ids from the column
+-- default. With pooled-lo each of them takes a whole block's start value, so
+-- it can never collide with a block already handed to the application.
+ALTER TABLE t_tasks ALTER COLUMN c_id DROP IDENTITY IF EXISTS;
+ALTER TABLE t_tasks ALTER COLUMN c_id SET DEFAULT nextval('t_tasks_seq');
+ALTER SEQUENCE t_tasks_seq OWNED BY t_tasks.c_id;
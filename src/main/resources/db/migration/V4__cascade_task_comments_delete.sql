@@ -0,0 +1,31 @@
+-- Comments are removed by the database together with their task, so a task
+-- is deleted with a single statement and its comments are never loaded.
+-- Covered by idx_comments_task_created_at_id, the cascade does not scan.
+--
+-- A database adopted with baseline-on-migrate was created by Hibernate and
+-- its key has a generated name, so every key from c_task_id to t_tasks is
+-- dropped whatever it is called.
+DO
+$$
+DECLARE
+    v_constraint NAME;
+BEGIN
+    FOR v_constraint IN
+        SELECT con.conname
+        FROM pg_constraint con
+                 JOIN pg_attribute att
+                      ON att.attrelid = con.conrelid AND att.attnum = ANY (con.conkey)
+        WHERE con.contype = 'f'
+          AND con.conrelid = 't_comments'::regclass
+          AND con.confrelid = 't_tasks'::regclass
+          AND array_length(con.conkey, 1) = 1
+          AND att.attname = 'c_task_id'
+        LOOP
+            EXECUTE format('ALTER TABLE t_comments DROP CONSTRAINT %I', v_constraint);
+        END LOOP;
+END
+$$;
+
+ALTER TABLE t_comments
+    ADD CONSTRAINT t_comments_c_task_id_fkey
+        FOREIGN KEY (c_task_id) REFERENCES t_tasks (c_id) ON DELETE CASCADE;
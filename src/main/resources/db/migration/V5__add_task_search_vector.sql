@@ -0,0 +1,78 @@
+-- Full-text search document of a task: title (weight A), description (B)
+-- and the content of all its comments (C). The 'russian' configuration
+-- stems Cyrillic words with the Russian and Latin words with the English
+-- snowball stemmer.
+ALTER TABLE t_tasks
+    ADD COLUMN IF NOT EXISTS c_search_vector TSVECTOR;
+
+CREATE OR REPLACE FUNCTION task_search_vector(p_task_id BIGINT, p_title VARCHAR, p_description VARCHAR)
+    RETURNS TSVECTOR
+    LANGUAGE sql
+    STABLE
+AS
+$$
+SELECT setweight(to_tsvector('russian', coalesce(p_title, '')), 'A')
+           || setweight(to_tsvector('russian', coalesce(p_description, '')), 'B')
+           || setweight(to_tsvector('russian', coalesce(
+        (SELECT string_agg(c.c_content, ' ') FROM t_comments c WHERE c.c_task_id = p_task_id), '')), 'C')
+$$;
+
+CREATE OR REPLACE FUNCTION t_tasks_search_vector_trigger()
+    RETURNS TRIGGER
+    LANGUAGE plpgsql
+AS
+$$
+BEGIN
+    NEW.c_search_vector := task_search_vector(NEW.c_id, NEW.c_title, NEW.c_description);
+    RETURN NEW;
+END
+$$;
+
+-- Status, priority and assignee updates do not touch the document.
+CREATE TRIGGER trg_tasks_search_vector
+    BEFORE INSERT OR UPDATE OF c_title, c_description
+    ON t_tasks
+    FOR EACH ROW
+EXECUTE FUNCTION t_tasks_search_vector_trigger();
+
+-- Statement level, so a statement touching many comments of the same task,
+-- like the cascade of a task delete, rebuilds each document only once.
+CREATE OR REPLACE FUNCTION t_comments_search_vector_trigger()
+    RETURNS TRIGGER
+    LANGUAGE plpgsql
+AS
+$$
+BEGIN
+    UPDATE t_tasks t
+    SET c_search_vector = task_search_vector(t.c_id, t.c_title, t.c_description)
+    WHERE t.c_id IN (SELECT DISTINCT c_task_id FROM changed_comments);
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_comments_insert_search_vector
+    AFTER INSERT
+    ON t_comments
+    REFERENCING NEW TABLE AS changed_comments
+    FOR EACH STATEMENT
+EXECUTE FUNCTION t_comments_search_vector_trigger();
+
+CREATE TRIGGER trg_comments_update_search_vector
+    AFTER UPDATE
+    ON t_comments
+    REFERENCING NEW TABLE AS changed_comments
+    FOR EACH STATEMENT
+EXECUTE FUNCTION t_comments_search_vector_trigger();
+
+CREATE TRIGGER trg_comments_delete_search_vector
+    AFTER DELETE
+    ON t_comments
+    REFERENCING OLD TABLE AS changed_comments
+    FOR EACH STATEMENT
+EXECUTE FUNCTION t_comments_search_vector_trigger();
+
+UPDATE t_tasks
+SET c_search_vector = task_search_vector(c_id, c_title, c_description);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_search_vector
+    ON t_tasks USING GIN (c_search_vector);
@@ -0,0 +1,6 @@
+-- Serves both the prefix (ILIKE 'abc%') and the fuzzy (<% word similarity)
+-- branch of the title suggestions, for any prefix of at least 3 characters.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_title_trgm
+    ON t_tasks USING GIN (c_title gin_trgm_ops);
@@ -0,0 +1,16 @@
+-- Outbox of task and comment changes, written in the transaction of the
+-- change itself and drained by TaskEventRelayService into Redis Streams.
+-- Rows only live until they are published, so there is no foreign key to
+-- the task: the event of a deleted task must outlive it.
+CREATE TABLE IF NOT EXISTS t_task_events
+(
+    c_id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    c_task_id     BIGINT       NOT NULL,
+    c_type        VARCHAR(255) NOT NULL CHECK (c_type IN ('TASK_CREATED', 'TASK_UPDATED', 'TASK_DELETED',
+                                                          'COMMENT_CREATED', 'COMMENT_DELETED')),
+    c_comment_id  BIGINT,
+    c_status      VARCHAR(255),
+    c_priority    VARCHAR(255),
+    c_assignee_id BIGINT,
+    c_created_at  TIMESTAMP(3) NOT NULL
+);
@@ -0,0 +1,331 @@
+-- Delta sync: every task, comment and tombstone carries a change number, so
+-- "what changed after N" is a range scan on three indexes. Writers never
+-- draw numbers: triggers only clear the number of the row they write and
+-- record the writing transaction, which covers JPA writes, bulk statements
+-- and the search vector refresh (it changes commentCount of the task) alike.
+-- sequence_changes() numbers the rows it can see, which are committed ones
+-- only, so a number is never handed out below a change that commits later,
+-- and neither side waits for the other: rows locked by a writer are skipped
+-- and numbered on the next call.
+--
+-- The watermark is the last number handed out, every row at or below it is
+-- committed. The horizon is the highest number of a purged tombstone, a
+-- client that synced before it may have missed a delete.
+CREATE TABLE IF NOT EXISTS t_change_state
+(
+    c_id        SMALLINT PRIMARY KEY CHECK (c_id = 1),
+    c_watermark BIGINT NOT NULL,
+    c_horizon   BIGINT NOT NULL
+);
+
+-- c_assignee_changed marks a task whose assignee changed since it was last
+-- numbered, its comments are numbered again right after it: the new
+-- assignee has never seen them, and they would otherwise keep their old
+-- numbers.
+ALTER TABLE t_tasks
+    ADD COLUMN IF NOT EXISTS c_change_seq       BIGINT,
+    ADD COLUMN IF NOT EXISTS c_change_xid       XID8,
+    ADD COLUMN IF NOT EXISTS c_assignee_changed BOOLEAN NOT NULL DEFAULT FALSE;
+
+ALTER TABLE t_comments
+    ADD COLUMN IF NOT EXISTS c_change_seq BIGINT,
+    ADD COLUMN IF NOT EXISTS c_change_xid XID8;
+
+-- Numbering a comment updates it, which must not rebuild the search
+-- document of its task and make the task pending again.
+CREATE OR REPLACE FUNCTION t_comments_update_search_vector_trigger()
+    RETURNS TRIGGER
+    LANGUAGE plpgsql
+AS
+$$
+BEGIN
+    UPDATE t_tasks t
+    SET c_search_vector = task_search_vector(t.c_id, t.c_title, t.c_description)
+    WHERE t.c_id IN (SELECT n.c_task_id
+                     FROM changed_comments n
+                              JOIN previous_comments o ON o.c_id = n.c_id
+                     WHERE n.c_content IS DISTINCT FROM o.c_content
+                        OR n.c_task_id IS DISTINCT FROM o.c_task_id
+                     UNION
+                     SELECT o.c_task_id
+                     FROM changed_comments n
+                              JOIN previous_comments o ON o.c_id = n.c_id
+                     WHERE n.c_task_id IS DISTINCT FROM o.c_task_id);
+    RETURN NULL;
+END
+$$;
+
+DROP TRIGGER IF EXISTS trg_comments_update_search_vector ON t_comments;
+
+CREATE TRIGGER trg_comments_update_search_vector
+    AFTER UPDATE
+    ON t_comments
+    REFERENCING OLD TABLE AS previous_comments NEW TABLE AS changed_comments
+    FOR EACH STATEMENT
+EXECUTE FUNCTION t_comments_update_search_vector_trigger();
+
+UPDATE t_tasks t
+SET c_change_seq = n.seq
+FROM (SELECT c_id, row_number() OVER (ORDER BY c_id) AS seq FROM t_tasks) n
+WHERE t.c_id = n.c_id;
+
+UPDATE t_comments c
+SET c_change_seq = n.seq
+FROM (SELECT c_id, (SELECT count(*) FROM t_tasks) + row_number() OVER (ORDER BY c_id) AS seq
+      FROM t_comments) n
+WHERE c.c_id = n.c_id;
+
+INSERT INTO t_change_state (c_id, c_watermark, c_horizon)
+VALUES (1, (SELECT count(*) FROM t_tasks) + (SELECT count(*) FROM t_comments), 0)
+ON CONFLICT DO NOTHING;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_change_seq
+    ON t_tasks (c_change_seq);
+
+-- the changes of the tasks assigned to a user
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_change_seq
+    ON t_tasks (c_assignee_id, c_change_seq)
+    WHERE c_assignee_id IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_comments_change_seq
+    ON t_comments (c_change_seq);
+
+-- the rows sequence_changes() still has to number
+CREATE INDEX IF NOT EXISTS idx_tasks_change_pending
+    ON t_tasks (c_change_xid)
+    WHERE c_change_seq IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_comments_change_pending
+    ON t_comments (c_change_xid)
+    WHERE c_change_seq IS NULL;
+
+-- A number set by an update is sequence_changes() itself, any other write
+-- makes the row pending again.
+CREATE OR REPLACE FUNCTION stamp_change_seq_trigger()
+    RETURNS TRIGGER
+    LANGUAGE plpgsql
+AS
+$$
+BEGIN
+    IF TG_OP = 'UPDATE' AND NEW.c_change_seq IS NOT NULL AND NEW.c_change_seq IS DISTINCT FROM OLD.c_change_seq THEN
+        RETURN NEW;
+    END IF;
+    NEW.c_change_seq := NULL;
+    NEW.c_change_xid := pg_current_xact_id();
+    RETURN NEW;
+END
+$$;
+
+CREATE OR REPLACE FUNCTION stamp_task_change_seq_trigger()
+    RETURNS TRIGGER
+    LANGUAGE plpgsql
+AS
+$$
+BEGIN
+    IF TG_OP = 'UPDATE' AND NEW.c_change_seq IS NOT NULL AND NEW.c_change_seq IS DISTINCT FROM OLD.c_change_seq THEN
+        RETURN NEW;
+    END IF;
+    IF TG_OP = 'UPDATE' AND NEW.c_assignee_id IS NOT NULL AND NEW.c_assignee_id IS DISTINCT FROM OLD.c_assignee_id THEN
+        NEW.c_assignee_changed := TRUE;
+    END IF;
+    NEW.c_change_seq := NULL;
+    NEW.c_change_xid := pg_current_xact_id();
+    RETURN NEW;
+END
+$$;
+
+CREATE TRIGGER trg_tasks_change_seq
+    BEFORE INSERT OR UPDATE
+    ON t_tasks
+    FOR EACH ROW
+EXECUTE FUNCTION stamp_task_change_seq_trigger();
+
+CREATE TRIGGER trg_comments_change_seq
+    BEFORE INSERT OR UPDATE
+    ON t_comments
+    FOR EACH ROW
+EXECUTE FUNCTION stamp_change_seq_trigger();
+
+-- TASK_UNASSIGNED tells the previous assignee that the task left their view,
+-- the task itself still exists and is not reported to admins.
+CREATE TABLE IF NOT EXISTS t_tombstones
+(
+    c_id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    c_change_seq  BIGINT,
+    c_change_xid  XID8         NOT NULL DEFAULT pg_current_xact_id(),
+    c_kind        VARCHAR(255) NOT NULL CHECK (c_kind IN ('TASK_DELETED', 'TASK_UNASSIGNED', 'COMMENT_DELETED')),
+    c_entity_id   BIGINT       NOT NULL,
+    c_task_id     BIGINT       NOT NULL,
+    c_assignee_id BIGINT,
+    c_deleted_at  TIMESTAMP(3) NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_tombstones_change_seq
+    ON t_tombstones (c_change_seq);
+
+CREATE INDEX IF NOT EXISTS idx_tombstones_assignee_change_seq
+    ON t_tombstones (c_assignee_id, c_change_seq)
+    WHERE c_assignee_id IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_tombstones_change_pending
+    ON t_tombstones (c_change_xid)
+    WHERE c_change_seq IS NULL;
+
+CREATE OR REPLACE FUNCTION t_tasks_tombstone_trigger()
+    RETURNS TRIGGER
+    LANGUAGE plpgsql
+AS
+$$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        INSERT INTO t_tombstones (c_kind, c_entity_id, c_task_id, c_assignee_id, c_deleted_at)
+        VALUES ('TASK_DELETED', OLD.c_id, OLD.c_id, OLD.c_assignee_id, now());
+        RETURN OLD;
+    END IF;
+
+    INSERT INTO t_tombstones (c_kind, c_entity_id, c_task_id, c_assignee_id, c_deleted_at)
+    VALUES ('TASK_UNASSIGNED', OLD.c_id, OLD.c_id, OLD.c_assignee_id, now());
+    RETURN NEW;
+END
+$$;
+
+CREATE TRIGGER trg_tasks_delete_tombstone
+    AFTER DELETE
+    ON t_tasks
+    FOR EACH ROW
+EXECUTE FUNCTION t_tasks_tombstone_trigger();
+
+CREATE TRIGGER trg_tasks_unassign_tombstone
+    AFTER UPDATE OF c_assignee_id
+    ON t_tasks
+    FOR EACH ROW
+    WHEN (OLD.c_assignee_id IS NOT NULL AND OLD.c_assignee_id IS DISTINCT FROM NEW.c_assignee_id)
+EXECUTE FUNCTION t_tasks_tombstone_trigger();
+
+-- Comments removed by the cascade of a task delete get no tombstone of
+-- their own: the task is already gone when they are deleted, and the
+-- tombstone of the task covers them.
+CREATE OR REPLACE FUNCTION t_comments_tombstone_trigger()
+    RETURNS TRIGGER
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    v_assignee_id BIGINT;
+BEGIN
+    SELECT c_assignee_id INTO v_assignee_id FROM t_tasks WHERE c_id = OLD.c_task_id;
+    IF NOT FOUND THEN
+        RETURN OLD;
+    END IF;
+
+    INSERT INTO t_tombstones (c_kind, c_entity_id, c_task_id, c_assignee_id, c_deleted_at)
+    VALUES ('COMMENT_DELETED', OLD.c_id, OLD.c_task_id, v_assignee_id, now());
+    RETURN OLD;
+END
+$$;
+
+CREATE TRIGGER trg_comments_delete_tombstone
+    AFTER DELETE
+    ON t_comments
+    FOR EACH ROW
+EXECUTE FUNCTION t_comments_tombstone_trigger();
+
+-- Numbers the committed pending rows of the three tables in one go, in the
+-- order their transactions started, and returns the new watermark. The
+-- comments of a reassigned task take the numbers right after the task.
+-- Only one caller numbers at a time, the others return the current
+-- watermark right away instead of waiting.
+CREATE OR REPLACE FUNCTION sequence_changes()
+    RETURNS BIGINT
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    v_watermark BIGINT;
+BEGIN
+    IF NOT pg_try_advisory_xact_lock(hashtext('t_change_state')) THEN
+        RETURN (SELECT c_watermark FROM t_change_state WHERE c_id = 1);
+    END IF;
+
+    SELECT c_watermark INTO v_watermark FROM t_change_state WHERE c_id = 1;
+
+    WITH pending_tasks AS (SELECT c_id, c_change_xid, c_assignee_changed
+                           FROM t_tasks
+                           WHERE c_change_seq IS NULL
+                               FOR UPDATE SKIP LOCKED),
+         pending_comments AS (SELECT c_id, c_change_xid
+                              FROM t_comments
+                              WHERE c_change_seq IS NULL
+                                  FOR UPDATE SKIP LOCKED),
+         reassigned_comments AS (SELECT c.c_id, p.c_change_xid
+                                 FROM t_comments c
+                                          JOIN pending_tasks p ON p.c_id = c.c_task_id
+                                 WHERE p.c_assignee_changed
+                                   AND c.c_change_seq IS NOT NULL
+                                     FOR UPDATE OF c SKIP LOCKED),
+         pending_tombstones AS (SELECT c_id, c_change_xid
+                                FROM t_tombstones
+                                WHERE c_change_seq IS NULL
+                                    FOR UPDATE SKIP LOCKED),
+         numbered AS (SELECT p.source,
+                             p.c_id,
+                             v_watermark + row_number() OVER (ORDER BY p.c_change_xid, p.source, p.c_id) AS seq
+                      FROM (SELECT 1 AS source, c_id, c_change_xid FROM pending_tasks
+                            UNION ALL
+                            SELECT 2, c_id, c_change_xid FROM pending_comments
+                            UNION ALL
+                            SELECT 2, c_id, c_change_xid FROM reassigned_comments
+                            UNION ALL
+                            SELECT 3, c_id, c_change_xid FROM pending_tombstones) p),
+         numbered_tasks AS (UPDATE t_tasks t
+             SET c_change_seq = n.seq,
+                 c_assignee_changed = FALSE
+             FROM numbered n
+             WHERE n.source = 1 AND t.c_id = n.c_id),
+         numbered_comments AS (UPDATE t_comments c
+             SET c_change_seq = n.seq
+             FROM numbered n
+             WHERE n.source = 2 AND c.c_id = n.c_id),
+         numbered_tombstones AS (UPDATE t_tombstones d
+             SET c_change_seq = n.seq
+             FROM numbered n
+             WHERE n.source = 3 AND d.c_id = n.c_id)
+    SELECT coalesce(max(seq), v_watermark)
+    INTO v_watermark
+    FROM numbered;
+
+    UPDATE t_change_state
+    SET c_watermark = v_watermark
+    WHERE c_id = 1;
+
+    RETURN v_watermark;
+END
+$$;
+
+-- Deletes the numbered tombstones older than the given time and moves the
+-- horizon past them.
+CREATE OR REPLACE FUNCTION purge_tombstones(p_deleted_before TIMESTAMP)
+    RETURNS INTEGER
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    v_horizon BIGINT;
+    v_purged  INTEGER;
+BEGIN
+    WITH purged AS (
+        DELETE FROM t_tombstones
+            WHERE c_change_seq IS NOT NULL AND c_deleted_at < p_deleted_before
+            RETURNING c_change_seq)
+    SELECT max(c_change_seq), count(*)
+    INTO v_horizon, v_purged
+    FROM purged;
+
+    IF v_purged > 0 THEN
+        UPDATE t_change_state
+        SET c_horizon = greatest(c_horizon, v_horizon)
+        WHERE c_id = 1;
+    END IF;
+    RETURN v_purged;
+END
+$$;
@@ -0,0 +1,4 @@
+-- Set only on events of a task that was reassigned by the change, so the
+-- previous assignee learns the task is no longer theirs.
+ALTER TABLE t_task_events
+    ADD COLUMN IF NOT EXISTS c_previous_assignee_id BIGINT;
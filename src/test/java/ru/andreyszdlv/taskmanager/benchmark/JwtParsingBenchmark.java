@@ -0,0 +1,93 @@
+package ru.andreyszdlv.taskmanager.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.service.impl.JwtExtractorServiceImpl;
+import ru.andreyszdlv.taskmanager.service.impl.JwtGenerateServiceImpl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * perRequestBefore reproduces the former filter pipeline (three parses, each with a freshly
+ * decoded key and a new parser), perRequestAfter is the single parse with a cached parser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtParsingBenchmark {
+
+    private static final String SECRET = "kkfkdkfkkirjh23njfdjfsdnkno13ifoewn312jh4fjenw21";
+
+    private JwtExtractorServiceImpl jwtExtractorService;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        JwtGenerateServiceImpl jwtGenerateService = new JwtGenerateServiceImpl();
+        ReflectionTestUtils.setField(jwtGenerateService, "SECRET_KEY", SECRET);
+        jwtGenerateService.init();
+        token = jwtGenerateService.generateAccessToken(1L, "user@email.com", Role.USER);
+
+        jwtExtractorService = new JwtExtractorServiceImpl();
+        ReflectionTestUtils.setField(jwtExtractorService, "SECRET_KEY", SECRET);
+        jwtExtractorService.init();
+    }
+
+    @Benchmark
+    public void perRequestBefore(Blackhole blackhole) {
+        blackhole.consume(parseWithNewParser(token).getSubject());
+        blackhole.consume(parseWithNewParser(token).getSubject());
+        blackhole.consume(Role.valueOf(parseWithNewParser(token).get("role").toString()));
+    }
+
+    @Benchmark
+    public void perRequestAfter(Blackhole blackhole) {
+        blackhole.consume(jwtExtractorService.extractPrincipal(token));
+    }
+
+    private Claims parseWithNewParser(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtParsingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
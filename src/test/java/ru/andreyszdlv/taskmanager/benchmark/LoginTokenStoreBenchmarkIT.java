@@ -0,0 +1,141 @@
+package ru.andreyszdlv.taskmanager.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.redis.testcontainers.RedisContainer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.security.TokenPair;
+import ru.andreyszdlv.taskmanager.service.JwtGenerateService;
+import ru.andreyszdlv.taskmanager.service.impl.JwtGenerateServiceImpl;
+import ru.andreyszdlv.taskmanager.service.impl.JwtRedisStorageServiceImpl;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Token-write part of login against a real Redis: "before" is the former pair of @CachePut writes
+ * through RedisCacheManager (two round trips), "after" is the pipelined JwtRedisStorageServiceImpl.
+ */
+@Testcontainers
+class LoginTokenStoreBenchmarkIT {
+
+    private static final String SECRET = "kkfkdkfkkirjh23njfdjfsdnkno13ifoewn312jh4fjenw21";
+
+    private static final int WARMUP_ITERATIONS = 1_000;
+
+    private static final int MEASURED_ITERATIONS = 10_000;
+
+    @Container
+    static RedisContainer redisContainer =
+            new RedisContainer(DockerImageName.parse("redis:latest")).withExposedPorts(6379).waitingFor(Wait.forListeningPort());
+
+    static LettuceConnectionFactory connectionFactory;
+
+    static JwtGenerateServiceImpl jwtGenerateService;
+
+    @BeforeAll
+    static void setUp() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redisContainer.getHost(), redisContainer.getMappedPort(6379))
+        );
+        connectionFactory.afterPropertiesSet();
+
+        jwtGenerateService = new JwtGenerateServiceImpl();
+        ReflectionTestUtils.setField(jwtGenerateService, "SECRET_KEY", SECRET);
+        jwtGenerateService.init();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void loginTokenWrites_P99() {
+        RedisCacheManager cacheManager = RedisCacheManager.builder(connectionFactory)
+                .withInitialCacheConfigurations(Map.of(
+                        "accessTokenCache",
+                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(JwtGenerateService.ACCESS_TOKEN_TTL),
+                        "refreshTokenCache",
+                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(JwtGenerateService.REFRESH_TOKEN_TTL)
+                ))
+                .build();
+        cacheManager.afterPropertiesSet();
+        Cache accessTokenCache = cacheManager.getCache("accessTokenCache");
+        Cache refreshTokenCache = cacheManager.getCache("refreshTokenCache");
+
+        StringRedisTemplate stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        JwtRedisStorageServiceImpl jwtStorageService = new JwtRedisStorageServiceImpl(
+                jwtGenerateService,
+                stringRedisTemplate,
+                "accessTokenCache",
+                "refreshTokenCache"
+        );
+
+        long[] before = measure(i -> {
+            String email = "user" + i + "@email.com";
+            accessTokenCache.put(email, jwtGenerateService.generateAccessToken(i, email, Role.USER));
+            refreshTokenCache.put(email, jwtGenerateService.generateRefreshToken(i, email, Role.USER));
+        });
+        long[] after = measure(i -> {
+            String email = "user" + i + "@email.com";
+            jwtStorageService.generateTokens(i, email, Role.USER);
+        });
+
+        System.out.printf(
+                "login token writes, %d iterations: before p50=%dus p99=%dus, after p50=%dus p99=%dus%n",
+                MEASURED_ITERATIONS,
+                percentile(before, 0.50), percentile(before, 0.99),
+                percentile(after, 0.50), percentile(after, 0.99)
+        );
+
+        TokenPair tokenPair = jwtStorageService.generateTokens(1L, "check@email.com", Role.USER);
+        assertEquals(tokenPair.accessToken(), jwtStorageService.getAccessTokenByUserEmail("check@email.com"));
+        assertEquals(tokenPair.refreshToken(), jwtStorageService.getRefreshTokenByUserEmail("check@email.com"));
+        assertTrue(stringRedisTemplate.getExpire("accessTokenCache::check@email.com") > 0);
+    }
+
+    private long[] measure(Iteration iteration) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            iteration.run(i);
+        }
+
+        long[] samples = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            iteration.run(i);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private long percentile(long[] sortedSamples, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedSamples.length) - 1;
+        return sortedSamples[Math.max(0, index)] / 1_000;
+    }
+
+    @FunctionalInterface
+    private interface Iteration {
+        void run(int i);
+    }
+}
@@ -0,0 +1,111 @@
+package ru.andreyszdlv.taskmanager.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.andreyszdlv.taskmanager.util.IdBitmap;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving one page and the total of a status + priority + assignee filter over one million
+ * tasks: columnScan checks every task like a sequential scan over in-memory columns would,
+ * bitmapAnd intersects the per-value bitmaps the way TaskBitmapIndexService does. The comparison
+ * against the SQL path on a real Postgres is TaskBitmapIndexIT.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskBitmapIndexBenchmark {
+
+    private static final int TASKS = 1_000_000;
+
+    private static final int USERS = 1_000;
+
+    private static final int PAGE_SIZE = 20;
+
+    private byte[] statuses;
+
+    private byte[] priorities;
+
+    private int[] assignees;
+
+    private IdBitmap waiting;
+
+    private IdBitmap high;
+
+    private IdBitmap assignee;
+
+    // Skewed like TaskIndexExplainIT: WAITING and HIGH are rare, the
+    // assignee is one of a thousand users.
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        statuses = new byte[TASKS];
+        priorities = new byte[TASKS];
+        assignees = new int[TASKS];
+        waiting = new IdBitmap();
+        high = new IdBitmap();
+        assignee = new IdBitmap();
+
+        for (int id = 0; id < TASKS; id++) {
+            statuses[id] = (byte) (random.nextInt(100) < 5 ? 0 : 2);
+            priorities[id] = (byte) (random.nextInt(100) < 10 ? 0 : 2);
+            assignees[id] = random.nextInt(USERS);
+
+            if(statuses[id] == 0)
+                waiting.add(id);
+            if(priorities[id] == 0)
+                high.add(id);
+            if(assignees[id] == 7)
+                assignee.add(id);
+        }
+    }
+
+    @Benchmark
+    public void columnScan(Blackhole blackhole) {
+        int[] page = new int[PAGE_SIZE];
+        int total = 0;
+        for (int id = 0; id < TASKS; id++) {
+            if(statuses[id] == 0 && priorities[id] == 0 && assignees[id] == 7) {
+                if(total < PAGE_SIZE) {
+                    page[total] = id;
+                }
+                total++;
+            }
+        }
+        blackhole.consume(page);
+        blackhole.consume(total);
+    }
+
+    @Benchmark
+    public void bitmapAnd(Blackhole blackhole) {
+        IdBitmap matching = assignee.and(waiting).and(high);
+        blackhole.consume(matching.select(0, PAGE_SIZE));
+        blackhole.consume(matching.cardinality());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TaskBitmapIndexBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(options).run();
+    }
+}
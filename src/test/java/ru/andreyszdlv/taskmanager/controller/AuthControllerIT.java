@@ -189,6 +189,7 @@ class AuthControllerIT extends BaseIT{
         assertEquals(email, jwtExtractorService.extractUserEmail(responseDto.refreshToken()));
         assertEquals(role, jwtExtractorService.extractRole(responseDto.accessToken()));
         assertEquals(role, jwtExtractorService.extractRole(responseDto.refreshToken()));
+        assertEquals(user.getId(), jwtExtractorService.extractPrincipal(responseDto.accessToken()).userId());
     }
 
     @Test
@@ -259,8 +260,8 @@ class AuthControllerIT extends BaseIT{
     void refreshToken_Returns201_WhenDataValidAndTokenValid() throws Exception {
         String email = "email@email.ru";
         Role role = Role.USER;
-        String refreshToken = jwtStorageService.generateRefreshToken(email, role);
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String refreshToken = jwtStorageService.generateRefreshToken(NOT_EXISTING_USER_ID, email, role);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, email, role);
         RefreshTokenRequestDto requestDto = new RefreshTokenRequestDto(refreshToken);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .post(BASE_URL+"/refresh")
@@ -305,9 +306,9 @@ class AuthControllerIT extends BaseIT{
     void refreshToken_Returns409_WhenDataValidAndTokenInvalid() throws Exception {
         String email = "email@email.ru";
         Role role = Role.USER;
-        String validRefreshToken = jwtStorageService.generateRefreshToken(email, role);
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
-        String invalidRefreshToken = jwtGenerateService.generateRefreshToken(email, role);
+        String validRefreshToken = jwtStorageService.generateRefreshToken(NOT_EXISTING_USER_ID, email, role);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, email, role);
+        String invalidRefreshToken = jwtGenerateService.generateRefreshToken(NOT_EXISTING_USER_ID, email, role);
         RefreshTokenRequestDto requestDto = new RefreshTokenRequestDto(invalidRefreshToken);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .post(BASE_URL+"/refresh")
@@ -329,8 +330,8 @@ class AuthControllerIT extends BaseIT{
     void logout_Returns204_WhenTokenValid() throws Exception {
         String email = "email@email.ru";
         Role role = Role.USER;
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
-        jwtStorageService.generateRefreshToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, email, role);
+        jwtStorageService.generateRefreshToken(NOT_EXISTING_USER_ID, email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .post(BASE_URL+"/logout")
                 .header("Authorization", "Bearer " + accessToken);
@@ -348,9 +349,9 @@ class AuthControllerIT extends BaseIT{
     void logout_Returns403_WhenTokenInvalid() throws Exception {
         String email = "email@email.ru";
         Role role = Role.USER;
-        String validAccessToken = jwtStorageService.generateAccessToken(email, role);
-        String invalidAccessToken = jwtGenerateService.generateAccessToken(email, role);
-        String refreshToken = jwtStorageService.generateRefreshToken(email, role);
+        String validAccessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, email, role);
+        String invalidAccessToken = jwtGenerateService.generateAccessToken(NOT_EXISTING_USER_ID, email, role);
+        String refreshToken = jwtStorageService.generateRefreshToken(NOT_EXISTING_USER_ID, email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .post(BASE_URL+"/logout")
                 .header("Authorization", "Bearer " + invalidAccessToken);
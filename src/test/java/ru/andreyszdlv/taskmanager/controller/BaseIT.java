@@ -4,4 +4,6 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 @SpringBootTest
 abstract class BaseIT {
+
+    static final long NOT_EXISTING_USER_ID = Long.MAX_VALUE;
 }
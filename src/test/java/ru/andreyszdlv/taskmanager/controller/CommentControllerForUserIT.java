@@ -104,7 +104,7 @@ public class CommentControllerForUserIT extends BaseIT {
         task.setAuthor(author);
         task.setAssignee(assignee);
         long taskId = taskRepository.save(task).getId();
-        String accessToken = jwtStorageService.generateAccessToken(emailAssignee, roleAssignee);
+        String accessToken = jwtStorageService.generateAccessToken(assignee.getId(), emailAssignee, roleAssignee);
         String content = "content";
         CreateCommentRequestDto requestDto = new CreateCommentRequestDto(content);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
@@ -146,7 +146,7 @@ public class CommentControllerForUserIT extends BaseIT {
         task.setCreatedAt(LocalDateTime.now());
         task.setAuthor(author);
         long taskId = taskRepository.save(task).getId();
-        String accessToken = jwtStorageService.generateAccessToken(emailAssignee, roleAssignee);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, emailAssignee, roleAssignee);
         String content = "content";
         CreateCommentRequestDto requestDto = new CreateCommentRequestDto(content);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
@@ -167,7 +167,7 @@ public class CommentControllerForUserIT extends BaseIT {
         String emailAssignee = "assignee@assignee.com";
         Role roleAssignee = Role.USER;
         long taskId = 1L;
-        String accessToken = jwtStorageService.generateAccessToken(emailAssignee, roleAssignee);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, emailAssignee, roleAssignee);
         String content = "content";
         CreateCommentRequestDto requestDto = new CreateCommentRequestDto(content);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
@@ -189,7 +189,7 @@ public class CommentControllerForUserIT extends BaseIT {
     void createComment_Returns400_WhenDataInvalid() throws Exception {
         String emailAssignee = "assignee@assignee.com";
         Role roleAssignee = Role.USER;
-        String accessToken = jwtStorageService.generateAccessToken(emailAssignee, roleAssignee);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, emailAssignee, roleAssignee);
         String content = "    ";
         CreateCommentRequestDto requestDto = new CreateCommentRequestDto(content);
         long taskId = 1L;
@@ -239,7 +239,7 @@ public class CommentControllerForUserIT extends BaseIT {
         comment.setAuthor(authorComment);
         comment.setTask(task);
         long commentId = commentRepository.save(comment).getId();
-        String accessToken = jwtStorageService.generateAccessToken(emailAuthorComment, roleAuthorComment);
+        String accessToken = jwtStorageService.generateAccessToken(authorComment.getId(), emailAuthorComment, roleAuthorComment);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .delete(BASE_URL+"/comments/{commentId}", commentId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -277,7 +277,7 @@ public class CommentControllerForUserIT extends BaseIT {
         comment.setAuthor(admin);
         comment.setTask(task);
         long commentId = commentRepository.save(comment).getId();
-        String accessToken = jwtStorageService.generateAccessToken(emailUser, roleUser);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, emailUser, roleUser);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .delete(BASE_URL+"/comments/{commentId}", commentId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -297,7 +297,7 @@ public class CommentControllerForUserIT extends BaseIT {
     void deleteComment_Returns404_WhenCommentNotExists() throws Exception {
         String email = "user@user.com";
         Role role = Role.USER;
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, email, role);
         long commentId = 1L;
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .delete(BASE_URL + "/comments/{commentId}", commentId)
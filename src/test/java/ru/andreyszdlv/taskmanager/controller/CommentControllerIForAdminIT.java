@@ -32,6 +32,7 @@ import ru.andreyszdlv.taskmanager.service.JwtStorageService;
 
 import java.time.LocalDateTime;
 
+import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -98,7 +99,7 @@ class CommentControllerIForAdminIT extends BaseIT {
         long taskId = taskRepository.save(task).getId();
         String content = "content";
         CreateCommentRequestDto requestDto = new CreateCommentRequestDto(content);
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(user.getId(), email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .post(BASE_URL+"/{taskId}/comments", taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -123,7 +124,7 @@ class CommentControllerIForAdminIT extends BaseIT {
         String content = "    ";
         CreateCommentRequestDto requestDto = new CreateCommentRequestDto(content);
         long taskId = 1L;
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .post(BASE_URL+"/{taskId}/comments", taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -146,7 +147,7 @@ class CommentControllerIForAdminIT extends BaseIT {
         String content = "content";
         CreateCommentRequestDto requestDto = new CreateCommentRequestDto(content);
         long taskId = 1L;
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .post(BASE_URL+"/{taskId}/comments", taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -187,7 +188,7 @@ class CommentControllerIForAdminIT extends BaseIT {
         comment.setAuthor(savedUser);
         comment.setTask(taskRepository.save(task));
         long commentId = commentRepository.save(comment).getId();
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(user.getId(), email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .delete(BASE_URL+"/comments/{commentId}", commentId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -205,7 +206,7 @@ class CommentControllerIForAdminIT extends BaseIT {
         String email = "admin@admin.com";
         Role role = Role.ADMIN;
         long commentId = 1L;
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .delete(BASE_URL + "/comments/{commentId}", commentId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -219,4 +220,77 @@ class CommentControllerIForAdminIT extends BaseIT {
 
         assertEquals(0, commentRepository.count());
     }
-}
\ No newline at end of file
+
+    @Test
+    @Transactional
+    void getComments_ReturnsSlicesInCreationOrder() throws Exception {
+        String email = "admin@admin.com";
+        Role role = Role.ADMIN;
+        User user = new User();
+        user.setName("name");
+        user.setEmail(email);
+        user.setRole(role);
+        user.setPassword("password");
+        userRepository.save(user);
+        Task task = new Task();
+        task.setTitle("title");
+        task.setDescription("description");
+        task.setPriority(TaskPriority.HIGH);
+        task.setStatus(TaskStatus.WAITING);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setAuthor(user);
+        Task savedTask = taskRepository.save(task);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 12, 12, 12, 30);
+        for (int i = 0; i < 3; i++) {
+            Comment comment = new Comment();
+            comment.setContent("content" + i);
+            comment.setCreatedAt(createdAt.plusMinutes(i));
+            comment.setAuthor(user);
+            comment.setTask(savedTask);
+            commentRepository.save(comment);
+        }
+        String accessToken = jwtStorageService.generateAccessToken(user.getId(), email, role);
+
+        String responseString = mockMvc.perform(MockMvcRequestBuilders
+                .get(BASE_URL + "/{taskId}/comments", savedTask.getId())
+                .param("size", "2")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpectAll(
+                status().isOk(),
+                content().contentType(MediaType.APPLICATION_JSON),
+                jsonPath("$.content", hasSize(2)),
+                jsonPath("$.content[0].content").value("content0"),
+                jsonPath("$.content[1].content").value("content1"),
+                jsonPath("$.next").exists()
+        ).andReturn().getResponse().getContentAsString();
+        String next = objectMapper.readTree(responseString).get("next").asText();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(BASE_URL + "/{taskId}/comments", savedTask.getId())
+                .param("size", "2")
+                .param("cursor", next)
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpectAll(
+                status().isOk(),
+                jsonPath("$.content", hasSize(1)),
+                jsonPath("$.content[0].content").value("content2"),
+                jsonPath("$.next").doesNotExist()
+        );
+    }
+
+    @Test
+    void getComments_Returns404_WhenTaskNotExists() throws Exception {
+        String email = "admin@admin.com";
+        Role role = Role.ADMIN;
+        long taskId = 1L;
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, email, role);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(BASE_URL + "/{taskId}/comments", taskId)
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpectAll(
+                status().isNotFound(),
+                content().contentType(MediaType.APPLICATION_PROBLEM_JSON)
+        );
+    }
+}
@@ -0,0 +1,255 @@
+package ru.andreyszdlv.taskmanager.controller;
+
+import com.redis.testcontainers.RedisContainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.model.Task;
+import ru.andreyszdlv.taskmanager.model.TaskIdPage;
+import ru.andreyszdlv.taskmanager.repository.TaskRepository;
+import ru.andreyszdlv.taskmanager.service.JwtStorageService;
+import ru.andreyszdlv.taskmanager.service.TaskBitmapIndexService;
+import ru.andreyszdlv.taskmanager.util.TaskSpecifications;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@Testcontainers
+public class TaskBitmapIndexIT extends BaseIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest");
+
+    @Container
+    static RedisContainer redisContainer =
+            new RedisContainer(DockerImageName.parse("redis:latest")).withExposedPorts(6379).waitingFor(Wait.forListeningPort());
+
+    @DynamicPropertySource
+    static void dynamicProperties(DynamicPropertyRegistry registry){
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+
+        registry.add("spring.data.redis.host", redisContainer::getHost);
+        registry.add("spring.data.redis.port", ()->redisContainer.getMappedPort(6379).toString());
+
+        registry.add("taskBitmapIndex.enabled", () -> true);
+    }
+
+    static final int USERS = 200;
+
+    static final int TASKS = 50_000;
+
+    static final int WARMUP_ITERATIONS = 200;
+
+    static final int MEASURED_ITERATIONS = 1_000;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    JwtStorageService jwtStorageService;
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    TaskBitmapIndexService taskBitmapIndexService;
+
+    long adminId;
+
+    long firstUserId;
+
+    // Same skew as TaskIndexExplainIT. The rows are inserted behind the
+    // index's back, so it is rebuilt once they are committed.
+    @BeforeEach
+    void seed() {
+        if(jdbcTemplate.queryForObject("SELECT count(*) FROM t_users", Long.class) > 0) {
+            adminId = jdbcTemplate.queryForObject("SELECT c_id FROM t_users WHERE c_role = 'ADMIN'", Long.class);
+            firstUserId = jdbcTemplate.queryForObject("SELECT min(c_id) FROM t_users WHERE c_role = 'USER'", Long.class);
+            return;
+        }
+
+        adminId = jdbcTemplate.queryForObject("""
+                INSERT INTO t_users (c_name, c_email, c_password, c_role)
+                VALUES ('admin', 'admin@admin.com', 'password', 'ADMIN')
+                RETURNING c_id
+                """, Long.class);
+        jdbcTemplate.update("""
+                INSERT INTO t_users (c_name, c_email, c_password, c_role)
+                SELECT 'user' || i, 'user' || i || '@bitmap.com', 'password', 'USER'
+                FROM generate_series(1, ?) i
+                """, USERS);
+        firstUserId = jdbcTemplate.queryForObject("SELECT min(c_id) FROM t_users WHERE c_role = 'USER'", Long.class);
+
+        jdbcTemplate.update("""
+                INSERT INTO t_tasks (c_id, c_title, c_status, c_priority, c_created_at, c_author_id, c_assignee_id)
+                SELECT i,
+                       'Task ' || i,
+                       CASE i % 100 WHEN 0 THEN 'WAITING' WHEN 1 THEN 'IN_PROGRESS' ELSE 'COMPLETED' END,
+                       CASE i % 97 WHEN 0 THEN 'HIGH' WHEN 1 THEN 'MEDIUM' ELSE 'LOW' END,
+                       TIMESTAMP '2024-01-01' + i * INTERVAL '1 minute',
+                       ? + i % ?,
+                       CASE WHEN i % 10 = 0 THEN NULL ELSE ? + i % 7 END
+                FROM generate_series(1, ?) i
+                """, firstUserId, USERS, firstUserId, TASKS);
+        jdbcTemplate.execute("SELECT setval('t_tasks_seq', (SELECT max(c_id) + 1 FROM t_tasks), false)");
+        jdbcTemplate.execute("ANALYZE t_users, t_tasks");
+
+        taskBitmapIndexService.rebuild();
+        assertTrue(taskBitmapIndexService.isWarm());
+    }
+
+    @Test
+    void getAllTasks_ReturnsSamePageAndTotalAsSql() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(adminId, "admin@admin.com", Role.ADMIN);
+        long assigneeId = firstUserId + 3;
+        List<Long> expectedIds = jdbcTemplate.queryForList("""
+                SELECT c_id FROM t_tasks
+                WHERE c_priority = 'LOW' AND c_assignee_id = ?
+                ORDER BY c_id
+                LIMIT 20 OFFSET 40
+                """, Long.class, assigneeId);
+        long expectedTotal = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM t_tasks WHERE c_priority = 'LOW' AND c_assignee_id = ?", Long.class, assigneeId);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/tasks")
+                .param("priority", "LOW")
+                .param("assigneeId", String.valueOf(assigneeId))
+                .param("page", "2")
+                .param("size", "20")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpectAll(
+                status().isOk(),
+                jsonPath("$.content", hasSize(20)),
+                jsonPath("$.content[0].id").value(expectedIds.get(0)),
+                jsonPath("$.content[19].id").value(expectedIds.get(19)),
+                jsonPath("$.totalElements").value(expectedTotal)
+        );
+    }
+
+    @Test
+    void findPage_MatchesSqlForEveryFilterCombination() {
+        String[][] filters = {
+                {null, null},
+                {"WAITING", null},
+                {null, "HIGH"},
+                {"WAITING", "LOW"},
+                {"IN_PROGRESS", "MEDIUM"},
+        };
+        Long[] assignees = {null, firstUserId, firstUserId + 6, NOT_EXISTING_USER_ID};
+
+        for (String[] filter : filters) {
+            for (Long assigneeId : assignees) {
+                Long authorId = assigneeId == null ? firstUserId + 1 : null;
+                TaskIdPage page = taskBitmapIndexService.findPage(filter[0], filter[1], authorId, assigneeId, 0, TASKS)
+                        .orElseThrow();
+                Page<Task> expected = taskRepository.findAll(
+                        TaskSpecifications.matchesFilter(filter[0], filter[1], authorId, assigneeId),
+                        PageRequest.of(0, TASKS)
+                );
+
+                String message = Arrays.toString(filter) + ", author " + authorId + ", assignee " + assigneeId;
+                assertEquals(expected.getTotalElements(), page.total(), message);
+                assertEquals(expected.getContent().stream().map(Task::getId).sorted().toList(), page.ids(), message);
+            }
+        }
+    }
+
+    @Test
+    void taskServiceWrites_KeepIndexCurrent() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(adminId, "admin@admin.com", Role.ADMIN);
+        long taskId = jdbcTemplate.queryForObject(
+                "SELECT min(c_id) FROM t_tasks WHERE c_status = 'COMPLETED' AND c_assignee_id IS NOT NULL", Long.class);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .patch("/api/tasks/" + taskId + "/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\": \"WAITING\"}")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isOk());
+
+        assertTrue(indexedIds("WAITING").contains(taskId));
+        assertFalse(indexedIds("COMPLETED").contains(taskId));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .delete("/api/tasks/" + taskId)
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isNoContent());
+
+        assertFalse(indexedIds("WAITING").contains(taskId));
+        assertFalse(indexedIds(null).contains(taskId));
+    }
+
+    @Test
+    void filterLatency_IndexVsSql() {
+        String status = "WAITING";
+        String priority = "LOW";
+        long assigneeId = firstUserId + 2;
+        PageRequest pageable = PageRequest.of(0, 20);
+
+        long[] sql = measure(() -> taskRepository.findAll(
+                TaskSpecifications.matchesFilter(status, priority, null, assigneeId), pageable));
+        long[] index = measure(() -> taskRepository.findAllById(taskBitmapIndexService
+                .findPage(status, priority, null, assigneeId, pageable.getOffset(), pageable.getPageSize())
+                .orElseThrow()
+                .ids()));
+
+        System.out.printf(
+                "filtered page with total, %d tasks, %d iterations: sql p50=%dus p99=%dus, bitmap index p50=%dus p99=%dus%n",
+                TASKS, MEASURED_ITERATIONS,
+                percentile(sql, 0.50), percentile(sql, 0.99),
+                percentile(index, 0.50), percentile(index, 0.99)
+        );
+    }
+
+    private List<Long> indexedIds(String status) {
+        return taskBitmapIndexService.findPage(status, null, null, null, 0, TASKS).orElseThrow().ids();
+    }
+
+    private long[] measure(Supplier<?> iteration) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            iteration.get();
+        }
+
+        long[] samples = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            iteration.get();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private long percentile(long[] sortedSamples, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedSamples.length) - 1;
+        return sortedSamples[Math.max(0, index)] / 1_000;
+    }
+}
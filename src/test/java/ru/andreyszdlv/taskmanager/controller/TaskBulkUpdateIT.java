@@ -0,0 +1,317 @@
+package ru.andreyszdlv.taskmanager.controller;
+
+import com.redis.testcontainers.RedisContainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.enums.TaskPriority;
+import ru.andreyszdlv.taskmanager.enums.TaskStatus;
+import ru.andreyszdlv.taskmanager.model.Comment;
+import ru.andreyszdlv.taskmanager.model.Task;
+import ru.andreyszdlv.taskmanager.model.TaskEvent;
+import ru.andreyszdlv.taskmanager.model.User;
+import ru.andreyszdlv.taskmanager.repository.CommentRepository;
+import ru.andreyszdlv.taskmanager.repository.TaskEventRepository;
+import ru.andreyszdlv.taskmanager.repository.TaskRepository;
+import ru.andreyszdlv.taskmanager.repository.UserRepository;
+import ru.andreyszdlv.taskmanager.service.JwtStorageService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@Testcontainers
+@Transactional
+public class TaskBulkUpdateIT extends BaseIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest");
+
+    @Container
+    static RedisContainer redisContainer =
+            new RedisContainer(DockerImageName.parse("redis:latest")).withExposedPorts(6379).waitingFor(Wait.forListeningPort());
+
+    // Smaller than the selections below, so every update spans several chunks.
+    @DynamicPropertySource
+    static void dynamicProperties(DynamicPropertyRegistry registry){
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+
+        registry.add("spring.data.redis.host", redisContainer::getHost);
+        registry.add("spring.data.redis.port", ()->redisContainer.getMappedPort(6379).toString());
+
+        registry.add("taskBulkUpdate.chunkSize", () -> 2);
+    }
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JwtStorageService jwtStorageService;
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Autowired
+    TaskEventRepository taskEventRepository;
+
+    String BASE_URL = "/api/tasks/bulk";
+
+    User admin;
+
+    User assignee;
+
+    @BeforeEach
+    void setUp() {
+        admin = saveUser("admin", "admin@admin.com", Role.ADMIN);
+        assignee = saveUser("user", "user@user.com", Role.USER);
+    }
+
+    @Test
+    void bulkUpdateStatus_UpdatesEveryTaskMatchingFilter() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        Task[] lowTasks = new Task[5];
+        for (int i = 0; i < lowTasks.length; i++) {
+            lowTasks[i] = saveTask(TaskPriority.LOW, assignee);
+        }
+        Task highTask = saveTask(TaskPriority.HIGH, assignee);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .patch(BASE_URL + "/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"filter\": {\"priority\": \"LOW\", \"assigneeId\": " + assignee.getId() + "}, \"status\": \"COMPLETED\"}")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpectAll(
+                status().isOk(),
+                jsonPath("$.updated").value(lowTasks.length)
+        );
+
+        for (Task task : lowTasks) {
+            assertEquals(TaskStatus.COMPLETED, taskRepository.findById(task.getId()).get().getStatus());
+        }
+        assertEquals(TaskStatus.WAITING, taskRepository.findById(highTask.getId()).get().getStatus());
+    }
+
+    @Test
+    void bulkUpdateStatus_SkipsTasksNotAssignedToUser_WhenUserRole() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(assignee.getId(), assignee.getEmail(), assignee.getRole());
+        Task first = saveTask(TaskPriority.LOW, assignee);
+        Task second = saveTask(TaskPriority.LOW, assignee);
+        Task third = saveTask(TaskPriority.LOW, assignee);
+        Task foreign = saveTask(TaskPriority.LOW, admin);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .patch(BASE_URL + "/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [" + first.getId() + ", " + second.getId() + ", " + third.getId() + ", " + foreign.getId() + "], \"status\": \"IN_PROGRESS\"}")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpectAll(
+                status().isOk(),
+                jsonPath("$.updated").value(3)
+        );
+
+        assertEquals(TaskStatus.IN_PROGRESS, taskRepository.findById(third.getId()).get().getStatus());
+        assertEquals(TaskStatus.WAITING, taskRepository.findById(foreign.getId()).get().getStatus());
+    }
+
+    @Test
+    void bulkUpdateStatus_WritesEventsOnlyForUpdatedTasks() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(assignee.getId(), assignee.getEmail(), assignee.getRole());
+        Task first = saveTask(TaskPriority.LOW, assignee);
+        Task foreign = saveTask(TaskPriority.LOW, admin);
+        Task second = saveTask(TaskPriority.LOW, assignee);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .patch(BASE_URL + "/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [" + first.getId() + ", " + foreign.getId() + ", " + second.getId() + "], \"status\": \"COMPLETED\"}")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpectAll(
+                status().isOk(),
+                jsonPath("$.updated").value(2)
+        );
+
+        List<Long> eventTaskIds = taskEventRepository.findAllByOrderByIdAsc(Pageable.unpaged()).stream().map(TaskEvent::getTaskId).toList();
+        assertEquals(List.of(first.getId(), second.getId()), eventTaskIds);
+    }
+
+    @Test
+    void bulkUpdateStatus_Returns400_WhenFilterEmpty() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        Task task = saveTask(TaskPriority.LOW, assignee);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .patch(BASE_URL + "/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"filter\": {}, \"status\": \"COMPLETED\"}")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isBadRequest());
+
+        assertEquals(TaskStatus.WAITING, taskRepository.findById(task.getId()).get().getStatus());
+    }
+
+    @Test
+    void bulkUpdateAssignee_UpdatesTasksByIds() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        Task first = saveTask(TaskPriority.LOW, admin);
+        Task second = saveTask(TaskPriority.LOW, null);
+        Task third = saveTask(TaskPriority.LOW, null);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .patch(BASE_URL + "/assignee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [" + first.getId() + ", " + second.getId() + ", " + third.getId() + "], \"assigneeId\": " + assignee.getId() + "}")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpectAll(
+                status().isOk(),
+                jsonPath("$.updated").value(3)
+        );
+
+        assertEquals(assignee.getId(), taskRepository.findById(second.getId()).get().getAssignee().getId());
+    }
+
+    @Test
+    void bulkUpdateAssignee_Returns404_WhenAssigneeNotExists() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        Task task = saveTask(TaskPriority.LOW, assignee);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .patch(BASE_URL + "/assignee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [" + task.getId() + "], \"assigneeId\": " + NOT_EXISTING_USER_ID + "}")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void bulkUpdatePriority_Returns400_WhenIdsAndFilterBothPresent() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .patch(BASE_URL + "/priority")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [1], \"filter\": {}, \"priority\": \"HIGH\"}")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void bulkUpdatePriority_Returns403_WhenUserRole() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(assignee.getId(), assignee.getEmail(), assignee.getRole());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .patch(BASE_URL + "/priority")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"filter\": {}, \"priority\": \"HIGH\"}")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void bulkDelete_DeletesTasksMatchingFilterWithTheirComments() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        Task[] lowTasks = new Task[5];
+        for (int i = 0; i < lowTasks.length; i++) {
+            lowTasks[i] = saveTask(TaskPriority.LOW, assignee);
+            saveComment(lowTasks[i]);
+        }
+        Task highTask = saveTask(TaskPriority.HIGH, assignee);
+        Comment highComment = saveComment(highTask);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .delete(BASE_URL)
+                .param("priority", "LOW")
+                .param("assigneeId", String.valueOf(assignee.getId()))
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpectAll(
+                status().isOk(),
+                jsonPath("$.deleted").value(lowTasks.length)
+        );
+
+        for (Task task : lowTasks) {
+            assertFalse(taskRepository.existsById(task.getId()));
+        }
+        assertEquals(1, commentRepository.count());
+        assertTrue(commentRepository.existsById(highComment.getId()));
+        assertTrue(taskRepository.existsById(highTask.getId()));
+    }
+
+    @Test
+    void bulkDelete_Returns400_WhenNoFilterPresent() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        Task task = saveTask(TaskPriority.LOW, assignee);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .delete(BASE_URL)
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isBadRequest());
+
+        assertTrue(taskRepository.existsById(task.getId()));
+    }
+
+    @Test
+    void bulkDelete_Returns403_WhenUserRole() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(assignee.getId(), assignee.getEmail(), assignee.getRole());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .delete(BASE_URL)
+                .param("status", "WAITING")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isForbidden());
+    }
+
+    private Comment saveComment(Task task) {
+        Comment comment = new Comment();
+        comment.setContent("Comment");
+        comment.setCreatedAt(LocalDateTime.now());
+        comment.setTask(task);
+        comment.setAuthor(admin);
+        return commentRepository.save(comment);
+    }
+
+    private Task saveTask(TaskPriority priority, User taskAssignee) {
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setDescription("Task");
+        task.setStatus(TaskStatus.WAITING);
+        task.setPriority(priority);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setAuthor(admin);
+        task.setAssignee(taskAssignee);
+        return taskRepository.save(task);
+    }
+
+    private User saveUser(String name, String email, Role role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setRole(role);
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+}
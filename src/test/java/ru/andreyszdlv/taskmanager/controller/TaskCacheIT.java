@@ -0,0 +1,233 @@
+package ru.andreyszdlv.taskmanager.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.testcontainers.RedisContainer;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import ru.andreyszdlv.taskmanager.configuration.CacheConfig;
+import ru.andreyszdlv.taskmanager.dto.comment.CreateCommentRequestDto;
+import ru.andreyszdlv.taskmanager.dto.task.UpdateStatusRequestDto;
+import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.enums.TaskPriority;
+import ru.andreyszdlv.taskmanager.enums.TaskStatus;
+import ru.andreyszdlv.taskmanager.model.Task;
+import ru.andreyszdlv.taskmanager.model.User;
+import ru.andreyszdlv.taskmanager.repository.TaskRepository;
+import ru.andreyszdlv.taskmanager.repository.UserRepository;
+import ru.andreyszdlv.taskmanager.service.JwtStorageService;
+import ru.andreyszdlv.taskmanager.service.TaskCacheService;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: the task cache is transaction aware and only writes
+// and evicts after a real commit.
+@AutoConfigureMockMvc
+@Testcontainers
+public class TaskCacheIT extends BaseIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest");
+
+    @Container
+    static RedisContainer redisContainer =
+            new RedisContainer(DockerImageName.parse("redis:latest")).withExposedPorts(6379).waitingFor(Wait.forListeningPort());
+
+    @DynamicPropertySource
+    static void dynamicProperties(DynamicPropertyRegistry registry){
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+
+        registry.add("spring.data.redis.host", redisContainer::getHost);
+        registry.add("spring.data.redis.port", ()->redisContainer.getMappedPort(6379).toString());
+    }
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JwtStorageService jwtStorageService;
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    TaskCacheService taskCacheService;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    String BASE_URL = "/api/tasks";
+
+    User admin;
+
+    User assignee;
+
+    User stranger;
+
+    Task task;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.findByEmail("admin@admin.com")
+                .orElseGet(() -> saveUser("admin", "admin@admin.com", Role.ADMIN));
+        assignee = userRepository.findByEmail("user@user.com")
+                .orElseGet(() -> saveUser("user", "user@user.com", Role.USER));
+        stranger = userRepository.findByEmail("stranger@user.com")
+                .orElseGet(() -> saveUser("stranger", "stranger@user.com", Role.USER));
+
+        task = new Task();
+        task.setTitle("Task");
+        task.setDescription("Task");
+        task.setStatus(TaskStatus.WAITING);
+        task.setPriority(TaskPriority.HIGH);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setAuthor(admin);
+        task.setAssignee(assignee);
+        task = taskRepository.save(task);
+    }
+
+    @Test
+    void getTaskById_ServesRepeatedReadsFromCache() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        double hitsBefore = cacheHits();
+        getTask(accessToken).andExpect(status().isOk());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        getTask(accessToken).andExpectAll(
+                status().isOk(),
+                jsonPath("$.id").value(task.getId()),
+                jsonPath("$.assigneeId").value(assignee.getId())
+        );
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(hitsBefore + 1, cacheHits());
+    }
+
+    @Test
+    void getTaskById_Returns403FromCache_WhenUserNotAssignee() throws Exception {
+        String adminToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        String assigneeToken = jwtStorageService.generateAccessToken(assignee.getId(), assignee.getEmail(), assignee.getRole());
+        String strangerToken = jwtStorageService.generateAccessToken(stranger.getId(), stranger.getEmail(), stranger.getRole());
+        getTask(adminToken).andExpect(status().isOk());
+
+        getTask(assigneeToken).andExpect(status().isOk());
+        getTask(strangerToken).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void getTaskById_ReturnsFreshTask_AfterStatusUpdate() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        getTask(accessToken).andExpect(jsonPath("$.status").value(TaskStatus.WAITING.name()));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .patch(BASE_URL + "/{id}/status", task.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateStatusRequestDto(TaskStatus.COMPLETED.name())))
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isOk());
+
+        getTask(accessToken).andExpect(jsonPath("$.status").value(TaskStatus.COMPLETED.name()));
+    }
+
+    // The reader loads the old row, the update commits and bumps the
+    // generation, and only then the reader's deferred put runs.
+    @Test
+    void getTaskById_ReturnsFreshTask_WhenOldRowCachedAfterConcurrentUpdate() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            assertEquals(TaskStatus.WAITING, taskCacheService.getTask(task.getId()).status());
+
+            CompletableFuture.runAsync(() -> {
+                try {
+                    mockMvc.perform(MockMvcRequestBuilders
+                            .patch(BASE_URL + "/{id}/status", task.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new UpdateStatusRequestDto(TaskStatus.COMPLETED.name())))
+                            .header("Authorization", "Bearer " + accessToken)
+                    ).andExpect(status().isOk());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }).join();
+        });
+
+        getTask(accessToken).andExpect(jsonPath("$.status").value(TaskStatus.COMPLETED.name()));
+    }
+
+    @Test
+    void getTaskById_ReturnsFreshCommentCount_AfterCommentCreated() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        getTask(accessToken).andExpect(jsonPath("$.commentCount").value(0));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post(BASE_URL + "/{taskId}/comments", task.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreateCommentRequestDto("content")))
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isCreated());
+
+        getTask(accessToken).andExpect(jsonPath("$.commentCount").value(1));
+    }
+
+    private ResultActions getTask(String accessToken) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders
+                .get(BASE_URL + "/{id}", task.getId())
+                .header("Authorization", "Bearer " + accessToken)
+        );
+    }
+
+    private double cacheHits() {
+        return meterRegistry.get("cache.gets")
+                .tag("name", CacheConfig.TASK_CACHE)
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
+
+    private User saveUser(String name, String email, Role role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setRole(role);
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,273 @@
+package ru.andreyszdlv.taskmanager.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.testcontainers.RedisContainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import ru.andreyszdlv.taskmanager.dto.comment.CommentChangeDto;
+import ru.andreyszdlv.taskmanager.dto.task.TaskChangesDto;
+import ru.andreyszdlv.taskmanager.dto.task.TaskDto;
+import ru.andreyszdlv.taskmanager.dto.task.TombstoneDto;
+import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.enums.TaskPriority;
+import ru.andreyszdlv.taskmanager.enums.TaskStatus;
+import ru.andreyszdlv.taskmanager.enums.TombstoneKind;
+import ru.andreyszdlv.taskmanager.model.Task;
+import ru.andreyszdlv.taskmanager.model.User;
+import ru.andreyszdlv.taskmanager.repository.TaskRepository;
+import ru.andreyszdlv.taskmanager.repository.TombstoneRepository;
+import ru.andreyszdlv.taskmanager.repository.UserRepository;
+import ru.andreyszdlv.taskmanager.service.JwtStorageService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@Testcontainers
+public class TaskChangesIT extends BaseIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest");
+
+    @Container
+    static RedisContainer redisContainer =
+            new RedisContainer(DockerImageName.parse("redis:latest")).withExposedPorts(6379).waitingFor(Wait.forListeningPort());
+
+    @DynamicPropertySource
+    static void dynamicProperties(DynamicPropertyRegistry registry){
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+
+        registry.add("spring.data.redis.host", redisContainer::getHost);
+        registry.add("spring.data.redis.port", ()->redisContainer.getMappedPort(6379).toString());
+    }
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    JwtStorageService jwtStorageService;
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    TombstoneRepository tombstoneRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    String BASE_URL = "/api/tasks";
+
+    User admin;
+
+    User assignee;
+
+    // The watermark only moves past committed writes, so nothing here runs
+    // in a test transaction and every test reads from the current watermark.
+    @BeforeEach
+    void setUp() {
+        if(userRepository.existsByEmail("admin@admin.com")) {
+            admin = userRepository.findByEmail("admin@admin.com").get();
+            assignee = userRepository.findByEmail("user@user.com").get();
+            return;
+        }
+
+        admin = saveUser("admin", "admin@admin.com", Role.ADMIN);
+        assignee = saveUser("user", "user@user.com", Role.USER);
+    }
+
+    @Test
+    void getTaskChanges_ReturnsChangedTasksCommentsAndTombstones() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        long since = tombstoneRepository.sequenceChanges();
+        Task kept = saveTask(assignee);
+        Task deleted = saveTask(assignee);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post(BASE_URL + "/" + kept.getId() + "/comments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"content\": \"Comment\"}")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isCreated());
+        mockMvc.perform(MockMvcRequestBuilders
+                .delete(BASE_URL + "/" + deleted.getId())
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isNoContent());
+
+        TaskChangesDto changes = getChanges(accessToken, since, 500);
+
+        assertEquals(List.of(kept.getId()), changes.tasks().stream().map(TaskDto::id).toList());
+        assertEquals(1, changes.tasks().get(0).commentCount());
+        assertEquals(1, changes.comments().size());
+        assertEquals(kept.getId(), changes.comments().get(0).taskId());
+        assertEquals(1, changes.deleted().size());
+        assertEquals(TombstoneKind.TASK_DELETED, changes.deleted().get(0).kind());
+        assertEquals(deleted.getId(), changes.deleted().get(0).id());
+        assertFalse(changes.hasMore());
+
+        TaskChangesDto nextChanges = getChanges(accessToken, changes.next(), 500);
+        assertTrue(nextChanges.tasks().isEmpty());
+        assertTrue(nextChanges.comments().isEmpty());
+        assertTrue(nextChanges.deleted().isEmpty());
+        assertEquals(changes.next(), nextChanges.next());
+    }
+
+    @Test
+    void getTaskChanges_ReturnsOnlyAssignedTasksForUser_AndTombstoneWhenUnassigned() throws Exception {
+        String adminToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        String assigneeToken = jwtStorageService.generateAccessToken(assignee.getId(), assignee.getEmail(), assignee.getRole());
+        long since = tombstoneRepository.sequenceChanges();
+        Task assigneeTask = saveTask(assignee);
+        Task adminTask = saveTask(admin);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .patch(BASE_URL + "/" + assigneeTask.getId() + "/assignee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"assigneeId\": " + admin.getId() + "}")
+                .header("Authorization", "Bearer " + adminToken)
+        ).andExpect(status().isOk());
+
+        TaskChangesDto assigneeChanges = getChanges(assigneeToken, since, 500);
+        assertTrue(assigneeChanges.tasks().isEmpty());
+        assertEquals(
+                List.of(TombstoneKind.TASK_UNASSIGNED),
+                assigneeChanges.deleted().stream().map(TombstoneDto::kind).toList()
+        );
+        assertEquals(assigneeTask.getId(), assigneeChanges.deleted().get(0).taskId());
+
+        TaskChangesDto adminChanges = getChanges(adminToken, since, 500);
+        assertEquals(
+                List.of(adminTask.getId(), assigneeTask.getId()),
+                adminChanges.tasks().stream().map(TaskDto::id).toList()
+        );
+        assertTrue(adminChanges.deleted().isEmpty());
+    }
+
+    @Test
+    void getTaskChanges_ReturnsExistingComments_WhenTaskReassignedToUser() throws Exception {
+        String adminToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        String assigneeToken = jwtStorageService.generateAccessToken(assignee.getId(), assignee.getEmail(), assignee.getRole());
+        Task task = saveTask(admin);
+        mockMvc.perform(MockMvcRequestBuilders
+                .post(BASE_URL + "/" + task.getId() + "/comments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"content\": \"Comment\"}")
+                .header("Authorization", "Bearer " + adminToken)
+        ).andExpect(status().isCreated());
+        long since = tombstoneRepository.sequenceChanges();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .patch(BASE_URL + "/" + task.getId() + "/assignee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"assigneeId\": " + assignee.getId() + "}")
+                .header("Authorization", "Bearer " + adminToken)
+        ).andExpect(status().isOk());
+
+        TaskChangesDto changes = getChanges(assigneeToken, since, 500);
+
+        assertEquals(List.of(task.getId()), changes.tasks().stream().map(TaskDto::id).toList());
+        assertEquals(List.of(task.getId()), changes.comments().stream().map(CommentChangeDto::taskId).toList());
+        assertFalse(changes.hasMore());
+    }
+
+    @Test
+    void getTaskChanges_ReturnsChangesInPages_WhenMoreThanLimit() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        long since = tombstoneRepository.sequenceChanges();
+        Task first = saveTask(assignee);
+        Task second = saveTask(assignee);
+        Task third = saveTask(assignee);
+
+        TaskChangesDto firstPage = getChanges(accessToken, since, 2);
+        assertEquals(List.of(first.getId(), second.getId()), firstPage.tasks().stream().map(TaskDto::id).toList());
+        assertTrue(firstPage.hasMore());
+
+        TaskChangesDto secondPage = getChanges(accessToken, firstPage.next(), 2);
+        assertEquals(List.of(third.getId()), secondPage.tasks().stream().map(TaskDto::id).toList());
+        assertFalse(secondPage.hasMore());
+    }
+
+    @Test
+    void getTaskChanges_ReturnsStatusGone_WhenTombstonesAfterSinceArePurged() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        long since = tombstoneRepository.sequenceChanges();
+        taskRepository.delete(saveTask(assignee));
+        tombstoneRepository.sequenceChanges();
+
+        tombstoneRepository.purgeDeletedBefore(LocalDateTime.now().plusDays(1));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(BASE_URL + "/changes")
+                .param("since", String.valueOf(since))
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isGone());
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(BASE_URL + "/changes")
+                .param("since", String.valueOf(since))
+                .param("fullSync", "true")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isOk());
+    }
+
+    @Test
+    void getTaskChanges_ReturnsStatusBadRequest_WhenSinceIsNegative() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(BASE_URL + "/changes")
+                .param("since", "-1")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isBadRequest());
+    }
+
+    private TaskChangesDto getChanges(String accessToken, long since, int limit) throws Exception {
+        String responseString = mockMvc.perform(MockMvcRequestBuilders
+                .get(BASE_URL + "/changes")
+                .param("since", String.valueOf(since))
+                .param("limit", String.valueOf(limit))
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(responseString, TaskChangesDto.class);
+    }
+
+    private Task saveTask(User taskAssignee) {
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setStatus(TaskStatus.WAITING);
+        task.setPriority(TaskPriority.LOW);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setAuthor(admin);
+        task.setAssignee(taskAssignee);
+        return taskRepository.save(task);
+    }
+
+    private User saveUser(String name, String email, Role role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setRole(role);
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+}
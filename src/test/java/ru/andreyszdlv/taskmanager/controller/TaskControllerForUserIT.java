@@ -111,7 +111,7 @@ public class TaskControllerForUserIT extends BaseIT{
         task2.setAuthor(author);
         task2.setAssignee(user);
         Task savedTask2 = taskRepository.save(task2);
-        String accessToken = jwtStorageService.generateAccessToken(emailUser, roleUser);
+        String accessToken = jwtStorageService.generateAccessToken(user.getId(), emailUser, roleUser);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .get(BASE_URL)
                 .header("Authorization", "Bearer " + accessToken);
@@ -156,7 +156,7 @@ public class TaskControllerForUserIT extends BaseIT{
         task2.setAuthor(author);
         task2.setAssignee(assignee);
         Task savedTask2 = taskRepository.save(task2);
-        String accessToken = jwtStorageService.generateAccessToken(emailAssignee, roleAssignee);
+        String accessToken = jwtStorageService.generateAccessToken(assignee.getId(), emailAssignee, roleAssignee);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .get(BASE_URL+"/assigned-to-me")
                 .header("Authorization", "Bearer " + accessToken);
@@ -187,7 +187,7 @@ public class TaskControllerForUserIT extends BaseIT{
         assignee.setRole(roleAssignee);
         assignee.setPassword("password");
         userRepository.save(assignee);
-        String accessToken = jwtStorageService.generateAccessToken(emailAssignee, roleAssignee);
+        String accessToken = jwtStorageService.generateAccessToken(assignee.getId(), emailAssignee, roleAssignee);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .get(BASE_URL+"/assigned-to-me")
                 .header("Authorization", "Bearer " + accessToken);
@@ -227,7 +227,7 @@ public class TaskControllerForUserIT extends BaseIT{
         task.setAuthor(author);
         task.setAssignee(assignee);
         Task savedTask = taskRepository.save(task);
-        String accessToken = jwtStorageService.generateAccessToken(emailAssignee, roleAssignee);
+        String accessToken = jwtStorageService.generateAccessToken(assignee.getId(), emailAssignee, roleAssignee);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .get(BASE_URL+"/{id}", savedTask.getId())
                 .header("Authorization", "Bearer " + accessToken);
@@ -247,7 +247,7 @@ public class TaskControllerForUserIT extends BaseIT{
         String email = "user@user.com";
         Role role = Role.USER;
         long taskId = 1L;
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .get(BASE_URL+"/{id}", taskId)
                 .header("Authorization", "Bearer " + accessToken);
@@ -278,7 +278,7 @@ public class TaskControllerForUserIT extends BaseIT{
         task.setCreatedAt(LocalDateTime.now());
         task.setAuthor(author);
         long taskId = taskRepository.save(task).getId();
-        String accessToken = jwtStorageService.generateAccessToken(emailAssignee, roleAssignee);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, emailAssignee, roleAssignee);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .get(BASE_URL+"/{id}", taskId)
                 .header("Authorization", "Bearer " + accessToken);
@@ -308,7 +308,7 @@ public class TaskControllerForUserIT extends BaseIT{
                 TaskStatus.COMPLETED.name(),
                 null
         );
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(user.getId(), email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .post(BASE_URL)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -348,7 +348,7 @@ public class TaskControllerForUserIT extends BaseIT{
                 null,
                 null
         );
-        String accessToken = jwtStorageService.generateAccessToken(emailAssignee, roleAssignee);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, emailAssignee, roleAssignee);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .patch(BASE_URL+"/{id}", taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -395,7 +395,7 @@ public class TaskControllerForUserIT extends BaseIT{
         long taskId = taskRepository.save(task).getId();
         String newStatus = TaskStatus.COMPLETED.name();
         UpdateStatusRequestDto requestDto = new UpdateStatusRequestDto(newStatus);
-        String accessToken = jwtStorageService.generateAccessToken(emailAssignee, roleAssignee);
+        String accessToken = jwtStorageService.generateAccessToken(assignee.getId(), emailAssignee, roleAssignee);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .patch(BASE_URL+"/{id}/status", taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -438,7 +438,7 @@ public class TaskControllerForUserIT extends BaseIT{
         long taskId = taskRepository.save(task).getId();
         String newStatus = "Compl";
         UpdateStatusRequestDto requestDto = new UpdateStatusRequestDto(newStatus);
-        String accessToken = jwtStorageService.generateAccessToken(emailAssignee, roleAssignee);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, emailAssignee, roleAssignee);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .patch(BASE_URL+"/{id}/status", taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -466,7 +466,7 @@ public class TaskControllerForUserIT extends BaseIT{
         long taskId = 1L;
         String newStatus = TaskStatus.WAITING.name();
         UpdateStatusRequestDto requestDto = new UpdateStatusRequestDto(newStatus);
-        String accessToken = jwtStorageService.generateAccessToken(emailAssignee, roleAssignee);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, emailAssignee, roleAssignee);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .patch(BASE_URL+"/{id}/status", taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -501,7 +501,7 @@ public class TaskControllerForUserIT extends BaseIT{
         long taskId = taskRepository.save(task).getId();
         String newStatus = TaskStatus.COMPLETED.name();
         UpdateStatusRequestDto requestDto = new UpdateStatusRequestDto(newStatus);
-        String accessToken = jwtStorageService.generateAccessToken(emailAssignee, roleAssignee);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, emailAssignee, roleAssignee);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .patch(BASE_URL+"/{id}/status", taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -543,7 +543,7 @@ public class TaskControllerForUserIT extends BaseIT{
         long taskId = taskRepository.save(task).getId();
         String newPriority = TaskPriority.LOW.name();
         UpdatePriorityRequestDto requestDto = new UpdatePriorityRequestDto(newPriority);
-        String accessToken = jwtStorageService.generateAccessToken(emailAssignee, roleAssignee);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, emailAssignee, roleAssignee);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .patch(BASE_URL+"/{id}/priority", taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -583,7 +583,7 @@ public class TaskControllerForUserIT extends BaseIT{
         long taskId = taskRepository.save(task).getId();
         long newAssigneeId = 2L;
         UpdateAssigneeRequestDto requestDto = new UpdateAssigneeRequestDto(newAssigneeId);
-        String accessToken = jwtStorageService.generateAccessToken(emailAssignee, roleAssignee);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, emailAssignee, roleAssignee);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .patch(BASE_URL+"/{id}/assignee", taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -621,7 +621,7 @@ public class TaskControllerForUserIT extends BaseIT{
         task.setCreatedAt(LocalDateTime.now());
         task.setAuthor(author);
         long taskId = taskRepository.save(task).getId();
-        String accessToken = jwtStorageService.generateAccessToken(emailAssignee, roleAssignee);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, emailAssignee, roleAssignee);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .delete(BASE_URL+"/{id}/assignee", taskId)
                 .header("Authorization", "Bearer " + accessToken);
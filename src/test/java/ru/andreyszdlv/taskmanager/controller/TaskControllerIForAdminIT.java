@@ -2,10 +2,13 @@ package ru.andreyszdlv.taskmanager.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.redis.testcontainers.RedisContainer;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.data.domain.Page;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -76,8 +79,21 @@ class TaskControllerIForAdminIT extends BaseIT {
     @Autowired
     TaskMapper taskMapper;
 
+    @Autowired
+    StringRedisTemplate stringRedisTemplate;
+
     String BASE_URL = "/api/tasks";
 
+    // Tests seed tasks straight through the repositories, which bypasses the
+    // list cache invalidation, so pages cached by earlier tests are dropped.
+    @BeforeEach
+    void clearCaches() {
+        stringRedisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+    }
+
     @Test
     @Transactional
     void getAllTasks_ReturnsListTasks_WhenTasksExist() throws Exception {
@@ -105,7 +121,7 @@ class TaskControllerIForAdminIT extends BaseIT {
         task2.setCreatedAt(LocalDateTime.now());
         task2.setAuthor(user);
         Task savedTask2 = taskRepository.save(task2);
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(user.getId(), email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .get(BASE_URL)
                 .header("Authorization", "Bearer " + accessToken);
@@ -130,7 +146,7 @@ class TaskControllerIForAdminIT extends BaseIT {
     void getAllTasks_ReturnsEmptyListTasks_WhenTasksNotExist() throws Exception {
         String email = "admin@admin.com";
         Role role = Role.ADMIN;
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .get(BASE_URL)
                 .header("Authorization", "Bearer " + accessToken);
@@ -144,6 +160,91 @@ class TaskControllerIForAdminIT extends BaseIT {
         );
     }
 
+    @Test
+    @Transactional
+    void getAllTasksByCursor_ReturnsSlicesInOrder_WhenTasksExist() throws Exception {
+        String email = "admin@admin.com";
+        Role role = Role.ADMIN;
+        User user = new User();
+        user.setName("admin");
+        user.setEmail(email);
+        user.setRole(role);
+        user.setPassword("password");
+        userRepository.save(user);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 12, 12, 12, 30);
+        Task task1 = new Task();
+        task1.setTitle("Task 1");
+        task1.setStatus(TaskStatus.WAITING);
+        task1.setPriority(TaskPriority.HIGH);
+        task1.setCreatedAt(createdAt);
+        task1.setAuthor(user);
+        Task savedTask1 = taskRepository.save(task1);
+        Task task2 = new Task();
+        task2.setTitle("Task 2");
+        task2.setStatus(TaskStatus.WAITING);
+        task2.setPriority(TaskPriority.LOW);
+        task2.setCreatedAt(createdAt);
+        task2.setAuthor(user);
+        Task savedTask2 = taskRepository.save(task2);
+        Task task3 = new Task();
+        task3.setTitle("Task 3");
+        task3.setStatus(TaskStatus.WAITING);
+        task3.setPriority(TaskPriority.MEDIUM);
+        task3.setCreatedAt(createdAt.plusMinutes(1));
+        task3.setAuthor(user);
+        Task savedTask3 = taskRepository.save(task3);
+        String accessToken = jwtStorageService.generateAccessToken(user.getId(), email, role);
+        MockHttpServletRequestBuilder firstRequest = MockMvcRequestBuilders
+                .get(BASE_URL)
+                .param("status", TaskStatus.WAITING.name())
+                .param("cursor", "")
+                .param("size", "2")
+                .header("Authorization", "Bearer " + accessToken);
+
+        String firstResponse = mockMvc.perform(firstRequest)
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentType(MediaType.APPLICATION_JSON),
+                        jsonPath("$.content", hasSize(2)),
+                        jsonPath("$.content[0].id").value(savedTask1.getId()),
+                        jsonPath("$.content[1].id").value(savedTask2.getId()),
+                        jsonPath("$.next").isNotEmpty()
+                ).andReturn().getResponse().getContentAsString();
+        TaskSliceDto firstSlice = objectMapper.readValue(firstResponse, TaskSliceDto.class);
+        MockHttpServletRequestBuilder secondRequest = MockMvcRequestBuilders
+                .get(BASE_URL)
+                .param("status", TaskStatus.WAITING.name())
+                .param("cursor", firstSlice.next())
+                .param("size", "2")
+                .header("Authorization", "Bearer " + accessToken);
+
+        mockMvc.perform(secondRequest)
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentType(MediaType.APPLICATION_JSON),
+                        jsonPath("$.content", hasSize(1)),
+                        jsonPath("$.content[0].id").value(savedTask3.getId()),
+                        jsonPath("$.next").doesNotExist()
+                );
+    }
+
+    @Test
+    void getAllTasksByCursor_Returns400_WhenCursorInvalid() throws Exception {
+        String email = "admin@admin.com";
+        Role role = Role.ADMIN;
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, email, role);
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .get(BASE_URL)
+                .param("cursor", "invalid")
+                .header("Authorization", "Bearer " + accessToken);
+
+        mockMvc.perform(request).andExpectAll(
+                status().isBadRequest(),
+                content().contentType(MediaType.APPLICATION_PROBLEM_JSON),
+                jsonPath("$").exists()
+        );
+    }
+
     @Test
     @Transactional
     void getTasksAssigneeToMe_ReturnsListTasks_WhenTaskExistsAndUserTheseTaskAssignee() throws Exception {
@@ -173,7 +274,7 @@ class TaskControllerIForAdminIT extends BaseIT {
         task2.setAuthor(user);
         task2.setAssignee(user);
         Task savedTask2 = taskRepository.save(task2);
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(user.getId(), email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .get(BASE_URL)
                 .header("Authorization", "Bearer " + accessToken);
@@ -209,7 +310,7 @@ class TaskControllerIForAdminIT extends BaseIT {
         user.setRole(role);
         user.setPassword("password");
         userRepository.save(user);
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(user.getId(), email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .get(BASE_URL)
                 .header("Authorization", "Bearer " + accessToken);
@@ -242,7 +343,7 @@ class TaskControllerIForAdminIT extends BaseIT {
         task.setCreatedAt(LocalDateTime.now());
         task.setAuthor(user);
         Task savedTask1 = taskRepository.save(task);
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(user.getId(), email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .get(BASE_URL+"/{id}", savedTask1.getId())
                 .header("Authorization", "Bearer " + accessToken);
@@ -262,7 +363,7 @@ class TaskControllerIForAdminIT extends BaseIT {
         String email = "admin@admin.com";
         Role role = Role.ADMIN;
         long taskId = 1L;
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .get(BASE_URL+"/{id}", taskId)
                 .header("Authorization", "Bearer " + accessToken);
@@ -292,7 +393,7 @@ class TaskControllerIForAdminIT extends BaseIT {
                 TaskStatus.COMPLETED.name(),
                 null
         );
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(user.getId(), email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .post(BASE_URL)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -328,7 +429,7 @@ class TaskControllerIForAdminIT extends BaseIT {
                 "Status",
                 null
         );
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .post(BASE_URL)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -370,7 +471,7 @@ class TaskControllerIForAdminIT extends BaseIT {
                 null,
                 null
         );
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(user.getId(), email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .patch(BASE_URL+"/{id}", taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -423,7 +524,7 @@ class TaskControllerIForAdminIT extends BaseIT {
                 null,
                 null
         );
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(user.getId(), email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .patch(BASE_URL+"/{id}", taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -456,7 +557,7 @@ class TaskControllerIForAdminIT extends BaseIT {
                 null,
                 null
         );
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .patch(BASE_URL+"/{id}", taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -491,7 +592,7 @@ class TaskControllerIForAdminIT extends BaseIT {
         long taskId = taskRepository.save(task).getId();
         String newStatus = TaskStatus.COMPLETED.name();
         UpdateStatusRequestDto requestDto = new UpdateStatusRequestDto(newStatus);
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(user.getId(), email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .patch(BASE_URL+"/{id}/status", taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -534,7 +635,7 @@ class TaskControllerIForAdminIT extends BaseIT {
         long taskId = taskRepository.save(task).getId();
         String newStatus = "Compl";
         UpdateStatusRequestDto requestDto = new UpdateStatusRequestDto(newStatus);
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(user.getId(), email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .patch(BASE_URL+"/{id}/status", taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -562,7 +663,7 @@ class TaskControllerIForAdminIT extends BaseIT {
         long taskId = 1L;
         String newStatus = TaskStatus.WAITING.name();
         UpdateStatusRequestDto requestDto = new UpdateStatusRequestDto(newStatus);
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .patch(BASE_URL+"/{id}/status", taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -597,7 +698,7 @@ class TaskControllerIForAdminIT extends BaseIT {
         long taskId = taskRepository.save(task).getId();
         String newPriority = TaskPriority.LOW.name();
         UpdatePriorityRequestDto requestDto = new UpdatePriorityRequestDto(newPriority);
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(user.getId(), email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .patch(BASE_URL+"/{id}/priority", taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -640,7 +741,7 @@ class TaskControllerIForAdminIT extends BaseIT {
         long taskId = taskRepository.save(task).getId();
         String newPriority = "L";
         UpdatePriorityRequestDto requestDto = new UpdatePriorityRequestDto(newPriority);
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(user.getId(), email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .patch(BASE_URL+"/{id}/priority", taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -668,7 +769,7 @@ class TaskControllerIForAdminIT extends BaseIT {
         long taskId = 1L;
         String newPriority = TaskPriority.MEDIUM.name();
         UpdatePriorityRequestDto requestDto = new UpdatePriorityRequestDto(newPriority);
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .patch(BASE_URL+"/{id}/priority", taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -708,7 +809,7 @@ class TaskControllerIForAdminIT extends BaseIT {
         task.setAuthor(admin);
         long taskId = taskRepository.save(task).getId();
         UpdateAssigneeRequestDto requestDto = new UpdateAssigneeRequestDto(assigneeId);
-        String accessToken = jwtStorageService.generateAccessToken(emailAdmin, roleAdmin);
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), emailAdmin, roleAdmin);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .patch(BASE_URL+"/{id}/assignee", taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -751,7 +852,7 @@ class TaskControllerIForAdminIT extends BaseIT {
         task.setAuthor(admin);
         long taskId = taskRepository.save(task).getId();
         UpdateAssigneeRequestDto requestDto = new UpdateAssigneeRequestDto(null);
-        String accessToken = jwtStorageService.generateAccessToken(emailAdmin, roleAdmin);
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), emailAdmin, roleAdmin);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .patch(BASE_URL+"/{id}/assignee", taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -786,7 +887,7 @@ class TaskControllerIForAdminIT extends BaseIT {
         user.setPassword("password");
         long assigneeId = userRepository.save(user).getId();
         UpdateAssigneeRequestDto requestDto = new UpdateAssigneeRequestDto(assigneeId);
-        String accessToken = jwtStorageService.generateAccessToken(email, role);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, email, role);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .patch(BASE_URL+"/{id}/assignee", taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -821,7 +922,7 @@ class TaskControllerIForAdminIT extends BaseIT {
         long taskId = taskRepository.save(task).getId();
         long assigneeId = 1L;
         UpdateAssigneeRequestDto requestDto = new UpdateAssigneeRequestDto(assigneeId);
-        String accessToken = jwtStorageService.generateAccessToken(emailAdmin, roleAdmin);
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), emailAdmin, roleAdmin);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .patch(BASE_URL+"/{id}/assignee", taskId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -862,7 +963,7 @@ class TaskControllerIForAdminIT extends BaseIT {
         task.setCreatedAt(LocalDateTime.now());
         task.setAuthor(admin);
         long taskId = taskRepository.save(task).getId();
-        String accessToken = jwtStorageService.generateAccessToken(emailAdmin, roleAdmin);
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), emailAdmin, roleAdmin);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .delete(BASE_URL+"/{id}", taskId)
                 .header("Authorization", "Bearer " + accessToken);
@@ -879,7 +980,7 @@ class TaskControllerIForAdminIT extends BaseIT {
         String emailAdmin = "admin@admin.com";
         Role roleAdmin = Role.ADMIN;
         long taskId = 1L;
-        String accessToken = jwtStorageService.generateAccessToken(emailAdmin, roleAdmin);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, emailAdmin, roleAdmin);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .delete(BASE_URL+"/{id}", taskId)
                 .header("Authorization", "Bearer " + accessToken);
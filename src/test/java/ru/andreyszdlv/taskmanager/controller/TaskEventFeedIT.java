@@ -0,0 +1,210 @@
+package ru.andreyszdlv.taskmanager.controller;
+
+import com.redis.testcontainers.RedisContainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.enums.TaskPriority;
+import ru.andreyszdlv.taskmanager.enums.TaskStatus;
+import ru.andreyszdlv.taskmanager.model.Task;
+import ru.andreyszdlv.taskmanager.model.User;
+import ru.andreyszdlv.taskmanager.repository.TaskRepository;
+import ru.andreyszdlv.taskmanager.repository.UserRepository;
+import ru.andreyszdlv.taskmanager.service.JwtStorageService;
+import ru.andreyszdlv.taskmanager.service.TaskEventRelayService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@Testcontainers
+public class TaskEventFeedIT extends BaseIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest");
+
+    @Container
+    static RedisContainer redisContainer =
+            new RedisContainer(DockerImageName.parse("redis:latest")).withExposedPorts(6379).waitingFor(Wait.forListeningPort());
+
+    // The scheduled run only happens at startup, the tests relay by hand.
+    @DynamicPropertySource
+    static void dynamicProperties(DynamicPropertyRegistry registry){
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+
+        registry.add("spring.data.redis.host", redisContainer::getHost);
+        registry.add("spring.data.redis.port", ()->redisContainer.getMappedPort(6379).toString());
+
+        registry.add("taskEvents.relay.enabled", () -> true);
+        registry.add("taskEvents.relay.fixedDelayMillis", () -> 3_600_000);
+    }
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JwtStorageService jwtStorageService;
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TaskEventRelayService taskEventRelayService;
+
+    String BASE_URL = "/api/tasks";
+
+    User admin;
+
+    User assignee;
+
+    // Events are only relayed once committed, so nothing here runs in a
+    // test transaction and users are created once per context.
+    @BeforeEach
+    void setUp() {
+        if(userRepository.existsByEmail("admin@admin.com")) {
+            admin = userRepository.findByEmail("admin@admin.com").get();
+            assignee = userRepository.findByEmail("user@user.com").get();
+            return;
+        }
+
+        admin = saveUser("admin", "admin@admin.com", Role.ADMIN);
+        assignee = saveUser("user", "user@user.com", Role.USER);
+    }
+
+    @Test
+    void streamTaskEvents_PushesChangesVisibleToCaller() throws Exception {
+        String adminToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        String assigneeToken = jwtStorageService.generateAccessToken(assignee.getId(), assignee.getEmail(), assignee.getRole());
+        Task assigneeTask = saveTask(assignee);
+        Task adminTask = saveTask(admin);
+        MvcResult adminStream = subscribe(adminToken);
+        MvcResult assigneeStream = subscribe(assigneeToken);
+
+        updateStatus(adminToken, adminTask);
+        updateStatus(adminToken, assigneeTask);
+        taskEventRelayService.relay();
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            String adminEvents = adminStream.getResponse().getContentAsString();
+            assertTrue(adminEvents.contains(taskIdField(adminTask)));
+            assertTrue(adminEvents.contains(taskIdField(assigneeTask)));
+            assertTrue(assigneeStream.getResponse().getContentAsString().contains(taskIdField(assigneeTask)));
+        });
+        String assigneeEvents = assigneeStream.getResponse().getContentAsString();
+        assertTrue(assigneeEvents.contains("event:TASK_UPDATED"));
+        assertTrue(assigneeEvents.contains("\"status\":\"COMPLETED\""));
+        assertFalse(assigneeEvents.contains(taskIdField(adminTask)));
+    }
+
+    @Test
+    void streamTaskEvents_PushesCommentAndDeleteEvents() throws Exception {
+        String adminToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        Task task = saveTask(assignee);
+        MvcResult stream = subscribe(adminToken);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post(BASE_URL + "/" + task.getId() + "/comments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"content\": \"Comment\"}")
+                .header("Authorization", "Bearer " + adminToken)
+        ).andExpect(status().isCreated());
+        mockMvc.perform(MockMvcRequestBuilders
+                .delete(BASE_URL + "/" + task.getId())
+                .header("Authorization", "Bearer " + adminToken)
+        ).andExpect(status().isNoContent());
+        taskEventRelayService.relay();
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            String events = stream.getResponse().getContentAsString();
+            assertTrue(events.contains("event:COMMENT_CREATED"));
+            assertTrue(events.contains("event:TASK_DELETED"));
+            assertTrue(events.indexOf("event:COMMENT_CREATED") < events.indexOf("event:TASK_DELETED"));
+        });
+    }
+
+    @Test
+    void streamTaskEvents_PushesReassignmentToPreviousAssignee() throws Exception {
+        String adminToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        String assigneeToken = jwtStorageService.generateAccessToken(assignee.getId(), assignee.getEmail(), assignee.getRole());
+        Task task = saveTask(assignee);
+        MvcResult assigneeStream = subscribe(assigneeToken);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .patch(BASE_URL + "/" + task.getId() + "/assignee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"assigneeId\": " + admin.getId() + "}")
+                .header("Authorization", "Bearer " + adminToken)
+        ).andExpect(status().isOk());
+        taskEventRelayService.relay();
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            String events = assigneeStream.getResponse().getContentAsString();
+            assertTrue(events.contains(taskIdField(task)));
+            assertTrue(events.contains("\"previousAssigneeId\":" + assignee.getId()));
+        });
+    }
+
+    private MvcResult subscribe(String accessToken) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders
+                .get(BASE_URL + "/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private void updateStatus(String accessToken, Task task) throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                .patch(BASE_URL + "/" + task.getId() + "/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\": \"COMPLETED\"}")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isOk());
+    }
+
+    private String taskIdField(Task task) {
+        return "\"taskId\":" + task.getId() + ",";
+    }
+
+    private Task saveTask(User taskAssignee) {
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setStatus(TaskStatus.WAITING);
+        task.setPriority(TaskPriority.LOW);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setAuthor(admin);
+        task.setAssignee(taskAssignee);
+        return taskRepository.save(task);
+    }
+
+    private User saveUser(String name, String email, Role role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setRole(role);
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,246 @@
+package ru.andreyszdlv.taskmanager.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.testcontainers.RedisContainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import ru.andreyszdlv.taskmanager.dto.task.TaskDto;
+import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.enums.TaskPriority;
+import ru.andreyszdlv.taskmanager.enums.TaskStatus;
+import ru.andreyszdlv.taskmanager.model.Task;
+import ru.andreyszdlv.taskmanager.model.User;
+import ru.andreyszdlv.taskmanager.repository.TaskEventRepository;
+import ru.andreyszdlv.taskmanager.repository.TaskRepository;
+import ru.andreyszdlv.taskmanager.repository.UserRepository;
+import ru.andreyszdlv.taskmanager.service.JwtStorageService;
+import ru.andreyszdlv.taskmanager.service.TaskEventRelayService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@Testcontainers
+public class TaskEventOutboxIT extends BaseIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest");
+
+    @Container
+    static RedisContainer redisContainer =
+            new RedisContainer(DockerImageName.parse("redis:latest")).withExposedPorts(6379).waitingFor(Wait.forListeningPort());
+
+    // The scheduled run only happens at startup, the tests relay by hand.
+    @DynamicPropertySource
+    static void dynamicProperties(DynamicPropertyRegistry registry){
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+
+        registry.add("spring.data.redis.host", redisContainer::getHost);
+        registry.add("spring.data.redis.port", ()->redisContainer.getMappedPort(6379).toString());
+
+        registry.add("taskEvents.relay.enabled", () -> true);
+        registry.add("taskEvents.relay.fixedDelayMillis", () -> 3_600_000);
+        registry.add("taskEvents.relay.batchSize", () -> 2);
+        registry.add("taskEvents.stream.partitions", () -> PARTITIONS);
+        registry.add("taskEvents.stream.consumerGroups", () -> GROUP);
+    }
+
+    static final int PARTITIONS = 2;
+
+    static final String GROUP = "it-consumer";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    JwtStorageService jwtStorageService;
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TaskEventRepository taskEventRepository;
+
+    @Autowired
+    TaskEventRelayService taskEventRelayService;
+
+    @Autowired
+    StringRedisTemplate stringRedisTemplate;
+
+    String BASE_URL = "/api/tasks";
+
+    User admin;
+
+    User assignee;
+
+    // Events are only visible to the relay once committed, so nothing here
+    // runs in a test transaction and users are created once per context.
+    @BeforeEach
+    void setUp() {
+        if(userRepository.existsByEmail("admin@admin.com")) {
+            admin = userRepository.findByEmail("admin@admin.com").get();
+            assignee = userRepository.findByEmail("user@user.com").get();
+            return;
+        }
+
+        admin = saveUser("admin", "admin@admin.com", Role.ADMIN);
+        assignee = saveUser("user", "user@user.com", Role.USER);
+    }
+
+    @Test
+    void relay_PublishesEveryChangeOfTaskInOrder_AndEmptiesOutbox() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+
+        String responseString = mockMvc.perform(MockMvcRequestBuilders
+                .post(BASE_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Task\", \"priority\": \"LOW\", \"status\": \"WAITING\", \"assigneeId\": " + assignee.getId() + "}")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+        long taskId = objectMapper.readValue(responseString, TaskDto.class).id();
+
+        patch(accessToken, "/" + taskId + "/status", "{\"status\": \"IN_PROGRESS\"}");
+        patch(accessToken, "/" + taskId + "/priority", "{\"priority\": \"HIGH\"}");
+        mockMvc.perform(MockMvcRequestBuilders
+                .post(BASE_URL + "/" + taskId + "/comments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"content\": \"Comment\"}")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isCreated());
+        mockMvc.perform(MockMvcRequestBuilders
+                .delete(BASE_URL + "/" + taskId)
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isNoContent());
+
+        taskEventRelayService.relay();
+
+        assertEquals(0, taskEventRepository.count());
+        List<MapRecord<String, Object, Object>> events = readEvents(taskId);
+        assertEquals(
+                List.of("TASK_CREATED", "TASK_UPDATED", "TASK_UPDATED", "COMMENT_CREATED", "TASK_DELETED"),
+                events.stream().map(event -> event.getValue().get("type")).toList()
+        );
+        assertEquals("IN_PROGRESS", events.get(1).getValue().get("status"));
+        assertEquals("HIGH", events.get(2).getValue().get("priority"));
+        assertEquals(String.valueOf(assignee.getId()), events.get(2).getValue().get("assigneeId"));
+        assertNotNull(events.get(3).getValue().get("commentId"));
+    }
+
+    @Test
+    void updateAssignee_WritesNoEvent_WhenTransactionRolledBack() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        Task task = saveTask();
+        taskEventRelayService.relay();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .patch(BASE_URL + "/" + task.getId() + "/assignee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"assigneeId\": " + NOT_EXISTING_USER_ID + "}")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isNotFound());
+
+        assertEquals(0, taskEventRepository.count());
+    }
+
+    @Test
+    void bulkUpdateStatus_WritesEventPerTask_AndRelayDrainsSeveralBatches() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tasks.add(saveTask());
+        }
+        List<Long> ids = tasks.stream().map(Task::getId).toList();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .patch(BASE_URL + "/bulk/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": " + ids + ", \"status\": \"COMPLETED\"}")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isOk());
+        assertEquals(tasks.size(), taskEventRepository.count());
+
+        taskEventRelayService.relay();
+
+        assertEquals(0, taskEventRepository.count());
+        for (long taskId : ids) {
+            List<MapRecord<String, Object, Object>> events = readEvents(taskId);
+            assertEquals(1, events.size());
+            assertEquals("COMPLETED", events.get(0).getValue().get("status"));
+        }
+    }
+
+    // Reads everything the group has not seen yet from the partition of the
+    // task, acknowledges it and keeps only the events of that task.
+    private List<MapRecord<String, Object, Object>> readEvents(long taskId) {
+        String key = taskEventRelayService.partitionKey(Math.floorMod(taskId, PARTITIONS));
+        List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream().read(
+                Consumer.from(GROUP, "it"),
+                StreamReadOptions.empty().count(1_000),
+                StreamOffset.create(key, ReadOffset.lastConsumed())
+        );
+        records.forEach(record -> stringRedisTemplate.opsForStream().acknowledge(key, GROUP, record.getId()));
+        return records.stream()
+                .filter(record -> String.valueOf(taskId).equals(record.getValue().get("taskId")))
+                .toList();
+    }
+
+    private void patch(String accessToken, String url, String body) throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                .patch(BASE_URL + url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body)
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isOk());
+    }
+
+    private Task saveTask() {
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setStatus(TaskStatus.WAITING);
+        task.setPriority(TaskPriority.LOW);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setAuthor(admin);
+        task.setAssignee(assignee);
+        return taskRepository.save(task);
+    }
+
+    private User saveUser(String name, String email, Role role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setRole(role);
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,196 @@
+package ru.andreyszdlv.taskmanager.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.testcontainers.RedisContainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.model.User;
+import ru.andreyszdlv.taskmanager.repository.UserRepository;
+import ru.andreyszdlv.taskmanager.service.JwtStorageService;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs in its own failsafe execution with a small heap (see pom.xml): the
+// uncompressed export is larger than -Xmx, so it only passes if rows are
+// streamed instead of collected. Served over a real port, because MockMvc
+// buffers the whole response body.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+public class TaskExportIT extends BaseIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest");
+
+    @Container
+    static RedisContainer redisContainer =
+            new RedisContainer(DockerImageName.parse("redis:latest")).withExposedPorts(6379).waitingFor(Wait.forListeningPort());
+
+    @DynamicPropertySource
+    static void dynamicProperties(DynamicPropertyRegistry registry){
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+
+        registry.add("spring.data.redis.host", redisContainer::getHost);
+        registry.add("spring.data.redis.port", ()->redisContainer.getMappedPort(6379).toString());
+    }
+
+    static final int TASKS = 1_000_000;
+
+    static final int COMPLETED_EVERY = 1_000;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    JwtStorageService jwtStorageService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    HttpClient httpClient = HttpClient.newHttpClient();
+
+    User admin;
+
+    User user;
+
+    @BeforeEach
+    void setUp() {
+        if(userRepository.existsByEmail("admin@admin.com")) {
+            admin = userRepository.findByEmail("admin@admin.com").get();
+            user = userRepository.findByEmail("user@user.com").get();
+            return;
+        }
+
+        admin = saveUser("admin", "admin@admin.com", Role.ADMIN);
+        user = saveUser("user", "user@user.com", Role.USER);
+
+        jdbcTemplate.update("""
+                INSERT INTO t_tasks (c_title, c_description, c_status, c_priority, c_created_at, c_author_id, c_assignee_id)
+                SELECT 'Task ' || i,
+                       repeat('x', 300),
+                       CASE WHEN i % ? = 0 THEN 'COMPLETED' ELSE 'WAITING' END,
+                       'HIGH',
+                       now()::timestamp(0),
+                       ?,
+                       ?
+                FROM generate_series(1, ?) AS i
+                """, COMPLETED_EVERY, admin.getId(), user.getId(), TASKS);
+    }
+
+    @Test
+    void exportTasks_StreamsEveryTaskAsGzippedNdjson_InConstantMemory() throws Exception {
+        HttpResponse<InputStream> response = export("", adminToken());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+
+        long lines = 0;
+        long bytes = 0;
+        long previousId = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(response.body()), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if(lines % 100_000 == 0) {
+                    JsonNode task = objectMapper.readTree(line);
+                    assertTrue(task.get("id").asLong() > previousId);
+                    assertEquals(user.getId(), task.get("assigneeId").asLong());
+                    assertFalse(task.has("comments"));
+                    previousId = task.get("id").asLong();
+                }
+                lines++;
+                bytes += line.length() + 1;
+            }
+        }
+
+        assertEquals(TASKS, lines);
+        assertTrue(bytes > Runtime.getRuntime().maxMemory(),
+                "export of " + bytes + " bytes should not fit into the heap of " + Runtime.getRuntime().maxMemory());
+    }
+
+    @Test
+    void exportTasks_StreamsFilteredTasksAsCsv() throws Exception {
+        HttpResponse<InputStream> response = export("?format=CSV&status=COMPLETED", adminToken());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/csv"));
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(response.body()), StandardCharsets.UTF_8))) {
+            assertEquals("id,title,description,status,priority,createdAt,authorId,assigneeId,commentCount", reader.readLine());
+            String[] firstRow = reader.readLine().split(",");
+            assertEquals("COMPLETED", firstRow[3]);
+            assertEquals(String.valueOf(user.getId()), firstRow[7]);
+            assertEquals(TASKS / COMPLETED_EVERY - 1, reader.lines().count());
+        }
+    }
+
+    @Test
+    void exportTasks_Returns400_WhenFormatInvalid() throws Exception {
+        HttpResponse<InputStream> response = export("?format=XML", adminToken());
+
+        assertEquals(400, response.statusCode());
+    }
+
+    @Test
+    void exportTasks_Returns403_WhenUserNotAdmin() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(user.getId(), user.getEmail(), user.getRole());
+
+        HttpResponse<InputStream> response = export("", accessToken);
+
+        assertEquals(403, response.statusCode());
+    }
+
+    private HttpResponse<InputStream> export(String query, String accessToken) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks/export" + query))
+                .header("Authorization", "Bearer " + accessToken)
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    private String adminToken() {
+        return jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+    }
+
+    private User saveUser(String name, String email, Role role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setRole(role);
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,169 @@
+package ru.andreyszdlv.taskmanager.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.testcontainers.RedisContainer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import ru.andreyszdlv.taskmanager.dto.task.CreateTaskRequestDto;
+import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.model.User;
+import ru.andreyszdlv.taskmanager.repository.TaskRepository;
+import ru.andreyszdlv.taskmanager.repository.UserRepository;
+import ru.andreyszdlv.taskmanager.service.JwtStorageService;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: every chunk of the import commits on its own.
+@AutoConfigureMockMvc
+@Testcontainers
+public class TaskImportIT extends BaseIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest");
+
+    @Container
+    static RedisContainer redisContainer =
+            new RedisContainer(DockerImageName.parse("redis:latest")).withExposedPorts(6379).waitingFor(Wait.forListeningPort());
+
+    @DynamicPropertySource
+    static void dynamicProperties(DynamicPropertyRegistry registry){
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+
+        registry.add("spring.data.redis.host", redisContainer::getHost);
+        registry.add("spring.data.redis.port", ()->redisContainer.getMappedPort(6379).toString());
+    }
+
+    static final int TASKS = 2_500;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JwtStorageService jwtStorageService;
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    String BASE_URL = "/api/tasks/bulk";
+
+    User admin;
+
+    User assignee;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.findByEmail("admin@admin.com")
+                .orElseGet(() -> saveUser("admin", "admin@admin.com", Role.ADMIN));
+        assignee = userRepository.findByEmail("user@user.com")
+                .orElseGet(() -> saveUser("user", "user@user.com", Role.USER));
+    }
+
+    @Test
+    void importTasks_InsertsNdjsonInBatches() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < TASKS; i++) {
+            body.append(objectMapper.writeValueAsString(
+                    new CreateTaskRequestDto("Task " + i, "Task " + i, "HIGH", "WAITING", assignee.getId())
+            )).append('\n');
+        }
+        long tasksBefore = taskRepository.count();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post(BASE_URL)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body.toString())
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpectAll(
+                status().isOk(),
+                jsonPath("$.imported").value(TASKS),
+                jsonPath("$.failed", hasSize(0))
+        );
+
+        assertEquals(TASKS, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() < TASKS / 10,
+                "inserts should be batched, was " + statistics.getPrepareStatementCount() + " statements");
+        assertEquals(tasksBefore + TASKS, taskRepository.count());
+    }
+
+    @Test
+    void importTasks_ReportsRowErrors_WithoutAbortingImport() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        String body = "[" +
+                "{\"title\": \"First\", \"priority\": \"HIGH\", \"status\": \"WAITING\"}," +
+                "{\"title\": \"\", \"priority\": \"HIGH\", \"status\": \"WAITING\"}," +
+                "{\"title\": \"Third\", \"priority\": \"HIGH\", \"status\": \"WAITING\", \"assigneeId\": " + NOT_EXISTING_USER_ID + "}," +
+                "{\"title\": \"Fourth\", \"priority\": {\"value\": \"HIGH\"}, \"status\": \"WAITING\"}," +
+                "{\"title\": \"Fifth\", \"priority\": \"LOW\", \"status\": \"COMPLETED\", \"assigneeId\": " + assignee.getId() + "}" +
+                "]";
+        long tasksBefore = taskRepository.count();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post(BASE_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body)
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpectAll(
+                status().isOk(),
+                jsonPath("$.imported").value(2),
+                jsonPath("$.failed", hasSize(3)),
+                jsonPath("$.failed[0].row").value(2),
+                jsonPath("$.failed[1].row").value(3),
+                jsonPath("$.failed[2].row").value(4)
+        );
+
+        assertEquals(tasksBefore + 2, taskRepository.count());
+    }
+
+    @Test
+    void importTasks_Returns403_WhenUserNotAdmin() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(assignee.getId(), assignee.getEmail(), assignee.getRole());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post(BASE_URL)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"title\": \"Task\", \"priority\": \"HIGH\", \"status\": \"WAITING\"}")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isForbidden());
+    }
+
+    private User saveUser(String name, String email, Role role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setRole(role);
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,164 @@
+package ru.andreyszdlv.taskmanager.controller;
+
+import com.redis.testcontainers.RedisContainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+public class TaskIndexExplainIT extends BaseIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest");
+
+    @Container
+    static RedisContainer redisContainer =
+            new RedisContainer(DockerImageName.parse("redis:latest")).withExposedPorts(6379).waitingFor(Wait.forListeningPort());
+
+    @DynamicPropertySource
+    static void dynamicProperties(DynamicPropertyRegistry registry){
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+
+        registry.add("spring.data.redis.host", redisContainer::getHost);
+        registry.add("spring.data.redis.port", ()->redisContainer.getMappedPort(6379).toString());
+    }
+
+    static final int USERS = 200;
+
+    static final int TASKS = 50_000;
+
+    static final int COMMENTS = 50_000;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    long firstUserId;
+
+    // Skewed like a long-lived tracker: almost everything is COMPLETED and LOW,
+    // the statuses and priorities people actually filter on are rare.
+    @BeforeEach
+    void seed() {
+        if(jdbcTemplate.queryForObject("SELECT count(*) FROM t_users", Long.class) > 0) {
+            firstUserId = jdbcTemplate.queryForObject("SELECT min(c_id) FROM t_users", Long.class);
+            return;
+        }
+
+        jdbcTemplate.update("""
+                INSERT INTO t_users (c_name, c_email, c_password, c_role)
+                SELECT 'user' || i, 'user' || i || '@explain.com', 'password', 'USER'
+                FROM generate_series(1, ?) i
+                """, USERS);
+        firstUserId = jdbcTemplate.queryForObject("SELECT min(c_id) FROM t_users", Long.class);
+
+        jdbcTemplate.update("""
+                INSERT INTO t_tasks (c_title, c_status, c_priority, c_created_at, c_author_id, c_assignee_id)
+                SELECT 'Task ' || i,
+                       CASE i % 100 WHEN 0 THEN 'WAITING' WHEN 1 THEN 'IN_PROGRESS' ELSE 'COMPLETED' END,
+                       CASE i % 97 WHEN 0 THEN 'HIGH' WHEN 1 THEN 'MEDIUM' ELSE 'LOW' END,
+                       TIMESTAMP '2024-01-01' + i * INTERVAL '1 minute',
+                       ? + i % ?,
+                       CASE WHEN i % 2 = 0 THEN NULL ELSE ? + (i / 2) % ? END
+                FROM generate_series(1, ?) i
+                """, firstUserId, USERS, firstUserId, USERS, TASKS);
+
+        jdbcTemplate.update("""
+                INSERT INTO t_comments (c_content, c_created_at, c_task_id, c_author_id)
+                SELECT 'Comment ' || i, TIMESTAMP '2024-01-01' + i * INTERVAL '1 minute', t.c_id, t.c_author_id
+                FROM generate_series(1, ?) i
+                JOIN t_tasks t ON t.c_id = (SELECT min(c_id) FROM t_tasks) + i % ?
+                """, COMMENTS, TASKS);
+
+        jdbcTemplate.execute("ANALYZE t_users, t_tasks, t_comments");
+    }
+
+    @Test
+    void taskFilters_NeverFallBackToSeqScan() {
+        String[] predicates = {
+                "c_status = 'WAITING'",
+                "c_priority = 'HIGH'",
+                "c_author_id = " + (firstUserId + 7),
+                "c_assignee_id = " + (firstUserId + 13)
+        };
+        List<String> failures = new ArrayList<>();
+
+        for (int mask = 1; mask < 1 << predicates.length; mask++) {
+            List<String> where = new ArrayList<>();
+            for (int i = 0; i < predicates.length; i++) {
+                if((mask & 1 << i) != 0) {
+                    where.add(predicates[i]);
+                }
+            }
+            String condition = String.join(" AND ", where);
+
+            checkNoSeqScan("SELECT count(c_id) FROM t_tasks WHERE " + condition, "t_tasks", failures);
+            checkNoSeqScan(
+                    "SELECT * FROM t_tasks WHERE " + condition + " ORDER BY c_created_at, c_id LIMIT 21",
+                    "t_tasks",
+                    failures
+            );
+        }
+        checkNoSeqScan("SELECT * FROM t_tasks ORDER BY c_created_at, c_id LIMIT 21", "t_tasks", failures);
+
+        assertTrue(failures.isEmpty(), String.join("\n\n", failures));
+    }
+
+    @Test
+    void commentsByTask_NeverFallBackToSeqScan() {
+        List<String> failures = new ArrayList<>();
+        long taskId = jdbcTemplate.queryForObject("SELECT min(c_id) FROM t_tasks", Long.class) + 42;
+
+        checkNoSeqScan(
+                "SELECT * FROM t_comments WHERE c_task_id = " + taskId + " ORDER BY c_created_at, c_id",
+                "t_comments",
+                failures
+        );
+        checkNoSeqScan(
+                "SELECT count(c_id) FROM t_comments WHERE c_author_id = " + (firstUserId + 7),
+                "t_comments",
+                failures
+        );
+
+        assertTrue(failures.isEmpty(), String.join("\n\n", failures));
+    }
+
+    @Test
+    void textSearch_UsesSearchVectorIndex() {
+        List<String> failures = new ArrayList<>();
+
+        checkNoSeqScan(
+                "SELECT c_id FROM t_tasks WHERE c_search_vector @@ websearch_to_tsquery('russian', '4242')",
+                "t_tasks",
+                failures
+        );
+        checkNoSeqScan(
+                "SELECT c_id FROM t_tasks WHERE c_search_vector @@ websearch_to_tsquery('russian', '4242') AND c_status = 'WAITING'",
+                "t_tasks",
+                failures
+        );
+
+        assertTrue(failures.isEmpty(), String.join("\n\n", failures));
+    }
+
+    private void checkNoSeqScan(String sql, String table, List<String> failures) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+        if(plan.contains("Seq Scan on " + table)) {
+            failures.add(sql + "\n" + plan);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package ru.andreyszdlv.taskmanager.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.testcontainers.RedisContainer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import ru.andreyszdlv.taskmanager.dto.task.UpdateStatusRequestDto;
+import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.enums.TaskPriority;
+import ru.andreyszdlv.taskmanager.enums.TaskStatus;
+import ru.andreyszdlv.taskmanager.model.Task;
+import ru.andreyszdlv.taskmanager.model.User;
+import ru.andreyszdlv.taskmanager.repository.TaskRepository;
+import ru.andreyszdlv.taskmanager.repository.UserRepository;
+import ru.andreyszdlv.taskmanager.service.JwtStorageService;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: list pages are cached and generations are bumped only
+// after a real commit.
+@AutoConfigureMockMvc
+@Testcontainers
+public class TaskListCacheIT extends BaseIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest");
+
+    @Container
+    static RedisContainer redisContainer =
+            new RedisContainer(DockerImageName.parse("redis:latest")).withExposedPorts(6379).waitingFor(Wait.forListeningPort());
+
+    @DynamicPropertySource
+    static void dynamicProperties(DynamicPropertyRegistry registry){
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+
+        registry.add("spring.data.redis.host", redisContainer::getHost);
+        registry.add("spring.data.redis.port", ()->redisContainer.getMappedPort(6379).toString());
+    }
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JwtStorageService jwtStorageService;
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    StringRedisTemplate stringRedisTemplate;
+
+    String BASE_URL = "/api/tasks";
+
+    User admin;
+
+    User firstAssignee;
+
+    User secondAssignee;
+
+    Task firstAssigneeTask;
+
+    String accessToken;
+
+    // Seeding goes straight through the repository and does not bump any
+    // generation, so pages cached by a previous test are dropped by hand.
+    @BeforeEach
+    void setUp() {
+        stringRedisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+        taskRepository.deleteAll();
+        admin = userRepository.findByEmail("admin@admin.com")
+                .orElseGet(() -> saveUser("admin", "admin@admin.com", Role.ADMIN));
+        firstAssignee = userRepository.findByEmail("first@user.com")
+                .orElseGet(() -> saveUser("first", "first@user.com", Role.USER));
+        secondAssignee = userRepository.findByEmail("second@user.com")
+                .orElseGet(() -> saveUser("second", "second@user.com", Role.USER));
+
+        firstAssigneeTask = saveTask("First", firstAssignee);
+        saveTask("Second", secondAssignee);
+
+        accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+    }
+
+    @Test
+    void getAllTasks_ServesRepeatedFilterFromCache() throws Exception {
+        String url = BASE_URL + "?assigneeId=" + firstAssignee.getId();
+        getTasks(url, 1);
+
+        assertEquals(0, getTasks(url, 1));
+    }
+
+    @Test
+    void getAllTasks_KeepsOtherAssigneePages_WhenTaskOfOneAssigneeUpdated() throws Exception {
+        String firstUrl = BASE_URL + "?assigneeId=" + firstAssignee.getId();
+        String secondUrl = BASE_URL + "?assigneeId=" + secondAssignee.getId();
+        getTasks(firstUrl, 1);
+        getTasks(secondUrl, 1);
+
+        updateStatus(firstAssigneeTask, TaskStatus.COMPLETED);
+
+        assertEquals(0, getTasks(secondUrl, 1));
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(firstUrl)
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(jsonPath("$.content[0].status").value(TaskStatus.COMPLETED.name()));
+    }
+
+    @Test
+    void getAllTasks_ReturnsFreshPage_WhenTaskMovesToFilteredStatus() throws Exception {
+        String completedUrl = BASE_URL + "?status=" + TaskStatus.COMPLETED.name();
+        getTasks(completedUrl, 0);
+
+        updateStatus(firstAssigneeTask, TaskStatus.COMPLETED);
+
+        getTasks(completedUrl, 1);
+    }
+
+    private long getTasks(String url, int expectedTasks) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(url)
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpectAll(
+                status().isOk(),
+                jsonPath("$.content", hasSize(expectedTasks))
+        );
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void updateStatus(Task task, TaskStatus status) throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                .patch(BASE_URL + "/{id}/status", task.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateStatusRequestDto(status.name())))
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isOk());
+    }
+
+    private Task saveTask(String title, User assignee) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription(title);
+        task.setStatus(TaskStatus.WAITING);
+        task.setPriority(TaskPriority.HIGH);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setAuthor(admin);
+        task.setAssignee(assignee);
+        return taskRepository.save(task);
+    }
+
+    private User saveUser(String name, String email, Role role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setRole(role);
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+}
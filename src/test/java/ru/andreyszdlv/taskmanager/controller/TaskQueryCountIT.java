@@ -0,0 +1,289 @@
+package ru.andreyszdlv.taskmanager.controller;
+
+import com.redis.testcontainers.RedisContainer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.enums.TaskPriority;
+import ru.andreyszdlv.taskmanager.enums.TaskStatus;
+import ru.andreyszdlv.taskmanager.model.Comment;
+import ru.andreyszdlv.taskmanager.model.Task;
+import ru.andreyszdlv.taskmanager.model.User;
+import ru.andreyszdlv.taskmanager.repository.CommentRepository;
+import ru.andreyszdlv.taskmanager.repository.TaskRepository;
+import ru.andreyszdlv.taskmanager.repository.UserRepository;
+import ru.andreyszdlv.taskmanager.service.JwtStorageService;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@Testcontainers
+public class TaskQueryCountIT extends BaseIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest");
+
+    @Container
+    static RedisContainer redisContainer =
+            new RedisContainer(DockerImageName.parse("redis:latest")).withExposedPorts(6379).waitingFor(Wait.forListeningPort());
+
+    @DynamicPropertySource
+    static void dynamicProperties(DynamicPropertyRegistry registry){
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+
+        registry.add("spring.data.redis.host", redisContainer::getHost);
+        registry.add("spring.data.redis.port", ()->redisContainer.getMappedPort(6379).toString());
+    }
+
+    static final int TASKS = 10;
+
+    static final int COMMENTS_PER_TASK = 3;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JwtStorageService jwtStorageService;
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    String BASE_URL = "/api/tasks";
+
+    User admin;
+
+    User assignee;
+
+    Task firstTask;
+
+    // Saved without a surrounding transaction, so every request starts
+    // from an empty persistence context and really hits the database.
+    @BeforeEach
+    void setUp() {
+        if(userRepository.existsByEmail("admin@admin.com")) {
+            admin = userRepository.findByEmail("admin@admin.com").get();
+            assignee = userRepository.findByEmail("user@user.com").get();
+            firstTask = taskRepository.findAll().get(0);
+            return;
+        }
+
+        admin = saveUser("admin", "admin@admin.com", Role.ADMIN);
+        assignee = saveUser("user", "user@user.com", Role.USER);
+        User[] commenters = new User[COMMENTS_PER_TASK];
+        for (int i = 0; i < COMMENTS_PER_TASK; i++) {
+            commenters[i] = saveUser("commenter" + i, "commenter" + i + "@user.com", Role.USER);
+        }
+
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setDescription("Task " + i);
+            task.setStatus(TaskStatus.WAITING);
+            task.setPriority(TaskPriority.HIGH);
+            task.setCreatedAt(LocalDateTime.now().plusSeconds(i));
+            task.setAuthor(admin);
+            task.setAssignee(assignee);
+            task = taskRepository.save(task);
+            if(firstTask == null) {
+                firstTask = task;
+            }
+
+            for (User commenter : commenters) {
+                Comment comment = new Comment();
+                comment.setContent("Comment");
+                comment.setCreatedAt(LocalDateTime.now());
+                comment.setTask(task);
+                comment.setAuthor(commenter);
+                commentRepository.save(comment);
+            }
+        }
+    }
+
+    @Test
+    void getAllTasks_ExecutesSameStatementCount_ForAnyPageSize() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+
+        long smallPage = countStatements(BASE_URL + "?expand=comments&page=0&size=5", accessToken, 5);
+        long fullPage = countStatements(BASE_URL + "?expand=comments&page=0&size=" + TASKS, accessToken, TASKS);
+
+        assertEquals(smallPage, fullPage);
+        assertTrue(fullPage <= 3, "page, count and one comments batch, was " + fullPage);
+    }
+
+    @Test
+    void getAllTasks_SkipsComments_WhenNotExpanded() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(BASE_URL + "?page=0&size=" + TASKS)
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpectAll(
+                status().isOk(),
+                jsonPath("$.content", hasSize(TASKS)),
+                jsonPath("$.content[0].comments").doesNotExist(),
+                jsonPath("$.content[0].commentCount").value(COMMENTS_PER_TASK)
+        );
+
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "page and count, was " + statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+    }
+
+    @Test
+    void getAllTasks_SkipsCount_WhenCountNone() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(BASE_URL + "?page=0&size=5&count=none")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpectAll(
+                status().isOk(),
+                jsonPath("$.content", hasSize(5)),
+                jsonPath("$.last").value(false),
+                jsonPath("$.totalElements").doesNotExist()
+        );
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAllTasks_ReusesCachedCount_WhenCountEstimate() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        String url = BASE_URL + "?status=WAITING&page=0&size=5&count=estimate";
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(url)
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isOk());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(url)
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpectAll(
+                status().isOk(),
+                jsonPath("$.content", hasSize(5)),
+                jsonPath("$.totalElements").value(TASKS)
+        );
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAllTasks_CountsExactTotal_WhenCountEstimateAndPagePastTheEnd() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(BASE_URL + "?status=WAITING&page=1000&size=5&count=estimate")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpectAll(
+                status().isOk(),
+                jsonPath("$.content", hasSize(0)),
+                jsonPath("$.totalElements").value(TASKS)
+        );
+    }
+
+    @Test
+    void getAllTasks_Returns400_WhenCountInvalid() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(BASE_URL + "?count=approximate")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllTasksByCursor_ExecutesTwoStatements() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+
+        long statements = countStatements(BASE_URL + "?expand=comments&cursor=&size=" + TASKS, accessToken, TASKS);
+
+        assertEquals(2, statements);
+    }
+
+    @Test
+    void getTasksAssignedToMe_ExecutesAtMostThreeStatements() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(assignee.getId(), assignee.getEmail(), assignee.getRole());
+
+        long statements = countStatements(BASE_URL + "/assigned-to-me?expand=comments&page=0&size=" + TASKS, accessToken, TASKS);
+
+        assertTrue(statements <= 3, "page, count and one comments batch, was " + statements);
+    }
+
+    @Test
+    void getTaskById_ExecutesOneStatement() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(BASE_URL + "/" + firstTask.getId() + "?expand=comments")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpectAll(
+                status().isOk(),
+                jsonPath("$.comments", hasSize(COMMENTS_PER_TASK))
+        );
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private long countStatements(String url, String accessToken, int expectedTasks) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(url)
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpectAll(
+                status().isOk(),
+                jsonPath("$.content", hasSize(expectedTasks)),
+                jsonPath("$.content[0].comments", hasSize(COMMENTS_PER_TASK))
+        );
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User saveUser(String name, String email, Role role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setRole(role);
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,225 @@
+package ru.andreyszdlv.taskmanager.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.testcontainers.RedisContainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import ru.andreyszdlv.taskmanager.dto.task.TaskSliceDto;
+import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.enums.TaskPriority;
+import ru.andreyszdlv.taskmanager.enums.TaskStatus;
+import ru.andreyszdlv.taskmanager.model.Comment;
+import ru.andreyszdlv.taskmanager.model.Task;
+import ru.andreyszdlv.taskmanager.model.User;
+import ru.andreyszdlv.taskmanager.repository.CommentRepository;
+import ru.andreyszdlv.taskmanager.repository.TaskRepository;
+import ru.andreyszdlv.taskmanager.repository.UserRepository;
+import ru.andreyszdlv.taskmanager.service.JwtStorageService;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: the search document is maintained by database
+// triggers, comments have to be committed before they are searchable.
+@AutoConfigureMockMvc
+@Testcontainers
+public class TaskSearchIT extends BaseIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest");
+
+    @Container
+    static RedisContainer redisContainer =
+            new RedisContainer(DockerImageName.parse("redis:latest")).withExposedPorts(6379).waitingFor(Wait.forListeningPort());
+
+    @DynamicPropertySource
+    static void dynamicProperties(DynamicPropertyRegistry registry){
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+
+        registry.add("spring.data.redis.host", redisContainer::getHost);
+        registry.add("spring.data.redis.port", ()->redisContainer.getMappedPort(6379).toString());
+    }
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JwtStorageService jwtStorageService;
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    String BASE_URL = "/api/tasks";
+
+    User admin;
+
+    Task titleMatch;
+
+    Task commentMatch;
+
+    Task unrelated;
+
+    @BeforeEach
+    void setUp() {
+        if(userRepository.existsByEmail("admin@admin.com")) {
+            admin = userRepository.findByEmail("admin@admin.com").get();
+            titleMatch = findTask("Подготовить отчеты за квартал");
+            commentMatch = findTask("Созвон с заказчиком");
+            unrelated = findTask("Обновить зависимости");
+            return;
+        }
+
+        admin = new User();
+        admin.setName("admin");
+        admin.setEmail("admin@admin.com");
+        admin.setRole(Role.ADMIN);
+        admin.setPassword("password");
+        admin = userRepository.save(admin);
+
+        titleMatch = saveTask("Подготовить отчеты за квартал", TaskStatus.WAITING);
+        commentMatch = saveTask("Созвон с заказчиком", TaskStatus.COMPLETED);
+        unrelated = saveTask("Обновить зависимости", TaskStatus.WAITING);
+
+        Comment comment = new Comment();
+        comment.setContent("Отчет отправлен заказчику");
+        comment.setCreatedAt(LocalDateTime.now());
+        comment.setTask(commentMatch);
+        comment.setAuthor(admin);
+        commentRepository.save(comment);
+    }
+
+    @Test
+    void searchTasks_RanksTitleMatchesAboveCommentMatches() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(BASE_URL)
+                .param("q", "отчет")
+                .header("Authorization", "Bearer " + adminToken())
+        ).andExpectAll(
+                status().isOk(),
+                jsonPath("$.content", hasSize(2)),
+                jsonPath("$.content[0].id").value(titleMatch.getId()),
+                jsonPath("$.content[1].id").value(commentMatch.getId()),
+                jsonPath("$.next").doesNotExist()
+        );
+    }
+
+    @Test
+    void searchTasks_CombinesWithFilters() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(BASE_URL)
+                .param("q", "отчет")
+                .param("status", "COMPLETED")
+                .header("Authorization", "Bearer " + adminToken())
+        ).andExpectAll(
+                status().isOk(),
+                jsonPath("$.content", hasSize(1)),
+                jsonPath("$.content[0].id").value(commentMatch.getId())
+        );
+    }
+
+    @Test
+    void searchTasks_ContinuesAfterCursor() throws Exception {
+        String response = mockMvc.perform(MockMvcRequestBuilders
+                .get(BASE_URL)
+                .param("q", "отчет")
+                .param("size", "1")
+                .header("Authorization", "Bearer " + adminToken())
+        ).andExpectAll(
+                status().isOk(),
+                jsonPath("$.content", hasSize(1)),
+                jsonPath("$.content[0].id").value(titleMatch.getId()),
+                jsonPath("$.next").exists()
+        ).andReturn().getResponse().getContentAsString();
+        String next = objectMapper.readValue(response, TaskSliceDto.class).next();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(BASE_URL)
+                .param("q", "отчет")
+                .param("size", "1")
+                .param("cursor", next)
+                .header("Authorization", "Bearer " + adminToken())
+        ).andExpectAll(
+                status().isOk(),
+                jsonPath("$.content", hasSize(1)),
+                jsonPath("$.content[0].id").value(commentMatch.getId()),
+                jsonPath("$.next").doesNotExist()
+        );
+    }
+
+    @Test
+    void searchTasks_FindsTaskByCommentCreatedThroughApi() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                .post(BASE_URL + "/" + unrelated.getId() + "/comments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"content\": \"Обновили spring boot\"}")
+                .header("Authorization", "Bearer " + adminToken())
+        ).andExpect(status().isCreated());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(BASE_URL)
+                .param("q", "spring")
+                .header("Authorization", "Bearer " + adminToken())
+        ).andExpectAll(
+                status().isOk(),
+                jsonPath("$.content", hasSize(1)),
+                jsonPath("$.content[0].id").value(unrelated.getId())
+        );
+    }
+
+    @Test
+    void searchTasks_Returns400_WhenQueryBlank() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(BASE_URL)
+                .param("q", "  ")
+                .header("Authorization", "Bearer " + adminToken())
+        ).andExpect(status().isBadRequest());
+    }
+
+    private String adminToken() {
+        return jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+    }
+
+    private Task findTask(String title) {
+        return taskRepository.findAll().stream()
+                .filter(task -> task.getTitle().equals(title))
+                .findFirst()
+                .get();
+    }
+
+    private Task saveTask(String title, TaskStatus status) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription(title);
+        task.setStatus(status);
+        task.setPriority(TaskPriority.HIGH);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setAuthor(admin);
+        return taskRepository.save(task);
+    }
+}
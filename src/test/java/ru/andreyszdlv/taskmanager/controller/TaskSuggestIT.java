@@ -0,0 +1,185 @@
+package ru.andreyszdlv.taskmanager.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.testcontainers.RedisContainer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import ru.andreyszdlv.taskmanager.dto.task.TaskSuggestionDto;
+import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.enums.TaskPriority;
+import ru.andreyszdlv.taskmanager.enums.TaskStatus;
+import ru.andreyszdlv.taskmanager.model.Task;
+import ru.andreyszdlv.taskmanager.model.User;
+import ru.andreyszdlv.taskmanager.repository.TaskRepository;
+import ru.andreyszdlv.taskmanager.repository.UserRepository;
+import ru.andreyszdlv.taskmanager.service.JwtStorageService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@Testcontainers
+public class TaskSuggestIT extends BaseIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest");
+
+    @Container
+    static RedisContainer redisContainer =
+            new RedisContainer(DockerImageName.parse("redis:latest")).withExposedPorts(6379).waitingFor(Wait.forListeningPort());
+
+    @DynamicPropertySource
+    static void dynamicProperties(DynamicPropertyRegistry registry){
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+
+        registry.add("spring.data.redis.host", redisContainer::getHost);
+        registry.add("spring.data.redis.port", ()->redisContainer.getMappedPort(6379).toString());
+    }
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    JwtStorageService jwtStorageService;
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    String BASE_URL = "/api/tasks/suggest";
+
+    User admin;
+
+    User assignee;
+
+    // Saved without a surrounding transaction, so suggestions are read
+    // from committed rows and the statement count is not hidden by a
+    // shared persistence context.
+    @BeforeEach
+    void setUp() {
+        if(userRepository.existsByEmail("admin@admin.com")) {
+            admin = userRepository.findByEmail("admin@admin.com").get();
+            assignee = userRepository.findByEmail("user@user.com").get();
+            return;
+        }
+
+        admin = saveUser("admin", "admin@admin.com", Role.ADMIN);
+        assignee = saveUser("user", "user@user.com", Role.USER);
+
+        saveTask("Release checklist", assignee);
+        saveTask("Release notes", null);
+        saveTask("Refactor billing", assignee);
+    }
+
+    @Test
+    void suggest_ReturnsTasksStartingWithPrefix_WhenAdminRole() throws Exception {
+        List<TaskSuggestionDto> suggestions = suggest(admin, "rel");
+
+        assertEquals(List.of("Release checklist", "Release notes"),
+                suggestions.stream().map(TaskSuggestionDto::title).toList());
+    }
+
+    @Test
+    void suggest_ReturnsOnlyAssignedTasks_WhenUserRole() throws Exception {
+        List<TaskSuggestionDto> suggestions = suggest(assignee, "release");
+
+        assertEquals(List.of("Release checklist"),
+                suggestions.stream().map(TaskSuggestionDto::title).toList());
+    }
+
+    @Test
+    void suggest_FindsSimilarTitles_WhenPrefixHasTypo() throws Exception {
+        List<TaskSuggestionDto> suggestions = suggest(assignee, "relase");
+
+        assertFalse(suggestions.isEmpty());
+        assertEquals("Release checklist", suggestions.get(0).title());
+    }
+
+    @Test
+    void suggest_ExecutesNoStatements_WhenPrefixIsCached() throws Exception {
+        suggest(admin, "refac");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<TaskSuggestionDto> suggestions = suggest(admin, "Refac");
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(List.of("Refactor billing"),
+                suggestions.stream().map(TaskSuggestionDto::title).toList());
+    }
+
+    @Test
+    void suggest_Returns400_WhenPrefixTooShort() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(BASE_URL)
+                .param("prefix", "re")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isBadRequest());
+    }
+
+    private List<TaskSuggestionDto> suggest(User user, String prefix) throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(user.getId(), user.getEmail(), user.getRole());
+
+        String responseString = mockMvc.perform(MockMvcRequestBuilders
+                .get(BASE_URL)
+                .param("prefix", prefix)
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return objectMapper.readValue(responseString, new TypeReference<>() {});
+    }
+
+    private void saveTask(String title, User taskAssignee) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(TaskStatus.WAITING);
+        task.setPriority(TaskPriority.LOW);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setAuthor(admin);
+        task.setAssignee(taskAssignee);
+        taskRepository.save(task);
+    }
+
+    private User saveUser(String name, String email, Role role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setRole(role);
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,227 @@
+package ru.andreyszdlv.taskmanager.controller;
+
+import com.redis.testcontainers.RedisContainer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.enums.TaskPriority;
+import ru.andreyszdlv.taskmanager.enums.TaskStatus;
+import ru.andreyszdlv.taskmanager.model.Comment;
+import ru.andreyszdlv.taskmanager.model.Task;
+import ru.andreyszdlv.taskmanager.model.User;
+import ru.andreyszdlv.taskmanager.repository.CommentRepository;
+import ru.andreyszdlv.taskmanager.repository.TaskRepository;
+import ru.andreyszdlv.taskmanager.repository.UserRepository;
+import ru.andreyszdlv.taskmanager.service.JwtStorageService;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@Testcontainers
+public class TaskWriteQueryCountIT extends BaseIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer =
+            new PostgreSQLContainer<>("postgres:latest");
+
+    @Container
+    static RedisContainer redisContainer =
+            new RedisContainer(DockerImageName.parse("redis:latest")).withExposedPorts(6379).waitingFor(Wait.forListeningPort());
+
+    @DynamicPropertySource
+    static void dynamicProperties(DynamicPropertyRegistry registry){
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+
+        registry.add("spring.data.redis.host", redisContainer::getHost);
+        registry.add("spring.data.redis.port", ()->redisContainer.getMappedPort(6379).toString());
+    }
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JwtStorageService jwtStorageService;
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    String BASE_URL = "/api/tasks";
+
+    User admin;
+
+    User assignee;
+
+    Task task;
+
+    // Saved without a surrounding transaction, so every request starts
+    // from an empty persistence context and really hits the database.
+    // Every write below also counts the insert of its event into the
+    // t_task_events outbox, made in the same transaction.
+    @BeforeEach
+    void setUp() {
+        if(userRepository.existsByEmail("admin@admin.com")) {
+            admin = userRepository.findByEmail("admin@admin.com").get();
+            assignee = userRepository.findByEmail("user@user.com").get();
+            task = taskRepository.findAll().get(0);
+            return;
+        }
+
+        admin = saveUser("admin", "admin@admin.com", Role.ADMIN);
+        assignee = saveUser("user", "user@user.com", Role.USER);
+
+        task = new Task();
+        task.setTitle("Task");
+        task.setDescription("Task");
+        task.setStatus(TaskStatus.WAITING);
+        task.setPriority(TaskPriority.HIGH);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setAuthor(admin);
+        task.setAssignee(assignee);
+        task = taskRepository.save(task);
+    }
+
+    @Test
+    void updateStatus_ExecutesUpdateReturningAndOutboxInsert() throws Exception {
+        long statements = countStatements("/" + task.getId() + "/status", "{\"status\": \"IN_PROGRESS\"}");
+
+        assertEquals(2, statements);
+        assertEquals(TaskStatus.IN_PROGRESS, taskRepository.findById(task.getId()).get().getStatus());
+    }
+
+    @Test
+    void updatePriority_ExecutesUpdateReturningAndOutboxInsert() throws Exception {
+        long statements = countStatements("/" + task.getId() + "/priority", "{\"priority\": \"LOW\"}");
+
+        assertEquals(2, statements);
+        assertEquals(TaskPriority.LOW, taskRepository.findById(task.getId()).get().getPriority());
+    }
+
+    @Test
+    void updateAssignee_DoesNotLoadAssignee() throws Exception {
+        long statements = countStatements("/" + task.getId() + "/assignee", "{\"assigneeId\": " + admin.getId() + "}");
+
+        assertEquals(2, statements);
+        assertEquals(admin.getId(), taskRepository.findById(task.getId()).get().getAssignee().getId());
+    }
+
+    @Test
+    void updateAssignee_Returns404_WhenAssigneeNotExists() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        long assigneeId = taskRepository.findById(task.getId()).get().getAssignee().getId();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .patch(BASE_URL + "/" + task.getId() + "/assignee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"assigneeId\": " + NOT_EXISTING_USER_ID + "}")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isNotFound());
+
+        assertEquals(assigneeId, taskRepository.findById(task.getId()).get().getAssignee().getId());
+    }
+
+    @Test
+    void createComment_ExecutesProjectionInsertAndOutboxInsert() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post(BASE_URL + "/" + task.getId() + "/comments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"content\": \"Comment\"}")
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpectAll(
+                status().isCreated(),
+                jsonPath("$.authorId").value(admin.getId())
+        );
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void deleteTask_DeletesCommentsWithoutLoadingThem() throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        Task deleted = new Task();
+        deleted.setTitle("Deleted");
+        deleted.setStatus(TaskStatus.WAITING);
+        deleted.setPriority(TaskPriority.LOW);
+        deleted.setCreatedAt(LocalDateTime.now());
+        deleted.setAuthor(admin);
+        deleted = taskRepository.save(deleted);
+        for (int i = 0; i < 3; i++) {
+            Comment comment = new Comment();
+            comment.setContent("Comment");
+            comment.setCreatedAt(LocalDateTime.now());
+            comment.setTask(deleted);
+            comment.setAuthor(admin);
+            commentRepository.save(comment);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .delete(BASE_URL + "/" + deleted.getId())
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isNoContent());
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertFalse(taskRepository.existsById(deleted.getId()));
+        assertTrue(commentRepository.findByTaskIdOrderByCreatedAtAscIdAsc(deleted.getId(), PageRequest.ofSize(1)).isEmpty());
+    }
+
+    private long countStatements(String url, String body) throws Exception {
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), admin.getEmail(), admin.getRole());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .patch(BASE_URL + url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body)
+                .header("Authorization", "Bearer " + accessToken)
+        ).andExpect(status().isOk());
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User saveUser(String name, String email, Role role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setRole(role);
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+}
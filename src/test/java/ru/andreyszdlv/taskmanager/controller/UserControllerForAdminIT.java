@@ -79,7 +79,7 @@ public class UserControllerForAdminIT extends BaseIT{
         user.setRole(Role.USER);
         user.setPassword("password");
         long userId = userRepository.save(user).getId();
-        String accessToken = jwtStorageService.generateAccessToken(emailAdmin, roleAdmin);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, emailAdmin, roleAdmin);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .post(BASE_URL + "/{id}/make-admin", userId)
                 .header("Authorization", "Bearer " + accessToken);
@@ -100,7 +100,7 @@ public class UserControllerForAdminIT extends BaseIT{
         String emailAdmin = "admin@admin.com";
         Role roleAdmin = Role.ADMIN;
         long userId = 1L;
-        String accessToken = jwtStorageService.generateAccessToken(emailAdmin, roleAdmin);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, emailAdmin, roleAdmin);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .post(BASE_URL + "/{id}/make-admin", userId)
                 .header("Authorization", "Bearer " + accessToken);
@@ -134,7 +134,7 @@ public class UserControllerForAdminIT extends BaseIT{
                 userMapper.toUserDto(savedUser)
         );
         String expectedJson = objectMapper.writeValueAsString(expectedDto);
-        String accessToken = jwtStorageService.generateAccessToken(emailAdmin, roleAdmin);
+        String accessToken = jwtStorageService.generateAccessToken(admin.getId(), emailAdmin, roleAdmin);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .get(BASE_URL)
                 .header("Authorization", "Bearer " + accessToken);
@@ -71,7 +71,7 @@ public class UserControllerForUserIT extends BaseIT {
         user2.setRole(Role.USER);
         user2.setPassword("password");
         long userId = userRepository.save(user2).getId();
-        String accessToken = jwtStorageService.generateAccessToken(emailUser1, roleUser1);
+        String accessToken = jwtStorageService.generateAccessToken(NOT_EXISTING_USER_ID, emailUser1, roleUser1);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .post(BASE_URL + "/{id}/make-admin", userId)
                 .header("Authorization", "Bearer " + accessToken);
@@ -102,7 +102,7 @@ public class UserControllerForUserIT extends BaseIT {
         user2.setRole(Role.USER);
         user2.setPassword("password2");
         userRepository.save(user2);
-        String accessToken = jwtStorageService.generateAccessToken(emailUser1, roleUser1);
+        String accessToken = jwtStorageService.generateAccessToken(user1.getId(), emailUser1, roleUser1);
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .get(BASE_URL)
                 .header("Authorization", "Bearer " + accessToken);
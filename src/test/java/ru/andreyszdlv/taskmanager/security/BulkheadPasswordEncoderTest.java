@@ -0,0 +1,78 @@
+package ru.andreyszdlv.taskmanager.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import ru.andreyszdlv.taskmanager.exception.PasswordEncoderUnavailableException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BulkheadPasswordEncoderTest {
+
+    @Mock
+    PasswordEncoder passwordEncoder;
+
+    ThreadPoolExecutor executor;
+
+    SimpleMeterRegistry meterRegistry;
+
+    BulkheadPasswordEncoder bulkheadPasswordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        meterRegistry = new SimpleMeterRegistry();
+        bulkheadPasswordEncoder = new BulkheadPasswordEncoder(passwordEncoder, executor, meterRegistry, 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void encode_DelegatesOnExecutorAndRecordsLatency() {
+        when(passwordEncoder.encode("password")).thenReturn("hash");
+
+        assertEquals("hash", bulkheadPasswordEncoder.encode("password"));
+        assertEquals(1, meterRegistry.get("password_encoder.hash.latency").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void matches_ThrowsException_WhenQueueIsFull() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+        executor.execute(() -> {});
+
+        PasswordEncoderUnavailableException ex = assertThrows(
+                PasswordEncoderUnavailableException.class,
+                () -> bulkheadPasswordEncoder.matches("password", "hash")
+        );
+
+        assertEquals(5, ex.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("password_encoder.bulkhead.rejected").counter().count());
+        verify(passwordEncoder, never()).matches(any(), any());
+        release.countDown();
+    }
+}
@@ -11,12 +11,15 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import ru.andreyszdlv.taskmanager.dto.auth.*;
 import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.enums.TokenType;
 import ru.andreyszdlv.taskmanager.exception.InvalidRefreshTokenException;
 import ru.andreyszdlv.taskmanager.exception.UserAlreadyExsitsException;
 import ru.andreyszdlv.taskmanager.exception.UserUnauthenticatedException;
 import ru.andreyszdlv.taskmanager.mapper.UserMapper;
 import ru.andreyszdlv.taskmanager.model.User;
 import ru.andreyszdlv.taskmanager.repository.UserRepository;
+import ru.andreyszdlv.taskmanager.security.JwtPrincipal;
+import ru.andreyszdlv.taskmanager.security.TokenPair;
 import ru.andreyszdlv.taskmanager.validation.JwtValidator;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,9 +39,6 @@ class AuthServiceTest {
     @Mock
     AuthenticationManager authenticationManager;
 
-    @Mock
-    JwtExtractorService jwtExtractorService;
-
     @Mock
     JwtStorageService jwtStorageService;
 
@@ -93,6 +93,7 @@ class AuthServiceTest {
         String accessToken = "accessToken";
         String refreshToken = "refreshToken";
         User user = new User();
+        user.setId(1L);
         user.setEmail(email);
         user.setPassword(password);
         user.setRole(Role.USER);
@@ -101,8 +102,8 @@ class AuthServiceTest {
         Authentication authentication = mock(Authentication.class);
         when(authentication.getPrincipal()).thenReturn(user);
         when(authenticationManager.authenticate(any(Authentication.class))).thenReturn(authentication);
-        when(jwtStorageService.generateAccessToken(user.getEmail(), user.getRole())).thenReturn(accessToken);
-        when(jwtStorageService.generateRefreshToken(user.getEmail(), user.getRole())).thenReturn(refreshToken);
+        when(jwtStorageService.generateTokens(user.getId(), user.getEmail(), user.getRole()))
+                .thenReturn(new TokenPair(accessToken, refreshToken));
 
         LoginResponseDto responseDto = authService.loginUser(requestDto);
 
@@ -110,9 +111,7 @@ class AuthServiceTest {
         assertEquals(expectedResponseDto, responseDto);
         verify(authenticationManager, times(1)).authenticate(any(Authentication.class));
         verify(jwtStorageService, times(1))
-                .generateAccessToken(user.getEmail(), user.getRole());
-        verify(jwtStorageService, times(1))
-                .generateRefreshToken(user.getEmail(), user.getRole());
+                .generateTokens(user.getId(), user.getEmail(), user.getRole());
     }
 
     @Test
@@ -130,8 +129,7 @@ class AuthServiceTest {
         );
 
         verify(authenticationManager, times(1)).authenticate(any(Authentication.class));
-        verify(jwtStorageService, never()).generateAccessToken(email, role);
-        verify(jwtStorageService, never()).generateRefreshToken(email, role);
+        verify(jwtStorageService, never()).generateTokens(anyLong(), eq(email), eq(role));
     }
 
     @Test
@@ -141,18 +139,17 @@ class AuthServiceTest {
         String email = "test@test.ru";
         Role role = Role.USER;
         RefreshTokenRequestDto requestDto = new RefreshTokenRequestDto(refreshToken);
-        when(jwtExtractorService.extractUserEmail(refreshToken)).thenReturn(email);
-        when(jwtExtractorService.extractRole(refreshToken)).thenReturn(role);
-        when(jwtStorageService.generateAccessToken(email, role)).thenReturn(accessToken);
+        when(jwtValidator.validateRefreshToken(refreshToken))
+                .thenReturn(new JwtPrincipal(1L, email, role, "tokenId", TokenType.REFRESH, null, null));
+        when(jwtStorageService.generateAccessToken(1L, email, role)).thenReturn(accessToken);
         RefreshTokenResponseDto expectedResponseDto = new RefreshTokenResponseDto(accessToken, refreshToken);
 
         RefreshTokenResponseDto responseDto = authService.refreshToken(requestDto);
 
         assertNotNull(responseDto);
         assertEquals(expectedResponseDto, responseDto);
-        verify(jwtExtractorService, times(1)).extractUserEmail(refreshToken);
-        verify(jwtExtractorService, times(1)).extractRole(refreshToken);
-        verify(jwtStorageService, times(1)).generateAccessToken(email, role);
+        verify(jwtValidator, times(1)).validateRefreshToken(refreshToken);
+        verify(jwtStorageService, times(1)).generateAccessToken(1L, email, role);
     }
 
     @Test
@@ -166,7 +163,7 @@ class AuthServiceTest {
                 ()->authService.refreshToken(requestDto)
         );
 
-        verify(jwtStorageService, never()).generateAccessToken(any(), any());
+        verify(jwtStorageService, never()).generateAccessToken(anyLong(), any(), any());
     }
 
     @Test
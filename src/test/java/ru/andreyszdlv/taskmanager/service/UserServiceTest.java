@@ -1,12 +1,23 @@
 package ru.andreyszdlv.taskmanager.service;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.enums.TokenType;
 import ru.andreyszdlv.taskmanager.exception.UserAlreadyExsitsException;
+import ru.andreyszdlv.taskmanager.model.User;
 import ru.andreyszdlv.taskmanager.repository.UserRepository;
+import ru.andreyszdlv.taskmanager.security.JwtPrincipal;
+
+import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,6 +35,11 @@ class UserServiceTest {
         MockitoAnnotations.openMocks(this);
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void checkUserExists_NoThrowsException_WhenUserNotExists() {
         String email = "email@email.com";
@@ -46,4 +62,37 @@ class UserServiceTest {
 
         verify(userRepository, times(1)).existsByEmail(email);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getCurrentUserId_ReturnsIdFromToken_WithoutLoadingUser() {
+        authenticate(new JwtPrincipal(1L, "email@email.com", Role.USER, "tokenId", TokenType.ACCESS, null, null));
+
+        long userId = userService.getCurrentUserId();
+
+        assertEquals(1L, userId);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getCurrentUserId_LoadsUser_WhenTokenWithoutUserId() {
+        String email = "email@email.com";
+        User user = new User();
+        user.setId(1L);
+        user.setEmail(email);
+        authenticate(new JwtPrincipal(null, email, Role.USER, "tokenId", TokenType.ACCESS, null, null));
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+
+        long userId = userService.getCurrentUserId();
+
+        assertEquals(1L, userId);
+        verify(userRepository, times(1)).findByEmail(email);
+    }
+
+    private void authenticate(JwtPrincipal principal) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                List.of(new SimpleGrantedAuthority(principal.role().name()))
+        ));
+    }
+}
@@ -22,6 +22,7 @@ class JwtGenerateServiceImplTest {
                 "SECRET_KEY",
                 "kkfkdkfkkirjh23njfdjfsdnkno13ifoewn312jh4fjenw21"
         );
+        jwtGenerateService.init();
     }
 
     @Test
@@ -29,7 +30,7 @@ class JwtGenerateServiceImplTest {
         String userEmail = "test@test.com";
         Role role = Role.USER;
 
-        String accessToken = jwtGenerateService.generateAccessToken(userEmail, role);
+        String accessToken = jwtGenerateService.generateAccessToken(1L, userEmail, role);
 
         assertNotNull(accessToken);
     }
@@ -39,7 +40,7 @@ class JwtGenerateServiceImplTest {
         String userEmail = "test@test.com";
         Role role = Role.USER;
 
-        String refreshToken = jwtGenerateService.generateRefreshToken(userEmail, role);
+        String refreshToken = jwtGenerateService.generateRefreshToken(1L, userEmail, role);
 
         assertNotNull(refreshToken);
     }
@@ -0,0 +1,111 @@
+package ru.andreyszdlv.taskmanager.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.types.Expiration;
+import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.security.TokenPair;
+import ru.andreyszdlv.taskmanager.service.JwtGenerateService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JwtRedisStorageServiceImplTest {
+
+    @Mock
+    JwtGenerateService jwtGenerateService;
+
+    @Mock
+    StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    ValueOperations<String, String> valueOperations;
+
+    JwtRedisStorageServiceImpl jwtStorageService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        jwtStorageService = new JwtRedisStorageServiceImpl(
+                jwtGenerateService,
+                stringRedisTemplate,
+                "accessTokenCache",
+                "refreshTokenCache"
+        );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void generateTokens_WritesBothTokensInOnePipeline() {
+        String email = "email@email.com";
+        Role role = Role.USER;
+        when(jwtGenerateService.generateAccessToken(1L, email, role)).thenReturn("accessToken");
+        when(jwtGenerateService.generateRefreshToken(1L, email, role)).thenReturn("refreshToken");
+        StringRedisConnection connection = mock(StringRedisConnection.class);
+        ArgumentCaptor<RedisCallback<Object>> callbackCaptor = ArgumentCaptor.forClass(RedisCallback.class);
+
+        TokenPair tokenPair = jwtStorageService.generateTokens(1L, email, role);
+        verify(stringRedisTemplate, times(1)).executePipelined(callbackCaptor.capture());
+        callbackCaptor.getValue().doInRedis(connection);
+
+        assertEquals(new TokenPair("accessToken", "refreshToken"), tokenPair);
+        verify(connection, times(1)).set(
+                "accessTokenCache::" + email,
+                "accessToken",
+                Expiration.from(JwtGenerateService.ACCESS_TOKEN_TTL),
+                RedisStringCommands.SetOption.upsert()
+        );
+        verify(connection, times(1)).set(
+                "refreshTokenCache::" + email,
+                "refreshToken",
+                Expiration.from(JwtGenerateService.REFRESH_TOKEN_TTL),
+                RedisStringCommands.SetOption.upsert()
+        );
+        verify(valueOperations, never()).set(any(), any(), any());
+    }
+
+    @Test
+    void generateAccessToken_Success() {
+        String email = "email@email.com";
+        Role role = Role.USER;
+        when(jwtGenerateService.generateAccessToken(1L, email, role)).thenReturn("accessToken");
+
+        String accessToken = jwtStorageService.generateAccessToken(1L, email, role);
+
+        assertEquals("accessToken", accessToken);
+        verify(valueOperations, times(1))
+                .set("accessTokenCache::" + email, "accessToken", JwtGenerateService.ACCESS_TOKEN_TTL);
+    }
+
+    @Test
+    void getRefreshTokenByUserEmail_Success() {
+        String email = "email@email.com";
+        when(valueOperations.get("refreshTokenCache::" + email)).thenReturn("refreshToken");
+
+        String refreshToken = jwtStorageService.getRefreshTokenByUserEmail(email);
+
+        assertEquals("refreshToken", refreshToken);
+    }
+
+    @Test
+    void deleteByUserEmail_DeletesBothTokensInOneCommand() {
+        String email = "email@email.com";
+
+        jwtStorageService.deleteByUserEmail(email);
+
+        verify(stringRedisTemplate, times(1))
+                .delete(List.of("accessTokenCache::" + email, "refreshTokenCache::" + email));
+    }
+}
@@ -0,0 +1,148 @@
+package ru.andreyszdlv.taskmanager.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.security.TokenPair;
+import ru.andreyszdlv.taskmanager.service.AccessTokenRevocationService;
+import ru.andreyszdlv.taskmanager.service.JwtStorageService;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class NearCacheJwtStorageServiceImplTest {
+
+    @Mock
+    JwtStorageService jwtStorageService;
+
+    @Mock
+    StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    AccessTokenRevocationService accessTokenRevocationService;
+
+    @Mock
+    RedisMessageListenerContainer redisMessageListenerContainer;
+
+    NearCacheJwtStorageServiceImpl nearCacheJwtStorageService;
+
+    String channel = "accessTokenInvalidation";
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        nearCacheJwtStorageService = new NearCacheJwtStorageServiceImpl(
+                jwtStorageService,
+                stringRedisTemplate,
+                accessTokenRevocationService,
+                redisMessageListenerContainer,
+                new SimpleMeterRegistry(),
+                channel,
+                100,
+                30
+        );
+    }
+
+    @Test
+    void getAccessTokenByUserEmail_ReadsRedisOnce_WhenTokenCachedLocally() {
+        String email = "email@email.com";
+        when(jwtStorageService.getAccessTokenByUserEmail(email)).thenReturn("accessToken");
+
+        assertEquals("accessToken", nearCacheJwtStorageService.getAccessTokenByUserEmail(email));
+        assertEquals("accessToken", nearCacheJwtStorageService.getAccessTokenByUserEmail(email));
+        verify(jwtStorageService, times(1)).getAccessTokenByUserEmail(email);
+    }
+
+    @Test
+    void generateAccessToken_InvalidatesAndPublishes() {
+        String email = "email@email.com";
+        when(jwtStorageService.getAccessTokenByUserEmail(email)).thenReturn("oldToken", "newToken");
+        when(jwtStorageService.generateAccessToken(1L, email, Role.USER)).thenReturn("newToken");
+        nearCacheJwtStorageService.getAccessTokenByUserEmail(email);
+
+        String accessToken = nearCacheJwtStorageService.generateAccessToken(1L, email, Role.USER);
+
+        assertEquals("newToken", accessToken);
+        assertEquals("newToken", nearCacheJwtStorageService.getAccessTokenByUserEmail(email));
+        verify(stringRedisTemplate, times(1)).convertAndSend(eq(channel), anyString());
+    }
+
+    @Test
+    void generateTokens_InvalidatesAndPublishes() {
+        String email = "email@email.com";
+        TokenPair expectedTokenPair = new TokenPair("newToken", "refreshToken");
+        when(jwtStorageService.getAccessTokenByUserEmail(email)).thenReturn("oldToken", "newToken");
+        when(jwtStorageService.generateTokens(1L, email, Role.USER)).thenReturn(expectedTokenPair);
+        nearCacheJwtStorageService.getAccessTokenByUserEmail(email);
+
+        TokenPair tokenPair = nearCacheJwtStorageService.generateTokens(1L, email, Role.USER);
+
+        assertEquals(expectedTokenPair, tokenPair);
+        assertEquals("newToken", nearCacheJwtStorageService.getAccessTokenByUserEmail(email));
+        verify(stringRedisTemplate, times(1)).convertAndSend(eq(channel), anyString());
+    }
+
+    @Test
+    void deleteByUserEmail_InvalidatesAndPublishes() {
+        String email = "email@email.com";
+        when(jwtStorageService.getAccessTokenByUserEmail(email)).thenReturn("accessToken", (String) null);
+        nearCacheJwtStorageService.getAccessTokenByUserEmail(email);
+
+        nearCacheJwtStorageService.deleteByUserEmail(email);
+
+        assertNull(nearCacheJwtStorageService.getAccessTokenByUserEmail(email));
+        verify(jwtStorageService, times(1)).deleteByUserEmail(email);
+        verify(stringRedisTemplate, times(1)).convertAndSend(eq(channel), anyString());
+    }
+
+    @Test
+    void generateAccessToken_RevokesPreviousToken_WhenRevocationEnabled() {
+        String email = "email@email.com";
+        when(accessTokenRevocationService.isEnabled()).thenReturn(true);
+        when(jwtStorageService.getAccessTokenByUserEmail(email)).thenReturn("oldToken");
+        when(jwtStorageService.generateAccessToken(1L, email, Role.USER)).thenReturn("newToken");
+
+        nearCacheJwtStorageService.generateAccessToken(1L, email, Role.USER);
+
+        verify(accessTokenRevocationService, times(1)).revoke("oldToken");
+    }
+
+    @Test
+    void deleteByUserEmail_RevokesAccessAndRefreshTokens_WhenRevocationEnabled() {
+        String email = "email@email.com";
+        when(accessTokenRevocationService.isEnabled()).thenReturn(true);
+        when(jwtStorageService.getAccessTokenByUserEmail(email)).thenReturn("accessToken");
+        when(jwtStorageService.getRefreshTokenByUserEmail(email)).thenReturn("refreshToken");
+
+        nearCacheJwtStorageService.deleteByUserEmail(email);
+
+        verify(accessTokenRevocationService, times(1)).revoke("accessToken");
+        verify(accessTokenRevocationService, times(1)).revoke("refreshToken");
+    }
+
+    @Test
+    void onMessage_InvalidatesLocalEntry_WhenPublishedByOtherNode() {
+        String email = "email@email.com";
+        when(jwtStorageService.getAccessTokenByUserEmail(email)).thenReturn("oldToken", "newToken");
+        nearCacheJwtStorageService.getAccessTokenByUserEmail(email);
+        String body = "other-node|" + email + "|" + System.currentTimeMillis();
+
+        nearCacheJwtStorageService.onMessage(
+                new DefaultMessage(channel.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8)),
+                null
+        );
+
+        assertEquals("newToken", nearCacheJwtStorageService.getAccessTokenByUserEmail(email));
+        verify(jwtStorageService, times(2)).getAccessTokenByUserEmail(email);
+    }
+}
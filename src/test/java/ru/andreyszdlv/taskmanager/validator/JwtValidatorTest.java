@@ -5,12 +5,23 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.andreyszdlv.taskmanager.enums.Role;
+import ru.andreyszdlv.taskmanager.enums.TokenType;
+import ru.andreyszdlv.taskmanager.enums.TokenValidationMode;
+import ru.andreyszdlv.taskmanager.exception.InvalidRefreshTokenException;
 import ru.andreyszdlv.taskmanager.exception.InvalidTokenException;
+import ru.andreyszdlv.taskmanager.security.JwtPrincipal;
+import ru.andreyszdlv.taskmanager.service.AccessTokenRevocationService;
 import ru.andreyszdlv.taskmanager.service.JwtExtractorService;
 import ru.andreyszdlv.taskmanager.service.JwtStorageService;
 import ru.andreyszdlv.taskmanager.validation.JwtValidator;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 class JwtValidatorTest {
@@ -21,24 +32,31 @@ class JwtValidatorTest {
     @Mock
     JwtExtractorService jwtExtractorService;
 
+    @Mock
+    AccessTokenRevocationService accessTokenRevocationService;
+
     @InjectMocks
     JwtValidator jwtValidator;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(jwtValidator, "validationMode", TokenValidationMode.EXACT);
     }
 
     @Test
     void validateAccessToken_Success_WhenTokenValid() {
         String userEmail = "user@email.com";
         String accessToken = "accessToken";
-        when(jwtExtractorService.extractUserEmail(accessToken)).thenReturn(userEmail);
+        when(jwtExtractorService.extractPrincipal(accessToken))
+                .thenReturn(new JwtPrincipal(1L, userEmail, Role.USER, "tokenId", TokenType.ACCESS, null, null));
         when(jwtStorageService.getAccessTokenByUserEmail(userEmail)).thenReturn(accessToken);
 
-        jwtValidator.validateAccessToken(accessToken);
+        JwtPrincipal principal = jwtValidator.validateAccessToken(accessToken);
 
-        verify(jwtExtractorService, times(1)).extractUserEmail(accessToken);
+        assertEquals(userEmail, principal.email());
+        assertEquals(Role.USER, principal.role());
+        verify(jwtExtractorService, times(1)).extractPrincipal(accessToken);
         verify(jwtStorageService, times(1)).getAccessTokenByUserEmail(userEmail);
     }
 
@@ -46,7 +64,8 @@ class JwtValidatorTest {
     void validateAccessToken_ThrowsException_WhenTokenInValid() {
         String userEmail = "user@email.com";
         String accessToken = "accessToken";
-        when(jwtExtractorService.extractUserEmail(accessToken)).thenReturn(userEmail);
+        when(jwtExtractorService.extractPrincipal(accessToken))
+                .thenReturn(new JwtPrincipal(1L, userEmail, Role.USER, "tokenId", TokenType.ACCESS, null, null));
         when(jwtStorageService.getAccessTokenByUserEmail(userEmail)).thenThrow(InvalidTokenException.class);
 
         assertThrows(
@@ -54,20 +73,123 @@ class JwtValidatorTest {
                 () -> jwtValidator.validateAccessToken(accessToken)
         );
 
-        verify(jwtExtractorService, times(1)).extractUserEmail(accessToken);
+        verify(jwtExtractorService, times(1)).extractPrincipal(accessToken);
+        verify(jwtStorageService, times(1)).getAccessTokenByUserEmail(userEmail);
+    }
+
+    @Test
+    void validateAccessToken_SkipsStorage_WhenStatelessAndTokenNotRevoked() {
+        String userEmail = "user@email.com";
+        String accessToken = "accessToken";
+        Instant now = Instant.now();
+        ReflectionTestUtils.setField(jwtValidator, "validationMode", TokenValidationMode.STATELESS);
+        when(jwtExtractorService.extractPrincipal(accessToken)).thenReturn(
+                new JwtPrincipal(1L, userEmail, Role.USER, "tokenId", TokenType.ACCESS, now, now.plus(15, ChronoUnit.MINUTES))
+        );
+        when(accessTokenRevocationService.mightBeRevoked("tokenId")).thenReturn(false);
+
+        JwtPrincipal principal = jwtValidator.validateAccessToken(accessToken);
+
+        assertEquals(userEmail, principal.email());
+        verify(jwtStorageService, never()).getAccessTokenByUserEmail(anyString());
+    }
+
+    @Test
+    void validateAccessToken_ThrowsException_WhenStatelessAndTokenRevoked() {
+        String userEmail = "user@email.com";
+        String accessToken = "accessToken";
+        Instant now = Instant.now();
+        ReflectionTestUtils.setField(jwtValidator, "validationMode", TokenValidationMode.STATELESS);
+        when(jwtExtractorService.extractPrincipal(accessToken)).thenReturn(
+                new JwtPrincipal(1L, userEmail, Role.USER, "tokenId", TokenType.ACCESS, now, now.plus(15, ChronoUnit.MINUTES))
+        );
+        when(accessTokenRevocationService.mightBeRevoked("tokenId")).thenReturn(true);
+        when(jwtStorageService.getAccessTokenByUserEmail(userEmail)).thenReturn("newAccessToken");
+
+        assertThrows(
+                InvalidTokenException.class,
+                () -> jwtValidator.validateAccessToken(accessToken)
+        );
+
         verify(jwtStorageService, times(1)).getAccessTokenByUserEmail(userEmail);
     }
 
+    @Test
+    void validateAccessToken_ThrowsException_WhenStatelessAndTokenWithoutExpiration() {
+        String accessToken = "accessToken";
+        ReflectionTestUtils.setField(jwtValidator, "validationMode", TokenValidationMode.STATELESS);
+        when(jwtExtractorService.extractPrincipal(accessToken))
+                .thenReturn(new JwtPrincipal(1L, "user@email.com", Role.USER, "tokenId", TokenType.ACCESS, Instant.now(), null));
+
+        assertThrows(
+                InvalidTokenException.class,
+                () -> jwtValidator.validateAccessToken(accessToken)
+        );
+
+        verify(accessTokenRevocationService, never()).mightBeRevoked(anyString());
+    }
+
+    @Test
+    void validateAccessToken_ThrowsException_WhenStatelessAndRefreshToken() {
+        String refreshToken = "refreshToken";
+        Instant now = Instant.now();
+        ReflectionTestUtils.setField(jwtValidator, "validationMode", TokenValidationMode.STATELESS);
+        when(jwtExtractorService.extractPrincipal(refreshToken)).thenReturn(
+                new JwtPrincipal(1L, "user@email.com", Role.USER, "tokenId", TokenType.REFRESH, now, now.plus(2, ChronoUnit.DAYS))
+        );
+
+        assertThrows(
+                InvalidTokenException.class,
+                () -> jwtValidator.validateAccessToken(refreshToken)
+        );
+
+        verify(accessTokenRevocationService, never()).mightBeRevoked(anyString());
+        verify(jwtStorageService, never()).getAccessTokenByUserEmail(anyString());
+    }
+
+    @Test
+    void validateAccessToken_ThrowsException_WhenStatelessAndTokenWithoutType() {
+        String accessToken = "accessToken";
+        Instant now = Instant.now();
+        ReflectionTestUtils.setField(jwtValidator, "validationMode", TokenValidationMode.STATELESS);
+        when(jwtExtractorService.extractPrincipal(accessToken)).thenReturn(
+                new JwtPrincipal(1L, "user@email.com", Role.USER, "tokenId", null, now, now.plus(15, ChronoUnit.MINUTES))
+        );
+
+        assertThrows(
+                InvalidTokenException.class,
+                () -> jwtValidator.validateAccessToken(accessToken)
+        );
+
+        verify(accessTokenRevocationService, never()).mightBeRevoked(anyString());
+    }
+
+    @Test
+    void validateAccessToken_ThrowsException_WhenRefreshToken() {
+        String refreshToken = "refreshToken";
+        when(jwtExtractorService.extractPrincipal(refreshToken))
+                .thenReturn(new JwtPrincipal(1L, "user@email.com", Role.USER, "tokenId", TokenType.REFRESH, null, null));
+
+        assertThrows(
+                InvalidTokenException.class,
+                () -> jwtValidator.validateAccessToken(refreshToken)
+        );
+
+        verify(jwtStorageService, never()).getAccessTokenByUserEmail(anyString());
+    }
+
     @Test
     void validateRefreshToken_Success_WhenTokenValid() {
         String userEmail = "user@email.com";
         String refreshToken = "refreshToken";
-        when(jwtExtractorService.extractUserEmail(refreshToken)).thenReturn(userEmail);
+        when(jwtExtractorService.extractPrincipal(refreshToken))
+                .thenReturn(new JwtPrincipal(1L, userEmail, Role.USER, "tokenId", TokenType.REFRESH, null, null));
         when(jwtStorageService.getRefreshTokenByUserEmail(userEmail)).thenReturn(refreshToken);
 
-        jwtValidator.validateRefreshToken(refreshToken);
+        JwtPrincipal principal = jwtValidator.validateRefreshToken(refreshToken);
 
-        verify(jwtExtractorService, times(1)).extractUserEmail(refreshToken);
+        assertEquals(userEmail, principal.email());
+        verify(jwtExtractorService, times(1)).extractPrincipal(refreshToken);
         verify(jwtStorageService, times(1)).getRefreshTokenByUserEmail(userEmail);
     }
 
@@ -75,7 +197,8 @@ class JwtValidatorTest {
     void validateRefreshToken_ThrowsException_WhenTokenInValid() {
         String userEmail = "user@email.com";
         String refreshToken = "refreshToken";
-        when(jwtExtractorService.extractUserEmail(refreshToken)).thenReturn(userEmail);
+        when(jwtExtractorService.extractPrincipal(refreshToken))
+                .thenReturn(new JwtPrincipal(1L, userEmail, Role.USER, "tokenId", TokenType.REFRESH, null, null));
         when(jwtStorageService.getRefreshTokenByUserEmail(userEmail)).thenThrow(InvalidTokenException.class);
 
         assertThrows(
@@ -83,7 +206,21 @@ class JwtValidatorTest {
                 () -> jwtValidator.validateRefreshToken(refreshToken)
         );
 
-        verify(jwtExtractorService, times(1)).extractUserEmail(refreshToken);
+        verify(jwtExtractorService, times(1)).extractPrincipal(refreshToken);
         verify(jwtStorageService, times(1)).getRefreshTokenByUserEmail(userEmail);
     }
-}
\ No newline at end of file
+
+    @Test
+    void validateRefreshToken_ThrowsException_WhenAccessToken() {
+        String accessToken = "accessToken";
+        when(jwtExtractorService.extractPrincipal(accessToken))
+                .thenReturn(new JwtPrincipal(1L, "user@email.com", Role.USER, "tokenId", TokenType.ACCESS, null, null));
+
+        assertThrows(
+                InvalidRefreshTokenException.class,
+                () -> jwtValidator.validateRefreshToken(accessToken)
+        );
+
+        verify(jwtStorageService, never()).getRefreshTokenByUserEmail(anyString());
+    }
+}